@@ -22,6 +22,7 @@ public class MainActivity extends AppCompatActivity {
 
         gameViewModel = new ViewModelProvider(this).get(GameViewModel.class);
         audioManager = AudioManager.getInstance(this);
+        audioManager.setRaceEvents(gameViewModel.getRaceEvents());
         audioManager.startBgm();
 
         // Pause BGM during race; do NOT auto-resume here
@@ -39,6 +40,10 @@ public class MainActivity extends AppCompatActivity {
             }
         });
 
+        gameViewModel.getPlaybackSpeed().observe(this, speed -> {
+            if (speed != null) audioManager.setRaceSfxSpeed(speed);
+        });
+
         if (savedInstanceState == null) {
             replaceFragment(new StartFragment());
         }
@@ -61,6 +66,7 @@ public class MainActivity extends AppCompatActivity {
     @Override
     protected void onResume() {
         super.onResume();
+        if (gameViewModel != null) gameViewModel.onAppForeground();
         if (audioManager != null) {
             String state = gameViewModel != null ? gameViewModel.getGameState().getValue() : null;
             if (GameViewModel.STATE_COUNTDOWN.equals(state) || GameViewModel.STATE_RUNNING.equals(state)) {
@@ -91,6 +97,7 @@ public class MainActivity extends AppCompatActivity {
     @Override
     protected void onPause() {
         super.onPause();
+        if (gameViewModel != null) gameViewModel.onAppBackground();
         if (audioManager != null) audioManager.onAppBackground();
     }
 
@@ -27,8 +27,9 @@ public class BetAdapter extends RecyclerView.Adapter<BetAdapter.BetViewHolder> {
         this.listener = listener;
     }
 
+    /** Shows {@code newBets} as they are; pass a list nobody modifies, such as BetSlip.getBets(). */
     public void updateBets(List<Bet> newBets) {
-        this.bets = newBets != null ? new ArrayList<>(newBets) : new ArrayList<>();
+        this.bets = newBets != null ? newBets : new ArrayList<>();
         notifyDataSetChanged();
     }
 
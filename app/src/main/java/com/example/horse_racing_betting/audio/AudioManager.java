@@ -7,16 +7,20 @@ import android.media.MediaPlayer;
 import android.media.SoundPool;
 import android.os.Build;
 import android.os.Handler;
+import android.os.HandlerThread;
 import android.os.Looper;
 
 import androidx.annotation.RawRes;
 
 import com.example.horse_racing_betting.R;
+import com.example.horse_racing_betting.engine.Incident;
+import com.example.horse_racing_betting.engine.RaceEvent;
+import com.example.horse_racing_betting.engine.RaceEventQueue;
+import com.example.horse_racing_betting.engine.rng.RaceRandom;
 
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
 
 public final class AudioManager {
@@ -39,6 +43,12 @@ public final class AudioManager {
     private static final int VOCAL_DELAY_MIN_MS   = 2000; // 2s
     private static final int VOCAL_DELAY_SPAN_MS  = 4000; // -> 2..6s
     private static final int GALLOP_RETRY_MS      = 150;
+    private static final float GALLOP_MAX_RATE    = 2.0f;  // SoundPool's upper limit
+
+    // -------------------- Race events --------------------
+    private static final int  RACE_EVENT_POLL_MS  = 100;
+    // Event sounds closer together than this are skipped (fast playback merges them)
+    private static final long EVENT_SFX_GAP_MS    = 700;
 
     // -------------------- Singleton --------------------
     private static volatile AudioManager instance;
@@ -60,7 +70,15 @@ public final class AudioManager {
     private final Context appContext;
     private final SharedPreferences prefs;
     private final Handler mainHandler = new Handler(Looper.getMainLooper());
-    private final Random random = new Random();
+    private final RaceRandom random = new RaceRandom(System.nanoTime()); // main thread only
+    // Race events are read and turned into sounds off the main thread; only playback is posted back
+    private HandlerThread eventThread;
+    private Handler eventHandler;
+    private volatile RaceEventQueue.Reader raceEvents;
+    private final long[] eventBuffer = new long[64];   // event thread only
+    private long lastEventSfxAt;                        // event thread only
+    private final Runnable playNeigh = () -> playSfx(R.raw.horse_neigh);
+    private final Runnable playWhinny = () -> playSfx(R.raw.horse_whinny);
 
     private SoundPool soundPool;
     private final Map<Integer, Integer> sfxMap = new HashMap<>(); // resId -> sampleId
@@ -82,8 +100,9 @@ public final class AudioManager {
     private float currentSfxVolumeMultiplier = SFX_FULL_VOLUME;
 
     // Race SFX state
-    private boolean raceSfxActive = false;
+    private volatile boolean raceSfxActive = false;
     private Integer gallopStreamId = null; // looping gallop stream id
+    private float gallopRate = 1f;
 
     private final Runnable randomVocalTask = new Runnable() {
         @Override public void run() {
@@ -93,6 +112,25 @@ public final class AudioManager {
         }
     };
 
+    private final Runnable pollRaceEvents = new Runnable() {
+        @Override public void run() {
+            RaceEventQueue.Reader reader = raceEvents;
+            if (!raceSfxActive || reader == null) return;
+            int count = reader.drain(eventBuffer);
+            for (int i = 0; i < count; i++) onRaceEvent(eventBuffer[i]);
+            eventHandler.postDelayed(this, RACE_EVENT_POLL_MS);
+        }
+    };
+
+    private final Runnable startRaceEvents = new Runnable() {
+        @Override public void run() {
+            RaceEventQueue.Reader reader = raceEvents;
+            if (reader == null) return;
+            reader.skipToLatest();   // earlier races and quick races are not this race's sounds
+            pollRaceEvents.run();
+        }
+    };
+
     // -------------------- Init --------------------
     private AudioManager(Context context) {
         this.appContext = context;
@@ -285,6 +323,11 @@ public final class AudioManager {
 
     public void release() {
         stopRaceSfx();
+        if (eventThread != null) {
+            eventThread.quitSafely();
+            eventThread = null;
+            eventHandler = null;
+        }
         releaseBgm();
         if (soundPool != null) {
             try { soundPool.release(); } catch (Exception ignored) {}
@@ -392,6 +435,7 @@ public final class AudioManager {
     // -------------------- Race ambience (loop + random vocals) --------------------
     public void startRaceSfx() {
         if (muteSfx) return;
+        final boolean starting = !raceSfxActive;   // false on gallop retries
         raceSfxActive = true;
 
         // Start/ensure gallop loop
@@ -399,7 +443,7 @@ public final class AudioManager {
             Integer gallopSampleId = getOrLoadSfxId(R.raw.horse_galloping);
             if (gallopSampleId != null && loadedSfxIds.contains(gallopSampleId)) {
                 float vol = clamp01(currentSfxVolumeMultiplier);
-                gallopStreamId = soundPool.play(gallopSampleId, vol, vol, 1, -1, 1f);
+                gallopStreamId = soundPool.play(gallopSampleId, vol, vol, 1, -1, gallopRate);
             } else {
                 // Retry shortly until loaded
                 mainHandler.postDelayed(this::startRaceSfx, GALLOP_RETRY_MS);
@@ -409,6 +453,8 @@ public final class AudioManager {
         // Schedule vocal effects
         mainHandler.removeCallbacks(randomVocalTask);
         scheduleNextVocal();
+
+        if (starting && eventHandler != null) eventHandler.post(startRaceEvents);
     }
 
     public void stopRaceSfx() {
@@ -420,6 +466,21 @@ public final class AudioManager {
         gallopStreamId = null;
 
         mainHandler.removeCallbacks(randomVocalTask);
+        if (eventHandler != null) {
+            eventHandler.removeCallbacks(pollRaceEvents);
+            eventHandler.removeCallbacks(startRaceEvents);
+        }
+    }
+
+    /**
+     * Follows race playback speed. The gallop loop plays faster (capped at SoundPool's 2x);
+     * vocals keep their wall-clock spacing, so fast races merge them rather than pile them up.
+     */
+    public void setRaceSfxSpeed(int speed) {
+        gallopRate = Math.min(GALLOP_MAX_RATE, (float) Math.sqrt(Math.max(1, speed)));
+        if (gallopStreamId != null && soundPool != null) {
+            soundPool.setRate(gallopStreamId, gallopRate);
+        }
     }
 
     private void scheduleNextVocal() {
@@ -427,4 +488,39 @@ public final class AudioManager {
         int delayMs = VOCAL_DELAY_MIN_MS + random.nextInt(VOCAL_DELAY_SPAN_MS);
         mainHandler.postDelayed(randomVocalTask, delayMs);
     }
+
+    // -------------------- Race events --------------------
+    /**
+     * Plays sounds for incidents, lead changes and photo finishes of the races published to
+     * {@code queue}, read on a background thread while race SFX are on; null to stop.
+     */
+    public void setRaceEvents(RaceEventQueue queue) {
+        if (queue != null && eventThread == null) {
+            eventThread = new HandlerThread("race-audio");
+            eventThread.start();
+            eventHandler = new Handler(eventThread.getLooper());
+        }
+        raceEvents = queue != null ? queue.newReader() : null;
+    }
+
+    // Event thread
+    private void onRaceEvent(long event) {
+        final Runnable sound;
+        switch (RaceEvent.type(event)) {
+            case Incident.STUMBLE:
+            case Incident.BUMP:
+                sound = playNeigh;
+                break;
+            case RaceEvent.OVERTAKE:
+            case RaceEvent.FINISH:
+                return;   // too frequent to voice; the fanfare covers the finish
+            default:      // other incidents, lead changes, photo finishes
+                sound = playWhinny;
+                break;
+        }
+        long now = android.os.SystemClock.uptimeMillis();
+        if (now - lastEventSfxAt < EVENT_SFX_GAP_MS) return;
+        lastEventSfxAt = now;
+        mainHandler.post(sound);
+    }
 }
@@ -5,6 +5,7 @@ import android.text.TextUtils;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.AdapterView;
 import android.widget.ArrayAdapter;
 import android.widget.Button;
 import android.widget.EditText;
@@ -23,28 +24,42 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.horse_racing_betting.MainActivity;
 import com.example.horse_racing_betting.R;
 import com.example.horse_racing_betting.adapter.BetAdapter;
+import com.example.horse_racing_betting.engine.odds.OddsTable;
+import com.example.horse_racing_betting.engine.settle.BetKind;
+import com.example.horse_racing_betting.engine.settle.PoolOdds;
+import com.example.horse_racing_betting.engine.season.SeasonPlan;
+import com.example.horse_racing_betting.engine.season.SeasonStandings;
+import com.example.horse_racing_betting.model.BetSlip;
 import com.example.horse_racing_betting.model.Horse;
 import com.example.horse_racing_betting.viewmodel.GameViewModel;
 import com.example.horse_racing_betting.audio.AudioManager;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 public class BetFragment extends Fragment implements BetAdapter.OnBetClickListener {
+    private static final int SEASON_LEADERS_SHOWN = 3;
+
     private GameViewModel gameViewModel;
+    private Spinner spinnerBetType;
     private Spinner spinnerHorse;
+    private TextView tvSelection;
     private EditText etAmount;
     private Button btnAddBet;
     private TextView tvCurrentCoins;
     private RecyclerView recyclerViewBets;
     private TextView tvTotalStake;
     private Button btnStartRace;
+    private Button btnQuickRace;
+    private Button btnSeason;
+    private TextView tvSeason;
     private Button btnSettings;
     private BetAdapter betAdapter;
     private final List<Integer> spinnerHorseNumbers = new ArrayList<>();
     private ArrayAdapter<String> horseAdapter;
+    // Exotic bets are built by picking horses one at a time from the horse spinner
+    private int betKind = BetKind.WIN;
+    private final List<Integer> exoticPicks = new ArrayList<>();
 
     @Override
     public void onCreate(@Nullable Bundle savedInstanceState) {
@@ -65,13 +80,18 @@ public class BetFragment extends Fragment implements BetAdapter.OnBetClickListen
     }
 
     private void initViews(View view) {
+        spinnerBetType = view.findViewById(R.id.spinnerBetType);
         spinnerHorse = view.findViewById(R.id.spinnerHorse);
+        tvSelection = view.findViewById(R.id.tvSelection);
         etAmount = view.findViewById(R.id.etAmount);
         btnAddBet = view.findViewById(R.id.btnAddBet);
         tvCurrentCoins = view.findViewById(R.id.tvCurrentCoins);
         recyclerViewBets = view.findViewById(R.id.recyclerViewBets);
         tvTotalStake = view.findViewById(R.id.tvTotalStake);
         btnStartRace = view.findViewById(R.id.btnStartRace);
+        btnQuickRace = view.findViewById(R.id.btnQuickRace);
+        btnSeason = view.findViewById(R.id.btnSeason);
+        tvSeason = view.findViewById(R.id.tvSeason);
         btnSettings = view.findViewById(R.id.btnSettings);
     }
 
@@ -93,10 +113,43 @@ public class BetFragment extends Fragment implements BetAdapter.OnBetClickListen
 //            );
 //            horseAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
 //            spinnerHorse.setAdapter(horseAdapter);
+        spinnerHorse.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+            @Override
+            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                if (betKind == BetKind.WIN || position <= 0 || position >= spinnerHorseNumbers.size()) return;
+                if (exoticPicks.size() == BetKind.horsesIn(betKind)) exoticPicks.clear(); // start over
+                exoticPicks.add(spinnerHorseNumbers.get(position));
+                updateSelection();
+                rebuildHorseSpinner();
+                spinnerHorse.setSelection(0);
+            }
+
+            @Override
+            public void onNothingSelected(AdapterView<?> parent) { }
+        });
 //        });
 //    }
 
     private void setupSpinners() {
+        List<String> kinds = new ArrayList<>();
+        for (int kind = 0; kind < BetKind.COUNT; kind++) kinds.add(BetKind.name(kind));
+        ArrayAdapter<String> kindAdapter = new ArrayAdapter<>(requireContext(), android.R.layout.simple_spinner_item, kinds);
+        kindAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        spinnerBetType.setAdapter(kindAdapter);
+        spinnerBetType.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+            @Override
+            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                if (position == betKind) return;
+                betKind = position;
+                exoticPicks.clear();
+                updateSelection();
+                rebuildHorseSpinner();
+            }
+
+            @Override
+            public void onNothingSelected(AdapterView<?> parent) { }
+        });
+
         horseAdapter = new ArrayAdapter<>(
                 requireContext(),
                 android.R.layout.simple_spinner_item,
@@ -107,15 +160,20 @@ public class BetFragment extends Fragment implements BetAdapter.OnBetClickListen
 
         // Quan sát và render
         gameViewModel.getHorses().observe(getViewLifecycleOwner(), l -> rebuildHorseSpinner());
-        gameViewModel.getPicked().observe(getViewLifecycleOwner(), m -> rebuildHorseSpinner());
+        gameViewModel.getOdds().observe(getViewLifecycleOwner(), o -> rebuildHorseSpinner());
+        // Refreshed at most twice a second by the view model, however fast the crowd bets
+        gameViewModel.getPoolOdds().observe(getViewLifecycleOwner(), o -> {
+            rebuildHorseSpinner();
+            updateSelection();
+        });
     }
 
     private void rebuildHorseSpinner() {
         List<Horse> horses = gameViewModel.getHorses().getValue();
-        Map<Integer, Boolean> pickedMap = gameViewModel.getPicked().getValue();
+        BetSlip slip = gameViewModel.getSlip().getValue();
         if (horses == null) return;
 
-        List<Integer> available = getAvailableHorseNumbers(horses, pickedMap);
+        List<Integer> available = getAvailableHorseNumbers(horses, slip != null ? slip : BetSlip.EMPTY);
         List<String> display = buildDisplay(available);
 
         horseAdapter.clear();
@@ -126,14 +184,14 @@ public class BetFragment extends Fragment implements BetAdapter.OnBetClickListen
     }
 
     @OptIn(markerClass = UnstableApi.class)
-    private List<Integer> getAvailableHorseNumbers(List<Horse> horses, Map<Integer, Boolean> pickedMap) {
-        if (pickedMap == null) pickedMap = Collections.emptyMap();
-
+    private List<Integer> getAvailableHorseNumbers(List<Horse> horses, BetSlip slip) {
         List<Integer> nums = new ArrayList<>();
         nums.add(0); // header
         for (Horse h : horses) {
             int num = h.getNumber();
-            if (!Boolean.TRUE.equals(pickedMap.get(num))) {
+            // Win bets hide horses already backed; exotic picks hide horses already named
+            boolean hidden = betKind == BetKind.WIN ? slip.isPicked(num) : exoticPicks.contains(num);
+            if (!hidden) {
                 nums.add(num);
             }
         }
@@ -146,13 +204,58 @@ public class BetFragment extends Fragment implements BetAdapter.OnBetClickListen
         return nums;
     }
     private List<String> buildDisplay(List<Integer> nums) {
+        OddsTable odds = gameViewModel.getOdds().getValue();
+        PoolOdds pool = gameViewModel.getPoolOdds().getValue();
         List<String> display = new ArrayList<>();
         display.add("Choose Horse");
         for (int i = 1; i < nums.size(); i++) {
-            display.add("Horse #" + nums.get(i));
+            int num = nums.get(i);
+            if (betKind != BetKind.WIN) {
+                display.add("Horse #" + num);
+            } else if (pool != null && num - 1 < pool.getHorseCount()) {
+                // e.g. "Horse #2 (Pool 3.4x · 120 coins)"
+                double dividend = pool.getDividend(num - 1);
+                display.add(dividend > 0
+                        ? String.format("Horse #%d (Pool %.1fx · %d coins)", num, dividend, pool.getStake(num - 1))
+                        : String.format("Horse #%d (Pool – no bets yet)", num));
+            } else if (odds != null && num - 1 < odds.getHorseCount()) {
+                // e.g. "Horse #2 (Win 25% · Top 2 50%)"
+                display.add(String.format("Horse #%d (Win %.0f%% · Top 2 %.0f%%)", num,
+                        odds.getWinProbability(num - 1) * 100, odds.getPlaceProbability(num - 1, 2) * 100));
+            } else {
+                display.add("Horse #" + num);
+            }
         }
         return display;
     }
+    // e.g. "Trifecta: #3 then #5 then #1 · pays 319.2x", or how many horses are still to pick
+    private void updateSelection() {
+        if (betKind == BetKind.WIN) {
+            tvSelection.setVisibility(View.GONE);
+            return;
+        }
+        int needed = BetKind.horsesIn(betKind);
+        StringBuilder text = new StringBuilder(BetKind.name(betKind)).append(':');
+        String separator = BetKind.isOrdered(betKind) ? " then " : " and ";
+        for (int i = 0; i < exoticPicks.size(); i++) {
+            text.append(i == 0 ? " " : separator).append('#').append(exoticPicks.get(i));
+        }
+        if (exoticPicks.size() < needed) {
+            text.append(String.format(" (pick %d more)", needed - exoticPicks.size()));
+        } else {
+            double pays = gameViewModel.getExoticMultiplier(betKind, toArray(exoticPicks));
+            text.append(pays > 0 ? String.format(" · pays %.1fx", pays) : " · no pool bets yet");
+        }
+        tvSelection.setText(text);
+        tvSelection.setVisibility(View.VISIBLE);
+    }
+
+    private static int[] toArray(List<Integer> numbers) {
+        int[] arr = new int[numbers.size()];
+        for (int i = 0; i < arr.length; i++) arr[i] = numbers.get(i);
+        return arr;
+    }
+
     private void setupRecyclerView() {
         betAdapter = new BetAdapter(this);
         recyclerViewBets.setLayoutManager(new LinearLayoutManager(requireContext()));
@@ -166,15 +269,21 @@ public class BetFragment extends Fragment implements BetAdapter.OnBetClickListen
             }
         });
 
-        gameViewModel.getBets().observe(getViewLifecycleOwner(), bets -> {
-            betAdapter.updateBets(bets);
-            updateTotalStake();
+        // One slip per edit: the list, the total, the buttons and the horses left to pick
+        gameViewModel.getSlip().observe(getViewLifecycleOwner(), slip -> {
+            betAdapter.updateBets(slip.getBets());
+            tvTotalStake.setText(String.format("%d Coins", slip.getTotalStake()));
             updateStartRaceButton();
+            rebuildHorseSpinner();
         });
 
+        gameViewModel.getSeason().observe(getViewLifecycleOwner(), this::showSeason);
+
         gameViewModel.getGameState().observe(getViewLifecycleOwner(), state -> {
             if (GameViewModel.STATE_COUNTDOWN.equals(state) || GameViewModel.STATE_RUNNING.equals(state)) {
                 ((MainActivity) requireActivity()).replaceFragment(new RaceFragment());
+            } else if (GameViewModel.STATE_RESULT.equals(state)) {
+                showQuickRaceResult();
             }
         });
     }
@@ -188,6 +297,14 @@ public class BetFragment extends Fragment implements BetAdapter.OnBetClickListen
             ((MainActivity) requireActivity()).getAudioManager().playSfx(R.raw.mouse_click);
             startRace();
         });
+        btnSeason.setOnClickListener(v -> {
+            ((MainActivity) requireActivity()).getAudioManager().playSfx(R.raw.mouse_click);
+            gameViewModel.startSeason();
+        });
+        btnQuickRace.setOnClickListener(v -> {
+            ((MainActivity) requireActivity()).getAudioManager().playSfx(R.raw.mouse_click);
+            quickRace();
+        });
         btnSettings.setOnClickListener(v -> {
             ((MainActivity) requireActivity()).getAudioManager().playSfx(R.raw.mouse_click);
             SettingsFragment settingsFragment = new SettingsFragment();
@@ -196,39 +313,18 @@ public class BetFragment extends Fragment implements BetAdapter.OnBetClickListen
     }
 
     private void addBet() {
+        if (betKind != BetKind.WIN) {
+            addExoticBet();
+            return;
+        }
         // Validate horse selection
         if (spinnerHorse.getSelectedItemPosition() == 0) {
             Toast.makeText(requireContext(), "Please select a horse", Toast.LENGTH_SHORT).show();
             return;
         }
 
-        // Validate amount
-        String amountStr = etAmount.getText().toString().trim();
-        if (TextUtils.isEmpty(amountStr)) {
-            Toast.makeText(requireContext(), "Please enter bet amount", Toast.LENGTH_SHORT).show();
-            return;
-        }
-
-        int amount;
-        try {
-            amount = Integer.parseInt(amountStr);
-        } catch (NumberFormatException e) {
-            Toast.makeText(requireContext(), "Please enter a valid amount", Toast.LENGTH_SHORT).show();
-            return;
-        }
-
-        if (amount <= 0) {
-            Toast.makeText(requireContext(), "Amount must be greater than 0", Toast.LENGTH_SHORT).show();
-            return;
-        }
-
-        // Check if user has enough coins
-        Integer currentCoins = gameViewModel.getCoins().getValue();
-        int currentTotalStake = gameViewModel.getTotalStake();
-        if (currentCoins != null && (currentTotalStake + amount) > currentCoins) {
-            Toast.makeText(requireContext(), "Insufficient coins", Toast.LENGTH_SHORT).show();
-            return;
-        }
+        Integer amount = readAmount();
+        if (amount == null) return;
 
         int pos = spinnerHorse.getSelectedItemPosition();
         if (pos <= 0 || pos >= spinnerHorseNumbers.size()) {
@@ -252,6 +348,53 @@ public class BetFragment extends Fragment implements BetAdapter.OnBetClickListen
 
     }
 
+    private void addExoticBet() {
+        int needed = BetKind.horsesIn(betKind);
+        if (exoticPicks.size() < needed) {
+            Toast.makeText(requireContext(), String.format("Please pick %d horses", needed), Toast.LENGTH_SHORT).show();
+            return;
+        }
+        Integer amount = readAmount();
+        if (amount == null) return;
+
+        try {
+            gameViewModel.addExoticBet(betKind, toArray(exoticPicks), amount);
+            etAmount.setText("");
+            exoticPicks.clear();
+            updateSelection();
+            rebuildHorseSpinner();
+            Toast.makeText(requireContext(), "Bet added successfully", Toast.LENGTH_SHORT).show();
+        } catch (IllegalArgumentException ex) {
+            Toast.makeText(requireContext(), "That combination is already on your slip", Toast.LENGTH_SHORT).show();
+        }
+    }
+
+    // The amount field as a stake the player can cover, or null after telling them why not
+    private Integer readAmount() {
+        String amountStr = etAmount.getText().toString().trim();
+        if (TextUtils.isEmpty(amountStr)) {
+            Toast.makeText(requireContext(), "Please enter bet amount", Toast.LENGTH_SHORT).show();
+            return null;
+        }
+        int amount;
+        try {
+            amount = Integer.parseInt(amountStr);
+        } catch (NumberFormatException e) {
+            Toast.makeText(requireContext(), "Please enter a valid amount", Toast.LENGTH_SHORT).show();
+            return null;
+        }
+        if (amount <= 0) {
+            Toast.makeText(requireContext(), "Amount must be greater than 0", Toast.LENGTH_SHORT).show();
+            return null;
+        }
+        Integer currentCoins = gameViewModel.getCoins().getValue();
+        if (currentCoins != null && (gameViewModel.getTotalStake() + amount) > currentCoins) {
+            Toast.makeText(requireContext(), "Insufficient coins", Toast.LENGTH_SHORT).show();
+            return null;
+        }
+        return amount;
+    }
+
     private void startRace() {
         if (gameViewModel.canStartRace()) {
             gameViewModel.startRace();
@@ -260,14 +403,42 @@ public class BetFragment extends Fragment implements BetAdapter.OnBetClickListen
         }
     }
 
-    private void updateTotalStake() {
-        int totalStake = gameViewModel.getTotalStake();
-        tvTotalStake.setText(String.format("%d Coins", totalStake));
+    private void quickRace() {
+        if (gameViewModel.canStartRace()) {
+            gameViewModel.startQuickRace(true);
+        } else {
+            Toast.makeText(requireContext(), "Please add at least one bet", Toast.LENGTH_SHORT).show();
+        }
+    }
+
+    // A quick race settles without leaving this screen, so the results dialog opens here
+    private void showQuickRaceResult() {
+        if (getParentFragmentManager().findFragmentByTag("results") != null) return;
+        ((MainActivity) requireActivity()).getAudioManager().playSfx(R.raw.fanfare);
+        new ResultFragment().show(getParentFragmentManager(), "results");
+    }
+
+    // e.g. "Season 1270/5080 races · #12 340 pts · #7 322 pts · #301 318 pts"
+    private void showSeason(SeasonStandings standings) {
+        SeasonPlan plan = gameViewModel.getSeasonPlan();
+        if (standings == null || plan == null) {
+            tvSeason.setText("No season running");
+            return;
+        }
+        StringBuilder text = new StringBuilder(String.format("Season %d/%d races",
+                standings.getRacesRecorded(), plan.getTotalRaces()));
+        for (int horse : standings.getLeaders(SEASON_LEADERS_SHOWN)) {
+            text.append(String.format(" · #%d %d pts", horse + 1, standings.getPoints(horse)));
+        }
+        tvSeason.setText(text);
     }
 
     private void updateStartRaceButton() {
-        btnStartRace.setEnabled(gameViewModel.canStartRace());
-        btnStartRace.setAlpha(gameViewModel.canStartRace() ? 1.0f : 0.5f);
+        boolean canStart = gameViewModel.canStartRace();
+        btnStartRace.setEnabled(canStart);
+        btnStartRace.setAlpha(canStart ? 1.0f : 0.5f);
+        btnQuickRace.setEnabled(canStart);
+        btnQuickRace.setAlpha(canStart ? 1.0f : 0.5f);
     }
 
     @Override
@@ -4,12 +4,14 @@ import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.Button;
+import android.content.res.ColorStateList;
+import android.graphics.Color;
 import android.widget.Button;
 import android.widget.LinearLayout;
 import android.widget.SeekBar;
 import android.widget.TextView;
 import android.util.TypedValue;
+import android.view.Choreographer;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -17,7 +19,11 @@ import androidx.fragment.app.Fragment;
 
 import com.example.horse_racing_betting.MainActivity;
 import com.example.horse_racing_betting.R;
-import com.example.horse_racing_betting.model.Horse;
+import com.example.horse_racing_betting.engine.Incident;
+import com.example.horse_racing_betting.engine.RaceEvent;
+import com.example.horse_racing_betting.engine.RaceEventQueue;
+import com.example.horse_racing_betting.engine.RaceView;
+import com.example.horse_racing_betting.engine.SnapshotInterpolator;
 import com.example.horse_racing_betting.viewmodel.GameViewModel;
 import com.example.horse_racing_betting.audio.AudioManager;
 import com.example.horse_racing_betting.skin.SkinManager;
@@ -27,50 +33,74 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class RaceFragment extends Fragment {
+    // Above this many horses lanes get a fixed height inside the scroll view
+    // and thumbs stay static, so large fields do not decode a sprite sheet per lane.
+    private static final int MAX_ANIMATED_LANES = 8;
+    private static final int LARGE_FIELD_LANE_DP = 36;
+    // Progress steps per percent of track, so interpolated positions move in sub-pixel steps
+    private static final int PROGRESS_PER_PERCENT = 100;
+    // Race events are drained in batches of this many
+    private static final int EVENT_BATCH = 32;
+
+    // Lane colours and sprite folders, cycled for fields larger than four
+    private static final String[] LANE_TINTS = {"#FF6D00", "#E91E63", "#3F51B5", "#795548"};
+    private static final String[] LANE_FOLDERS = {"black_horse", "yellow_horse", "brown_horse", "white_horse"};
+
     private GameViewModel gameViewModel;
     private LinearLayout countdownOverlay;
     private TextView tvCountdown;
     private TextView tvRaceStatus;
+    private TextView tvCommentary;
     private Button btnSettings;
-    private SeekBar seekBar1, seekBar2, seekBar3, seekBar4;
+    private Button btnPlaybackSpeed;
+    private LinearLayout raceTrack;
     private List<SeekBar> seekBars;
+    private float finishPercent;   // the end of every lane bar
     private SkinManager skinManager;
     private android.graphics.drawable.Animatable[] animThumbs;
     private android.graphics.drawable.Drawable[] idleThumbs;
     private boolean isPlayingCountdown;
 
+    // Render path: sim snapshots feed the interpolator, vsync callbacks draw from it
+    private SnapshotInterpolator interpolator;
+    private final Choreographer.FrameCallback frameCallback = this::onFrame;
+    private boolean frameScheduled;
+    // Commentary: this fragment's own reader of the race event queue, drained per frame
+    private RaceEventQueue.Reader raceEvents;
+    private final long[] eventBuffer = new long[EVENT_BATCH];
+
     @Override
     public void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         gameViewModel = ((MainActivity) requireActivity()).getGameViewModel();
     skinManager = SkinManager.getInstance(requireContext());
+        interpolator = new SnapshotInterpolator(gameViewModel.getRaceTickMs() * 1_000_000L);
+        raceEvents = gameViewModel.getRaceEvents().newReader();
     }
 
     @Nullable
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container, @Nullable Bundle savedInstanceState) {
         View view = inflater.inflate(R.layout.fragment_race, container, false);
-        initViews(view);
+        initViews(inflater, view);
         setupObservers();
         return view;
     }
 
-    private void initViews(View view) {
+    private void initViews(LayoutInflater inflater, View view) {
         countdownOverlay = view.findViewById(R.id.countdownOverlay);
         tvCountdown = view.findViewById(R.id.tvCountdown);
         tvRaceStatus = view.findViewById(R.id.tvRaceStatus);
+        tvCommentary = view.findViewById(R.id.tvCommentary);
         btnSettings = view.findViewById(R.id.btnSettings);
+        btnPlaybackSpeed = view.findViewById(R.id.btnPlaybackSpeed);
+        btnPlaybackSpeed.setOnClickListener(v -> {
+            ((MainActivity) requireActivity()).getAudioManager().playSfx(R.raw.mouse_click);
+            gameViewModel.cyclePlaybackSpeed();
+        });
+        raceTrack = view.findViewById(R.id.raceTrack);
 
-        seekBar1 = view.findViewById(R.id.seekBar1);
-        seekBar2 = view.findViewById(R.id.seekBar2);
-        seekBar3 = view.findViewById(R.id.seekBar3);
-        seekBar4 = view.findViewById(R.id.seekBar4);
-
-        seekBars = new ArrayList<>();
-        seekBars.add(seekBar1);
-        seekBars.add(seekBar2);
-        seekBars.add(seekBar3);
-        seekBars.add(seekBar4);
+        buildLanes(inflater, gameViewModel.getFieldSize());
 
         isPlayingCountdown = false;
 
@@ -99,6 +129,10 @@ public class RaceFragment extends Fragment {
                 startGallop();
             } else if (GameViewModel.STATE_COUNTDOWN.equals(state)) {
                 stopGallop();
+                // The rule set, and with it the tick length, may have changed since the last race
+                interpolator = new SnapshotInterpolator(gameViewModel.getRaceTickMs() * 1_000_000L);
+                raceEvents.skipToLatest();
+                tvCommentary.setVisibility(View.GONE);
             }
         });
 
@@ -130,13 +164,48 @@ public class RaceFragment extends Fragment {
             }
         });
 
-        gameViewModel.getHorses().observe(getViewLifecycleOwner(), horses -> {
-            if (horses != null) {
-                updateHorsePositions(horses);
+        gameViewModel.getPlaybackSpeed().observe(getViewLifecycleOwner(), speed -> {
+            if (speed != null) btnPlaybackSpeed.setText(speed + "x");
+        });
+
+        gameViewModel.getRace().observe(getViewLifecycleOwner(), race -> {
+            if (race != null) {
+                interpolator.push(race, System.nanoTime());
+                updateHorseStates(race);
+                scheduleFrame();
             }
         });
     }
 
+    // One lane per horse; small fields share the track height, large ones scroll.
+    private void buildLanes(LayoutInflater inflater, int fieldSize) {
+        seekBars = new ArrayList<>(fieldSize);
+        raceTrack.removeAllViews();
+        // Lanes end at the rule set's finish line, which need not be 100%
+        finishPercent = gameViewModel.getRuleSet().getRaceRules().getFinishPercent();
+        int maxProgress = Math.round(finishPercent * PROGRESS_PER_PERCENT);
+        boolean largeField = fieldSize > MAX_ANIMATED_LANES;
+        int laneHeightPx = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP,
+                LARGE_FIELD_LANE_DP, getResources().getDisplayMetrics());
+
+        for (int i = 0; i < fieldSize; i++) {
+            View lane = inflater.inflate(R.layout.item_race_lane, raceTrack, false);
+            if (largeField) {
+                LinearLayout.LayoutParams lp = (LinearLayout.LayoutParams) lane.getLayoutParams();
+                lp.height = laneHeightPx;
+                lp.weight = 0;
+                lane.setLayoutParams(lp);
+            }
+            ((TextView) lane.findViewById(R.id.tvLaneNumber)).setText(String.valueOf(i + 1));
+
+            SeekBar seekBar = lane.findViewById(R.id.seekBarLane);
+            seekBar.setMax(maxProgress);
+            seekBar.setProgressTintList(ColorStateList.valueOf(Color.parseColor(LANE_TINTS[i % LANE_TINTS.length])));
+            seekBars.add(seekBar);
+            raceTrack.addView(lane);
+        }
+    }
+
     private void updateRaceStatus(String state) {
         switch (state) {
             case GameViewModel.STATE_COUNTDOWN:
@@ -157,19 +226,85 @@ public class RaceFragment extends Fragment {
         }
     }
 
-    private void updateHorsePositions(List<Horse> horses) {
-        if (horses.size() != seekBars.size()) return;
+    // Only the newest event of a frame is shown, so only that one is formatted
+    private void showCommentary() {
+        long newest = 0;
+        boolean any = false;
+        int count;
+        do {
+            count = raceEvents.drain(eventBuffer);
+            if (count > 0) {
+                newest = eventBuffer[count - 1];
+                any = true;
+            }
+        } while (count == eventBuffer.length);
+        if (!any) return;
+        tvCommentary.setText(commentaryFor(newest));
+        tvCommentary.setVisibility(View.VISIBLE);
+    }
 
-        for (int i = 0; i < horses.size(); i++) {
-            Horse horse = horses.get(i);
-            SeekBar seekBar = seekBars.get(i);
+    private static String commentaryFor(long event) {
+        int horse = RaceEvent.lane(event) + 1;
+        int other = RaceEvent.other(event);
+        switch (RaceEvent.type(event)) {
+            case RaceEvent.LEAD_CHANGE:
+                return String.format("Horse #%d takes the lead from #%d!", horse, other + 1);
+            case RaceEvent.OVERTAKE:
+                return String.format("Horse #%d overtakes #%d!", horse, other + 1);
+            case RaceEvent.FINISH:
+                return String.format("Horse #%d finishes %s!", horse, ordinal(other + 1));
+            case RaceEvent.PHOTO_FINISH:
+                return String.format("Photo finish! #%d just beats #%d!", horse, other + 1);
+            default:
+                return String.format("Horse #%d %s!", horse, Incident.describe(RaceEvent.type(event)));
+        }
+    }
+
+    private static String ordinal(int place) {
+        int tens = place % 100;
+        if (tens >= 11 && tens <= 13) return place + "th";
+        switch (place % 10) {
+            case 1:  return place + "st";
+            case 2:  return place + "nd";
+            case 3:  return place + "rd";
+            default: return place + "th";
+        }
+    }
+
+    // -------------------- Frame rendering --------------------
+
+    private void scheduleFrame() {
+        if (frameScheduled) return;
+        frameScheduled = true;
+        Choreographer.getInstance().postFrameCallback(frameCallback);
+    }
 
-            // Update SeekBar progress (0-100 maps directly to horse position)
-            int progress = (int) Math.min(horse.getPosition(), 100.0f);
-            seekBar.setProgress(progress);
+    // Runs once per vsync while horses are moving; frameTimeNanos is on the System.nanoTime clock
+    private void onFrame(long frameTimeNanos) {
+        frameScheduled = false;
+        showCommentary();
+        RaceView race = interpolator.getCurrent();
+        if (seekBars == null || race == null || race.getHorseCount() != seekBars.size()) return;
+
+        for (int i = 0; i < seekBars.size(); i++) {
+            float position = Math.min(interpolator.positionAt(i, frameTimeNanos), finishPercent);
+            seekBars.get(i).setProgress((int) (position * PROGRESS_PER_PERCENT));
+        }
+        // Stop requesting frames once the newest sim state is fully drawn
+        if (!interpolator.isSettled(frameTimeNanos)) scheduleFrame();
+    }
+
+    // Per-snapshot work: thumbs and pulse follow the sim rate, positions are drawn per frame
+    private void updateHorseStates(RaceView race) {
+        if (race.getHorseCount() != seekBars.size()) return;
+        boolean pulse = seekBars.size() <= MAX_ANIMATED_LANES;
+
+        for (int i = 0; i < race.getHorseCount(); i++) {
+            SeekBar seekBar = seekBars.get(i);
+            boolean finished = race.isFinished(i);
 
             // Add visual feedback for running horses
-            if (GameViewModel.STATE_RUNNING.equals(gameViewModel.getGameState().getValue()) && !horse.isFinished()) {
+            if (GameViewModel.STATE_RUNNING.equals(gameViewModel.getGameState().getValue()) && !finished) {
                 // Ensure this horse's thumb shows running animation and is started
                 if (animThumbs != null && i < animThumbs.length && animThumbs[i] != null) {
                     android.graphics.drawable.Animatable a = animThumbs[i];
@@ -178,8 +313,8 @@ public class RaceFragment extends Fragment {
                     }
                     if (!a.isRunning()) a.start();
                 }
-                // Slightly animate the SeekBar for visual effect
-                seekBar.animate()
+                // Slightly animate the SeekBar for visual effect (small fields only)
+                if (pulse) seekBar.animate()
                     .scaleY(1.1f)
                     .setDuration(100)
                     .withEndAction(() -> {
@@ -187,7 +322,7 @@ public class RaceFragment extends Fragment {
                             .scaleY(1.0f)
                             .setDuration(100);
                     });
-            } else if (horse.isFinished()) {
+            } else if (finished) {
                 // Stop this horse's animation when finished
                 if (animThumbs != null && i < animThumbs.length && animThumbs[i] != null) {
                     if (animThumbs[i].isRunning()) animThumbs[i].stop();
@@ -203,19 +338,13 @@ public class RaceFragment extends Fragment {
     private void setupHorseThumbs() {
         animThumbs = new android.graphics.drawable.Animatable[seekBars.size()];
         idleThumbs = new android.graphics.drawable.Drawable[seekBars.size()];
-        // Map each horse lane to a frame prefix. You can change this mapping as you like.
-        String[] folders = new String[]{
-                "black_horse",  // lane 1
-                "yellow_horse", // lane 2
-                "brown_horse",  // lane 3
-                "white_horse"   // lane 4
-        };
+        boolean animate = seekBars.size() <= MAX_ANIMATED_LANES;
 
         for (int i = 0; i < seekBars.size(); i++) {
             SeekBar sb = seekBars.get(i);
-            String prefix = i < folders.length ? folders[i] : folders[0];
+            String prefix = LANE_FOLDERS[i % LANE_FOLDERS.length];
             int idleId = resolveIdleFrameId(prefix);
-            int[] animIds = resolveAnimFrameIds(prefix);
+            int[] animIds = animate ? resolveAnimFrameIds(prefix) : new int[0];
 
             if (idleId != 0 && animIds.length > 0) {
                 // Create idle (tile00) drawable and running sequence (tile01..tile06)
@@ -304,6 +433,9 @@ public class RaceFragment extends Fragment {
     @Override
     public void onDestroyView() {
         super.onDestroyView();
+        Choreographer.getInstance().removeFrameCallback(frameCallback);
+        frameScheduled = false;
+        interpolator.clear();
         // Clean up references
         if (seekBars != null) {
             seekBars.clear();
@@ -29,6 +29,7 @@ public class ResultFragment extends DialogFragment {
     private GameViewModel gameViewModel;
     private ImageView ivFirst, ivSecond, ivThird, ivFourth;
     private TextView tvFirstName, tvSecondName, tvThirdName, tvFourthName;
+    private TextView tvRestOfField;
     private TextView tvTotalWinnings, tvNetChange, tvNewBalance;
     private Button btnRaceAgain, btnMainMenu, btnSettings;
 
@@ -71,6 +72,7 @@ public class ResultFragment extends DialogFragment {
         tvSecondName = view.findViewById(R.id.tvSecondName);
         tvThirdName = view.findViewById(R.id.tvThirdName);
         tvFourthName = view.findViewById(R.id.tvFourthName);
+        tvRestOfField = view.findViewById(R.id.tvRestOfField);
         tvTotalWinnings = view.findViewById(R.id.tvTotalWinnings);
         tvNetChange = view.findViewById(R.id.tvNetChange);
         tvNewBalance = view.findViewById(R.id.tvNewBalance);
@@ -110,13 +112,13 @@ public class ResultFragment extends DialogFragment {
     }
 
     private void displayRaceResult(RaceResult result) {
-        List<Integer> finishOrder = result.getFinishOrder();
+        int[] finishOrder = result.getFinishOrder();
         List<com.example.horse_racing_betting.model.Horse> horses = gameViewModel.getHorses().getValue();
 
         // Display podium with correct horse icons and names
-        if (finishOrder.size() >= 4 && horses != null) {
+        if (finishOrder.length >= 4 && horses != null) {
             // 1st Place
-            int firstHorseNum = finishOrder.get(0);
+            int firstHorseNum = finishOrder[0];
             skinManager.applyHorseIcon(ivFirst, firstHorseNum);
             com.example.horse_racing_betting.model.Horse firstHorse = getHorseByNumber(horses, firstHorseNum);
             if (firstHorse != null) {
@@ -124,7 +126,7 @@ public class ResultFragment extends DialogFragment {
             }
 
             // 2nd Place
-            int secondHorseNum = finishOrder.get(1);
+            int secondHorseNum = finishOrder[1];
             skinManager.applyHorseIcon(ivSecond, secondHorseNum);
             com.example.horse_racing_betting.model.Horse secondHorse = getHorseByNumber(horses, secondHorseNum);
             if (secondHorse != null) {
@@ -132,7 +134,7 @@ public class ResultFragment extends DialogFragment {
             }
 
             // 3rd Place
-            int thirdHorseNum = finishOrder.get(2);
+            int thirdHorseNum = finishOrder[2];
             skinManager.applyHorseIcon(ivThird, thirdHorseNum);
             com.example.horse_racing_betting.model.Horse thirdHorse = getHorseByNumber(horses, thirdHorseNum);
             if (thirdHorse != null) {
@@ -140,7 +142,7 @@ public class ResultFragment extends DialogFragment {
             }
 
             // 4th Place
-            int fourthHorseNum = finishOrder.get(3);
+            int fourthHorseNum = finishOrder[3];
             skinManager.applyHorseIcon(ivFourth, fourthHorseNum);
             com.example.horse_racing_betting.model.Horse fourthHorse = getHorseByNumber(horses, fourthHorseNum);
             if (fourthHorse != null) {
@@ -148,6 +150,21 @@ public class ResultFragment extends DialogFragment {
             }
         }
 
+        // Places below the podium, one line each
+        if (finishOrder.length > 4 && horses != null) {
+            StringBuilder rest = new StringBuilder();
+            for (int rank = 4; rank < finishOrder.length; rank++) {
+                com.example.horse_racing_betting.model.Horse horse = getHorseByNumber(horses, finishOrder[rank]);
+                if (rest.length() > 0) rest.append('\n');
+                rest.append(rank + 1).append(". Horse ").append(finishOrder[rank]);
+                if (horse != null) rest.append(": ").append(horse.getName());
+            }
+            tvRestOfField.setText(rest);
+            tvRestOfField.setVisibility(View.VISIBLE);
+        } else {
+            tvRestOfField.setVisibility(View.GONE);
+        }
+
         // Display payout information
         int netChange = result.getNetChange();
         String winningsText;
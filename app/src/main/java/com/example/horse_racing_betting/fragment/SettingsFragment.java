@@ -6,7 +6,10 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.view.Window;
+import android.widget.AdapterView;
+import android.widget.ArrayAdapter;
 import android.widget.Button;
+import android.widget.Spinner;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
@@ -19,9 +22,13 @@ import com.example.horse_racing_betting.R;
 import com.example.horse_racing_betting.viewmodel.GameViewModel;
 import com.example.horse_racing_betting.audio.AudioManager;
 
+import java.util.List;
+
 public class SettingsFragment extends DialogFragment {
     private GameViewModel gameViewModel;
-    private SwitchCompat switchSoundEffects, switchBackgroundMusic;
+    private SwitchCompat switchSoundEffects, switchBackgroundMusic, switchPackRacing, switchFinishInBackground, switchPariMutuel;
+    private Spinner spinnerFieldSize;
+    private Spinner spinnerRuleSet;
     private Button btnCancel, btnRestart;
 
     @Override
@@ -55,6 +62,11 @@ public class SettingsFragment extends DialogFragment {
         switchBackgroundMusic = view.findViewById(R.id.switchBackgroundMusic);
         btnCancel = view.findViewById(R.id.btnCancel);
         btnRestart = view.findViewById(R.id.btnRestart);
+        spinnerFieldSize = view.findViewById(R.id.spinnerFieldSize);
+        switchPackRacing = view.findViewById(R.id.switchPackRacing);
+        switchFinishInBackground = view.findViewById(R.id.switchFinishInBackground);
+        switchPariMutuel = view.findViewById(R.id.switchPariMutuel);
+        spinnerRuleSet = view.findViewById(R.id.spinnerRuleSet);
 
         // Initialize switches with persisted states
         AudioManager am = ((MainActivity) requireActivity()).getAudioManager();
@@ -62,6 +74,31 @@ public class SettingsFragment extends DialogFragment {
         switchBackgroundMusic.setChecked(!am.isMuteBgm());
         switchSoundEffects.setText(am.isMuteSfx() ? "Off" : "On");
         switchBackgroundMusic.setText(am.isMuteBgm() ? "Off" : "On");
+
+        // Field size options come from the view model; only editable between races
+        String[] labels = new String[GameViewModel.FIELD_SIZES.length];
+        int selected = 0;
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = String.valueOf(GameViewModel.FIELD_SIZES[i]);
+            if (GameViewModel.FIELD_SIZES[i] == gameViewModel.getFieldSize()) selected = i;
+        }
+        ArrayAdapter<String> sizeAdapter = new ArrayAdapter<>(requireContext(), android.R.layout.simple_spinner_item, labels);
+        sizeAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        spinnerFieldSize.setAdapter(sizeAdapter);
+        spinnerFieldSize.setSelection(selected, false);
+        spinnerFieldSize.setEnabled(GameViewModel.STATE_IDLE.equals(gameViewModel.getGameState().getValue()));
+        switchPackRacing.setChecked(gameViewModel.isPackRacing());
+        switchPackRacing.setEnabled(GameViewModel.STATE_IDLE.equals(gameViewModel.getGameState().getValue()));
+        switchFinishInBackground.setChecked(gameViewModel.isFinishInBackground());
+        switchPariMutuel.setChecked(gameViewModel.isPariMutuel());
+        switchPariMutuel.setEnabled(GameViewModel.STATE_IDLE.equals(gameViewModel.getGameState().getValue()));
+
+        List<String> ruleSetNames = gameViewModel.getRuleSetNames();
+        ArrayAdapter<String> rulesAdapter = new ArrayAdapter<>(requireContext(), android.R.layout.simple_spinner_item, ruleSetNames);
+        rulesAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        spinnerRuleSet.setAdapter(rulesAdapter);
+        spinnerRuleSet.setSelection(Math.max(0, ruleSetNames.indexOf(gameViewModel.getRuleSet().getName())), false);
+        spinnerRuleSet.setEnabled(GameViewModel.STATE_IDLE.equals(gameViewModel.getGameState().getValue()));
     }
 
     private void setupClickListeners() {
@@ -79,6 +116,49 @@ public class SettingsFragment extends DialogFragment {
             if (isChecked) am.playSfx(R.raw.mouse_click);
         });
 
+        switchPackRacing.setOnCheckedChangeListener((buttonView, isChecked) -> {
+            ((MainActivity) requireActivity()).getAudioManager().playSfx(R.raw.mouse_click);
+            gameViewModel.setPackRacing(isChecked);
+        });
+
+        switchFinishInBackground.setOnCheckedChangeListener((buttonView, isChecked) -> {
+            ((MainActivity) requireActivity()).getAudioManager().playSfx(R.raw.mouse_click);
+            gameViewModel.setFinishInBackground(isChecked);
+        });
+
+        switchPariMutuel.setOnCheckedChangeListener((buttonView, isChecked) -> {
+            ((MainActivity) requireActivity()).getAudioManager().playSfx(R.raw.mouse_click);
+            gameViewModel.setPariMutuel(isChecked);
+        });
+
+        spinnerRuleSet.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+            @Override
+            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                String name = (String) parent.getItemAtPosition(position);
+                if (!name.equals(gameViewModel.getRuleSet().getName())) {
+                    gameViewModel.selectRuleSet(name);
+                    Toast.makeText(requireContext(), name + " rules from the next race.", Toast.LENGTH_SHORT).show();
+                }
+            }
+
+            @Override
+            public void onNothingSelected(AdapterView<?> parent) { }
+        });
+
+        spinnerFieldSize.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+            @Override
+            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                int size = GameViewModel.FIELD_SIZES[position];
+                if (size != gameViewModel.getFieldSize()) {
+                    gameViewModel.setFieldSize(size);
+                    Toast.makeText(requireContext(), size + " horses per race. Bets cleared.", Toast.LENGTH_SHORT).show();
+                }
+            }
+
+            @Override
+            public void onNothingSelected(AdapterView<?> parent) { }
+        });
+
         btnCancel.setOnClickListener(v -> {
             ((MainActivity) requireActivity()).getAudioManager().playSfx(R.raw.mouse_click);
             dismiss();
@@ -1,34 +1,62 @@
 package com.example.horse_racing_betting.model;
 
+import com.example.horse_racing_betting.engine.settle.BetKind;
+
 public class Bet {
-    private int horseNumber;
-    private int amount;
+    private final int kind;           // BetKind
+    private final int[] horseNumbers; // in finishing order, except for a quinella
+    private final int amount;
 
     public Bet(int horseNumber, int amount) {
-        this.horseNumber = horseNumber;
+        this(BetKind.WIN, new int[]{horseNumber}, amount);
+    }
+
+    public Bet(int kind, int[] horseNumbers, int amount) {
+        this.kind = kind;
+        this.horseNumbers = horseNumbers.clone();
         this.amount = amount;
     }
 
+    public int getKind() {
+        return kind;
+    }
+
+    public boolean isExotic() {
+        return kind != BetKind.WIN;
+    }
+
+    /** The horse of a win bet; the first named horse of an exotic one. */
     public int getHorseNumber() {
-        return horseNumber;
+        return horseNumbers[0];
     }
 
-    public void setHorseNumber(int horseNumber) {
-        this.horseNumber = horseNumber;
+    public int[] getHorseNumbers() {
+        return horseNumbers.clone();
     }
 
-    public int getAmount() {
-        return amount;
+    /** 0-based lanes of the named horses, for BetKind.rank. */
+    public int[] getLanes() {
+        int[] lanes = new int[horseNumbers.length];
+        for (int i = 0; i < lanes.length; i++) lanes[i] = horseNumbers[i] - 1;
+        return lanes;
     }
 
-    public void setAmount(int amount) {
-        this.amount = amount;
+    public int getAmount() {
+        return amount;
     }
 
 
 
     @Override
     public String toString() {
-        return "Horse #" + horseNumber + " - " + amount + " Coins";
+        if (!isExotic()) return "Horse #" + horseNumbers[0] + " - " + amount + " Coins";
+        // e.g. "Exacta #3-#5 - 10 Coins", "Quinella #3/#5 - 10 Coins"
+        StringBuilder text = new StringBuilder(BetKind.name(kind)).append(' ');
+        String separator = BetKind.isOrdered(kind) ? "-" : "/";
+        for (int i = 0; i < horseNumbers.length; i++) {
+            if (i > 0) text.append(separator);
+            text.append('#').append(horseNumbers[i]);
+        }
+        return text.append(" - ").append(amount).append(" Coins").toString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,113 @@
+package com.example.horse_racing_betting.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The player's bets before a race, as an immutable value: every edit returns a new slip
+ * and leaves this one alone, so the view model publishes exactly one object per change.
+ *
+ * Bets are kept as a persistent list, newest first, sharing everything below the edit:
+ * adding is O(1) and removing is O(bets placed after the removed one). Horses backed to
+ * win are a bitmask (fields are at most 64 horses), and the total stake and bet count are
+ * carried along, so the checks the bet screen runs on every update cost nothing.
+ */
+public final class BetSlip {
+
+    /** Highest horse number the picked mask can hold. */
+    public static final int MAX_HORSES = Long.SIZE;
+
+    public static final BetSlip EMPTY = new BetSlip(null, null, 0, 0, 0L);
+
+    private final Bet bet;        // newest bet, null for the empty slip
+    private final BetSlip older;
+    private final int count;
+    private final int totalStake;
+    private final long pickedMask; // bit n-1 set when horse n is backed to win
+
+    private List<Bet> inOrder;    // built on first use; same contents whichever thread wins
+
+    private BetSlip(Bet bet, BetSlip older, int count, int totalStake, long pickedMask) {
+        this.bet = bet;
+        this.older = older;
+        this.count = count;
+        this.totalStake = totalStake;
+        this.pickedMask = pickedMask;
+    }
+
+    /**
+     * A slip with {@code bet} added last.
+     *
+     * @throws IllegalArgumentException if it is a win bet on a horse already backed to win
+     */
+    public BetSlip withBet(Bet bet) {
+        long mask = pickedMask;
+        if (!bet.isExotic()) {
+            long bit = bit(bet.getHorseNumber());
+            if ((mask & bit) != 0) throw new IllegalArgumentException("pick error");
+            mask |= bit;
+        }
+        return new BetSlip(bet, this, count + 1, totalStake + bet.getAmount(), mask);
+    }
+
+    /** A slip without the bet at {@code index} (0 = placed first); this slip if out of range. */
+    public BetSlip without(int index) {
+        if (index < 0 || index >= count) return this;
+        // Walk down to the bet, then stack the newer ones back on what lies below it
+        Bet[] newer = new Bet[count - 1 - index];
+        BetSlip node = this;
+        for (int i = 0; i < newer.length; i++) {
+            newer[i] = node.bet;
+            node = node.older;
+        }
+        BetSlip slip = node.older;
+        for (int i = newer.length - 1; i >= 0; i--) {
+            Bet b = newer[i];
+            long mask = b.isExotic() ? slip.pickedMask : slip.pickedMask | bit(b.getHorseNumber());
+            slip = new BetSlip(b, slip, slip.count + 1, slip.totalStake + b.getAmount(), mask);
+        }
+        return slip;
+    }
+
+    public boolean isPicked(int horseNumber) {
+        return horseNumber >= 1 && horseNumber <= MAX_HORSES && (pickedMask & bit(horseNumber)) != 0;
+    }
+
+    /** Horses backed to win: bit {@code n-1} for horse {@code n}. */
+    public long getPickedMask() { return pickedMask; }
+
+    public int getTotalStake() { return totalStake; }
+
+    public int getBetCount() { return count; }
+
+    public boolean isEmpty() { return count == 0; }
+
+    /** True when there is something to race for and {@code coins} cover it. */
+    public boolean canStart(int coins) {
+        return count > 0 && totalStake <= coins;
+    }
+
+    /** The bets in the order they were placed; unmodifiable. */
+    public List<Bet> getBets() {
+        List<Bet> list = inOrder;
+        if (list == null) {
+            Bet[] bets = new Bet[count];
+            BetSlip node = this;
+            for (int i = count - 1; i >= 0; i--) {
+                bets[i] = node.bet;
+                node = node.older;
+            }
+            list = Collections.unmodifiableList(Arrays.asList(bets));
+            inOrder = list;
+        }
+        return list;
+    }
+
+    private static long bit(int horseNumber) {
+        if (horseNumber < 1 || horseNumber > MAX_HORSES) {
+            throw new IllegalArgumentException("horse number " + horseNumber);
+        }
+        return 1L << (horseNumber - 1);
+    }
+}
@@ -1,8 +1,14 @@
 package com.example.horse_racing_betting.model;
 
+import com.example.horse_racing_betting.engine.HorseProfile;
+
 public class Horse {
+    // Profiles are seeded by horse number, so a horse keeps its attributes across games
+    private static final long PROFILE_SEED = 0x5EED_0000L;
+
     private final int number;
     private final String name;
+    private final HorseProfile profile;
     private float position;
     private boolean isFinished;
     private int finishPosition;
@@ -10,6 +16,7 @@ public class Horse {
     public Horse(int number) {
         this.number = number;
         this.name = getHorseName(number);
+        this.profile = profileOf(number);
         this.position = 0.0f;
         this.isFinished = false;
         this.finishPosition = 0;
@@ -25,6 +32,15 @@ public class Horse {
         }
     }
 
+    /** Acceleration, top speed and stamina of horse {@code number}. */
+    public static HorseProfile profileOf(int number) {
+        return HorseProfile.random(PROFILE_SEED + number);
+    }
+
+    public HorseProfile getProfile() {
+        return profile;
+    }
+
     public int getNumber() {
         return number;
     }
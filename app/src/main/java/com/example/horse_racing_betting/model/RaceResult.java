@@ -1,15 +1,13 @@
 package com.example.horse_racing_betting.model;
 
-import java.util.List;
-
 public class RaceResult {
-    private List<Integer> finishOrder;
+    private int[] finishOrder; // horse numbers, winner first
     private int totalWinnings;
     private int totalLosses;
     private int netChange;
     private int newBalance;
 
-    public RaceResult(List<Integer> finishOrder, int totalWinnings, int totalLosses, int netChange, int newBalance) {
+    public RaceResult(int[] finishOrder, int totalWinnings, int totalLosses, int netChange, int newBalance) {
         this.finishOrder = finishOrder;
         this.totalWinnings = totalWinnings;
         this.totalLosses = totalLosses;
@@ -17,11 +15,11 @@ public class RaceResult {
         this.newBalance = newBalance;
     }
 
-    public List<Integer> getFinishOrder() {
+    public int[] getFinishOrder() {
         return finishOrder;
     }
 
-    public void setFinishOrder(List<Integer> finishOrder) {
+    public void setFinishOrder(int[] finishOrder) {
         this.finishOrder = finishOrder;
     }
 
@@ -42,7 +42,8 @@ public class SkinManager {
     }
 
     public int getHorseIconRes(@IntRange(from = 1) int horseNumber) {
-        switch (horseNumber) {
+        // Large fields reuse the four skins in lane order
+        switch ((horseNumber - 1) % 4 + 1) {
             case 1: return R.drawable.black_horse_tile00;
             case 2: return R.drawable.yellow_horse_tile00;
             case 3: return R.drawable.brown_horse_tile00;
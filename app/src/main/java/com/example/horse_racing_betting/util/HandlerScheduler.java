@@ -0,0 +1,32 @@
+package com.example.horse_racing_betting.util;
+
+import android.os.Handler;
+import android.os.SystemClock;
+
+import com.example.horse_racing_betting.engine.loop.Cancellable;
+import com.example.horse_racing_betting.engine.loop.Scheduler;
+
+/** {@link Scheduler} that posts to an Android {@link Handler} (main looper or a HandlerThread). */
+public final class HandlerScheduler implements Scheduler {
+
+    private final Handler handler;
+
+    public HandlerScheduler(Handler handler) {
+        this.handler = handler;
+    }
+
+    @Override
+    public Cancellable schedule(Runnable task, long delayMs) {
+        // Wrap so cancel() removes exactly this post, even if the task is posted twice
+        Runnable posted = task::run;
+        handler.postDelayed(posted, delayMs);
+        return () -> handler.removeCallbacks(posted);
+    }
+
+    @Override
+    public long nowMillis() {
+        return SystemClock.uptimeMillis();
+    }
+
+    public Handler getHandler() { return handler; }
+}
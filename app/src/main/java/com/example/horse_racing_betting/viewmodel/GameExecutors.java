@@ -0,0 +1,67 @@
+package com.example.horse_racing_betting.viewmodel;
+
+import com.example.horse_racing_betting.engine.loop.Scheduler;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Where {@link GameViewModel} runs its background work: the odds estimate, trace writes,
+ * the season and the pari-mutuel crowd, plus the fork-join pools the estimate and the
+ * season fan out on. The season gets a pool of its own, so a long season never holds up
+ * an odds estimate.
+ *
+ * {@link #newDefault()} gives each its own thread. {@link #on(Scheduler, ForkJoinPool)}
+ * queues them all on one scheduler, so with a
+ * {@link com.example.horse_racing_betting.engine.loop.VirtualScheduler} nothing but the
+ * test thread ever touches the view model's LiveData.
+ */
+public final class GameExecutors {
+
+    final Executor odds;     // one at a time, so a newer estimate is never overtaken
+    final Executor trace;
+    final Executor season;
+    final Executor crowd;    // runs bettors side by side when it has the threads
+    final ForkJoinPool compute;
+    final ForkJoinPool seasonCompute;
+
+    public GameExecutors(Executor odds, Executor trace, Executor season, Executor crowd,
+                         ForkJoinPool compute, ForkJoinPool seasonCompute) {
+        this.odds = odds;
+        this.trace = trace;
+        this.season = season;
+        this.crowd = crowd;
+        this.compute = compute;
+        this.seasonCompute = seasonCompute;
+    }
+
+    /**
+     * A single thread each for odds, traces and the season; the crowd and estimates on the
+     * common pool, and the season on half the cores.
+     */
+    public static GameExecutors newDefault() {
+        int seasonThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new GameExecutors(Executors.newSingleThreadExecutor(), Executors.newSingleThreadExecutor(),
+                Executors.newSingleThreadExecutor(), ForkJoinPool.commonPool(), ForkJoinPool.commonPool(),
+                new ForkJoinPool(seasonThreads));
+    }
+
+    /**
+     * All work posted to {@code scheduler} without delay, in submission order. Estimates
+     * and seasons still block on {@code compute}, whose results do not depend on its threads.
+     */
+    public static GameExecutors on(Scheduler scheduler, ForkJoinPool compute) {
+        Executor queued = task -> scheduler.schedule(task, 0);
+        return new GameExecutors(queued, queued, queued, queued, compute, compute);
+    }
+
+    void shutdown() {
+        // A pending estimate is worthless once the view model is gone; traces and seasons finish
+        if (odds instanceof ExecutorService) ((ExecutorService) odds).shutdownNow();
+        if (season instanceof ExecutorService) ((ExecutorService) season).shutdown();
+        if (trace instanceof ExecutorService) ((ExecutorService) trace).shutdown();
+        if (seasonCompute != compute) seasonCompute.shutdown();   // lets the running batch finish
+    }
+}
@@ -4,22 +4,61 @@ import android.app.Application;
 import android.content.SharedPreferences;
 import android.os.Handler;
 import android.os.Looper;
+import android.util.Log;
 
-import androidx.annotation.Nullable;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
+import com.example.horse_racing_betting.R;
+import com.example.horse_racing_betting.engine.HorseProfile;
+import com.example.horse_racing_betting.engine.IncidentRules;
+import com.example.horse_racing_betting.engine.PackPhysics;
+import com.example.horse_racing_betting.engine.RaceEngine;
+import com.example.horse_racing_betting.engine.RaceEventQueue;
+import com.example.horse_racing_betting.engine.RaceRules;
+import com.example.horse_racing_betting.engine.RaceSnapshot;
+import com.example.horse_racing_betting.engine.RaceView;
+import com.example.horse_racing_betting.engine.RuleSet;
+import com.example.horse_racing_betting.engine.RuleSetParser;
+import com.example.horse_racing_betting.engine.loop.ExecutorScheduler;
+import com.example.horse_racing_betting.engine.loop.GameClock;
+import com.example.horse_racing_betting.engine.loop.RaceLoop;
+import com.example.horse_racing_betting.engine.loop.Scheduler;
+import com.example.horse_racing_betting.engine.odds.MonteCarloOdds;
+import com.example.horse_racing_betting.engine.odds.OddsTable;
+import com.example.horse_racing_betting.engine.rng.RaceRandom;
+import com.example.horse_racing_betting.engine.season.SeasonPlan;
+import com.example.horse_racing_betting.engine.season.SeasonRunner;
+import com.example.horse_racing_betting.engine.season.SeasonStandings;
+import com.example.horse_racing_betting.engine.settle.BetBatch;
+import com.example.horse_racing_betting.engine.settle.BetKind;
+import com.example.horse_racing_betting.engine.settle.ExoticPool;
+import com.example.horse_racing_betting.engine.settle.PariMutuelPool;
+import com.example.horse_racing_betting.engine.settle.PoolOdds;
+import com.example.horse_racing_betting.engine.settle.Settlement;
+import com.example.horse_racing_betting.engine.settle.SettlementEngine;
+import com.example.horse_racing_betting.engine.trace.RaceTraceWriter;
 import com.example.horse_racing_betting.model.Bet;
+import com.example.horse_racing_betting.model.BetSlip;
 import com.example.horse_racing_betting.model.Horse;
 import com.example.horse_racing_betting.model.RaceResult;
-
+import com.example.horse_racing_betting.util.HandlerScheduler;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Random;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class GameViewModel extends AndroidViewModel {
 
@@ -28,95 +67,556 @@ public class GameViewModel extends AndroidViewModel {
     private static final String KEY_USERNAME = "username";
     private static final String KEY_COINS    = "coins";
     private static final String KEY_FIRST_RUN= "firstRun";
+    private static final String KEY_FIELD_SIZE = "fieldSize";
+    private static final String KEY_PACK_RACING = "packRacing";
+    private static final String KEY_FINISH_IN_BACKGROUND = "finishInBackground";
+    private static final String KEY_RULE_SET = "ruleSet";
+    private static final String KEY_PARI_MUTUEL = "pariMutuel";
+    private static final String KEY_RACE_SEQUENCE = "raceSequence";
 
     private static final int INITIAL_COINS = 100;
-    private static final int TOTAL_HORSES  = 4;
 
-    // -------------------- Payout multipliers --------------------
-    private static final double FIRST_PLACE_MULTIPLIER  = 2.0;
-    private static final double SECOND_PLACE_MULTIPLIER = 1.3;
-    private static final double THIRD_PLACE_MULTIPLIER  = 0.5;
-    private static final double FOURTH_PLACE_MULTIPLIER = 0.0;
+    // -------------------- Field size --------------------
+    public static final int[] FIELD_SIZES        = {4, 8, 16, 32, 64};
+    private static final int  DEFAULT_FIELD_SIZE = 4;
 
     // -------------------- Game states --------------------
     public static final String STATE_IDLE      = "IDLE";
     public static final String STATE_COUNTDOWN = "COUNTDOWN";
     public static final String STATE_RUNNING   = "RUNNING";
     public static final String STATE_RESULT    = "RESULT";
+    /** A quick race is being simulated off the main thread; nothing is played back. */
+    public static final String STATE_SIMULATING = "SIMULATING";
 
     // -------------------- Race config --------------------
-    private static final int   RACE_TICK_MS           = 100;
-    private static final int   COUNTDOWN_START        = 3;     // 3..0 (Go)
-    private static final float FINISH_PERCENT         = 100f;
-    private static final float BURST_TRIGGER_PERCENT  = 30f;
-
-    // Speed ranges per tick
-    private static final float BOOST_PRE_MIN   = 0.1f;
-    private static final float BOOST_PRE_MAX   = 0.6f;
-    private static final float BOOST_ACTIVE_MIN= 0.8f;
-    private static final float BOOST_ACTIVE_MAX= 2.0f;
-    private static final float NORMAL_MIN      = 0.1f;
-    private static final float NORMAL_MAX      = 0.7f;
+    // Speeds, payouts, tick rate and countdown come from the selected RuleSet.
+    // Bundled rule sets live in res/raw; downloaded ones are dropped into files/rules.
+    private static final int[] BUNDLED_RULE_SETS      = {R.raw.rules_sprint, R.raw.rules_endurance};
+    private static final String RULES_DIR             = "rules";
+    // Ticks advanced per sim step; the step rate (and UI cost) is the same at every speed
+    public  static final int[] PLAYBACK_SPEEDS        = {1, 2, 4, 8};
+    // Tick on a dedicated thread so UI jank and simulation work do not delay each other
+    private static final boolean SIMULATE_OFF_MAIN_THREAD = true;
+    // Race events kept for a reader that falls behind; a busy tick publishes about one per horse
+    private static final int RACE_EVENT_CAPACITY      = 256;
+
+    // -------------------- Race traces --------------------
+    private static final String TAG                    = "GameViewModel";
+    private static final String TRACE_DIR              = "traces";
+    private static final int    TRACE_KEYFRAME_TICKS   = 10;    // one keyframe per second of race
+    private static final int    TRACE_EXPECTED_TICKS   = 400;
+    private static final int    MAX_STORED_TRACES      = 200;
+
+    // -------------------- Odds estimation --------------------
+    private static final int  ODDS_MAX_RACES = 200_000;
+    private static final long ODDS_BUDGET_MS = 250;
+
+    // -------------------- Season --------------------
+    // Roster of fieldSize x 2^k horses; the player's field is roster horses 0..fieldSize-1
+    private static final int SEASON_ROSTER   = 512;
+    private static final int SEASON_MEETINGS = 40;
+
+    // -------------------- Pari-mutuel --------------------
+    // Win pool shared with a simulated crowd; odds shown to the player refresh at most every POOL_REFRESH_MS
+    private static final int  POOL_TAKE_MILLIS = 150;   // house keeps 15% of the pool
+    private static final long POOL_REFRESH_MS  = 500;
+    private static final int  CROWD_BETTORS    = 4;     // concurrent simulated bettors per round
+    private static final int  CROWD_BETS_EACH  = 2_000;
+    private static final int  CROWD_BATCH      = 250;   // bets between refresh requests
+    private static final int  CROWD_MAX_STAKE  = 20;
+    private static final int  CROWD_EXOTIC_BETS = 1_000; // per exotic kind, placed as the pool opens
 
     // -------------------- Fields --------------------
     private final SharedPreferences sharedPreferences;
-    private final Random  random  = new Random();
-    private final Handler handler = new Handler(Looper.getMainLooper());
-
-    @Nullable private Integer boostedHorseNumber = null; // chosen per race
-    private boolean burstActivated = false;              // flips when boosted horse crosses 30%
+    private final RaceRandom random = new RaceRandom(System.nanoTime()); // seeds each race
+    // All timed work goes through these, so tests can swap in a VirtualScheduler
+    private final Scheduler mainScheduler;  // runs on the main thread; LiveData is set here
+    private final Scheduler simScheduler;
+    // Countdown and race run on game time, which stops while the app is in the background
+    private final GameClock gameClock;
+    private boolean finishInBackground; // play a running race out headlessly instead of pausing
+    private RaceLoop raceLoop;
+    private int fieldSize;
+    private boolean packRacing;       // drafting and blocking between horses
+    private final List<RuleSet> ruleSets = new ArrayList<>();
+    private RuleSet ruleSet = RuleSet.CLASSIC;
+    private RaceEngine raceEngine;    // rebuilt when the field size changes
+    private final RaceEventQueue raceEvents = new RaceEventQueue(RACE_EVENT_CAPACITY); // outlives engines
+    private HorseProfile[] horseProfiles;
+    private SettlementEngine settlementEngine;   // rebuilt with the payout table
+    private final BetBatch slipBets = new BetBatch();    // the player's slip, reused per race
+    private final Settlement settlement = new Settlement();
+    private boolean pariMutuel;                 // settle from the pool instead of the payout table
+    private volatile PariMutuelPool pool;       // open while betting; crowd threads stake into it
+    private PoolOdds closedPoolOdds;            // the pool as it closed at the start of the race
+    // Exotic pools, indexed by BetKind (WIN unused); main thread only, reused while the field size holds
+    private ExoticPool[] exoticPools = new ExoticPool[BetKind.COUNT];
+    private boolean exoticPoolsOpen;
+    private PariMutuelPool crowdWaiting;        // open pool whose crowd waits for the odds estimate
+    private OddsTable crowdEstimate;            // what this round's crowd bets by; null while it waits
+    private int oddsRequest;                    // main thread; drops estimates a newer request replaced
+    private final AtomicBoolean poolRefreshPending = new AtomicBoolean();
+    private final GameExecutors executors; // background work; injected like the schedulers
+    private RaceTraceWriter traceWriter;
+    private long raceSequence;        // persisted; numbers every race, so trace names never repeat
+    private long raceSeed;
+    private SeasonPlan seasonPlan;
+    private SeasonRunner seasonRunner;
+    private long seasonSeed;
+    private boolean featuredHeatOpen;           // the player's next race is the season's featured heat
 
     // LiveData (mutable kept private)
     private final MutableLiveData<String> username = new MutableLiveData<>();
     private final MutableLiveData<Integer> coins = new MutableLiveData<>();
     private final MutableLiveData<Boolean> firstRun = new MutableLiveData<>();
-    private final MutableLiveData<List<Bet>> bets = new MutableLiveData<>();
+    private final MutableLiveData<BetSlip> slip = new MutableLiveData<>(BetSlip.EMPTY);
     private final MutableLiveData<List<Horse>> horses = new MutableLiveData<>();
+    private final MutableLiveData<RaceView> race = new MutableLiveData<>();
     private final MutableLiveData<String> gameState = new MutableLiveData<>();
     private final MutableLiveData<Integer> countdown = new MutableLiveData<>();
     private final MutableLiveData<RaceResult> raceResult = new MutableLiveData<>();
-    private final MutableLiveData<Map<Integer, Boolean>> picked = new MutableLiveData<>();
+    private final MutableLiveData<OddsTable> odds = new MutableLiveData<>();
+    private final MutableLiveData<File> lastTrace = new MutableLiveData<>();
+    private final MutableLiveData<SeasonStandings> season = new MutableLiveData<>();
+    private final MutableLiveData<PoolOdds> poolOdds = new MutableLiveData<>();
+    private final MutableLiveData<Integer> playbackSpeed = new MutableLiveData<>(PLAYBACK_SPEEDS[0]);
 
     public GameViewModel(Application application) {
+        this(application, mainThreadScheduler(), SIMULATE_OFF_MAIN_THREAD
+                ? ExecutorScheduler.newSingleThread("race-sim")
+                : mainThreadScheduler(), GameExecutors.newDefault());
+    }
+
+    /**
+     * ViewModel on the given schedulers and executors. {@code mainScheduler} must run its
+     * tasks on the thread that owns the LiveData; {@code simScheduler} may be the same
+     * scheduler. With a {@link com.example.horse_racing_betting.engine.loop.VirtualScheduler}
+     * for both and {@link GameExecutors#on} it, a whole bet, countdown, race and settlement
+     * cycle runs on the calling thread in virtual time.
+     */
+    public GameViewModel(Application application, Scheduler mainScheduler, Scheduler simScheduler,
+                         GameExecutors executors) {
         super(application);
+        this.mainScheduler = mainScheduler;
+        this.simScheduler = simScheduler;
+        this.executors = executors;
+        this.gameClock = new GameClock(simScheduler);
         sharedPreferences = application.getSharedPreferences(PREFS_NAME, Application.MODE_PRIVATE);
         initializeGame();
     }
 
+    private static Scheduler mainThreadScheduler() {
+        return new HandlerScheduler(new Handler(Looper.getMainLooper()));
+    }
+
     // -------------------- Init --------------------
     private void initializeGame() {
         final String savedUsername = sharedPreferences.getString(KEY_USERNAME, "");
         final int    savedCoins    = sharedPreferences.getInt(KEY_COINS, INITIAL_COINS);
         final boolean isFirstRun   = sharedPreferences.getBoolean(KEY_FIRST_RUN, true);
+        final int    savedField    = sharedPreferences.getInt(KEY_FIELD_SIZE, DEFAULT_FIELD_SIZE);
+        packRacing = sharedPreferences.getBoolean(KEY_PACK_RACING, false);
+        finishInBackground = sharedPreferences.getBoolean(KEY_FINISH_IN_BACKGROUND, false);
+        pariMutuel = sharedPreferences.getBoolean(KEY_PARI_MUTUEL, false);
+        loadRuleSets();
+        ruleSet = findRuleSet(sharedPreferences.getString(KEY_RULE_SET, RuleSet.CLASSIC.getName()));
+
+        applyFieldSize(isSupportedFieldSize(savedField) ? savedField : DEFAULT_FIELD_SIZE);
 
         username.setValue(savedUsername);
         coins.setValue(savedCoins);
         firstRun.setValue(isFirstRun);
         gameState.setValue(STATE_IDLE);
-        bets.setValue(new ArrayList<>());
+        slip.setValue(BetSlip.EMPTY);
         initializeHorses();
+        estimateOdds();
+        openPool();
     }
 
     private void initializeHorses() {
         List<Horse> horseList = new ArrayList<>();
-        for (int i = 1; i <= TOTAL_HORSES; i++) horseList.add(new Horse(i));
+        for (int i = 1; i <= fieldSize; i++) horseList.add(new Horse(i));
         horses.setValue(horseList);
-
-        Map<Integer, Boolean> m = new HashMap<>();
-        for (Horse h : horseList) m.put(h.getNumber(), false);
-        picked.setValue(m);
     }
 
     // -------------------- Getters --------------------
     public LiveData<String> getUsername() { return username; }
     public LiveData<Integer> getCoins() { return coins; }
     public LiveData<Boolean> getFirstRun() { return firstRun; }
-    public LiveData<List<Bet>> getBets() { return bets; }
+    /** The current bets; one new slip per edit, carrying the total stake and horses picked. */
+    public LiveData<BetSlip> getSlip() { return slip; }
     public LiveData<List<Horse>> getHorses() { return horses; }
+    /** Latest race snapshot; immutable, replaced at most once per tick. */
+    public LiveData<RaceView> getRace() { return race; }
     public LiveData<String> getGameState() { return gameState; }
     public LiveData<Integer> getCountdown() { return countdown; }
     public LiveData<RaceResult> getRaceResult() { return raceResult; }
-    public LiveData<Map<Integer, Boolean>> getPicked() { return picked; }
+    public LiveData<OddsTable> getOdds() { return odds; }
+    /** Trace file of the last finished race, for RaceTraceReader.map(). */
+    public LiveData<File> getLastTrace() { return lastTrace; }
+    public LiveData<Integer> getPlaybackSpeed() { return playbackSpeed; }
+    /**
+     * Incidents, lead changes, overtakes and finishes of every race the engine runs,
+     * published from the sim thread; consumers drain their own
+     * {@link RaceEventQueue#newReader() reader} on their own thread.
+     */
+    public RaceEventQueue getRaceEvents() { return raceEvents; }
+    /** Current season table, re-posted as batches of background meetings finish; null with no season. */
+    public LiveData<SeasonStandings> getSeason() { return season; }
+    /** Pari-mutuel pool and dividends of the betting round; null in fixed-odds mode. */
+    public LiveData<PoolOdds> getPoolOdds() { return poolOdds; }
+
+    // -------------------- Odds --------------------
+    // Simulates the current rules and horses in the background; the bet screen observes
+    // getOdds(). Horses differ by profile, which the analytical solver does not model.
+    // The simulated race has the same pack and incident models as ruleSet.newEngine().
+    private void estimateOdds() {
+        final long seed = random.nextLong();
+        final int field = fieldSize;
+        final RaceRules rules = ruleSet.getRaceRules();
+        final PackPhysics physics = packRacing ? ruleSet.getPackPhysics() : null;
+        final IncidentRules incidents = ruleSet.getIncidentRules();
+        final HorseProfile[] profiles = horseProfiles;
+        final int request = ++oddsRequest;
+        odds.setValue(null);
+        executors.odds.execute(() -> {
+            MonteCarloOdds estimator = new MonteCarloOdds(field, rules, physics, incidents, profiles, executors.compute);
+            final OddsTable estimate = estimator.estimate(seed, ODDS_MAX_RACES, TimeUnit.MILLISECONDS.toNanos(ODDS_BUDGET_MS));
+            mainScheduler.schedule(() -> {
+                if (request != oddsRequest) return;
+                odds.setValue(estimate);
+                startCrowd();
+            }, 0);
+        });
+    }
+
+    // -------------------- Pari-mutuel --------------------
+    public boolean isPariMutuel() { return pariMutuel; }
+
+    /** Switches between the payout table and the pari-mutuel pool; only between races. */
+    public void setPariMutuel(boolean enabled) {
+        if (!STATE_IDLE.equals(gameState.getValue()) || enabled == pariMutuel) return;
+        pariMutuel = enabled;
+        sharedPreferences.edit().putBoolean(KEY_PARI_MUTUEL, enabled).apply();
+        openPool();
+    }
+
+    // Opens a fresh pool for the betting round. Its crowd bets by the odds estimate, so
+    // while a new estimate is still running (after a field or rule change) it waits for it.
+    private void openPool() {
+        final PariMutuelPool opened = pariMutuel ? new PariMutuelPool(fieldSize, POOL_TAKE_MILLIS, POOL_REFRESH_MS) : null;
+        pool = opened;
+        closedPoolOdds = null;
+        exoticPoolsOpen = opened != null;
+        poolOdds.setValue(opened != null ? opened.refresh(mainScheduler.nowMillis()) : null);
+        crowdWaiting = opened;
+        crowdEstimate = null;
+        if (opened == null) return;
+
+        openExoticPools();
+        startCrowd();
+    }
+
+    // Sends the crowd into the waiting pool once there is an estimate; main thread
+    private void startCrowd() {
+        final PariMutuelPool target = crowdWaiting;
+        final OddsTable estimate = odds.getValue();
+        if (target == null || target != pool || estimate == null) return;
+        crowdWaiting = null;
+        crowdEstimate = estimate;
+
+        stakeCrowdExotics(estimate);
+        final long seed = random.nextLong();
+        for (int bettor = 0; bettor < CROWD_BETTORS; bettor++) {
+            final RaceRandom bettorRandom = RaceRandom.forStream(seed, bettor);
+            executors.crowd.execute(() -> placeCrowdBets(target, estimate, bettorRandom));
+        }
+    }
+
+    // The estimate the open pool's crowd bets by, for tests
+    OddsTable getCrowdEstimate() { return crowdEstimate; }
+
+    // Crowd thread
+    private void placeCrowdBets(PariMutuelPool target, OddsTable estimate, RaceRandom bettorRandom) {
+        for (int bet = 1; bet <= CROWD_BETS_EACH; bet++) {
+            if (pool != target) return; // betting closed
+            target.stake(pickCrowdLane(target.getHorseCount(), estimate, bettorRandom),
+                    1 + bettorRandom.nextInt(CROWD_MAX_STAKE));
+            if (bet % CROWD_BATCH == 0) requestPoolOddsRefresh();
+        }
+    }
+
+    // Empty exotic pools for the round, ready for the player's bets before the crowd arrives
+    private void openExoticPools() {
+        for (int kind = BetKind.EXACTA; kind < BetKind.COUNT; kind++) {
+            ExoticPool exotic = exoticPools[kind];
+            if (exotic == null || exotic.getHorseCount() != fieldSize) {
+                exoticPools[kind] = new ExoticPool(kind, fieldSize, POOL_TAKE_MILLIS);
+            } else {
+                exotic.clear();
+            }
+        }
+    }
+
+    // The crowd's exotic bets are few and cheap (one array add each), so they go in here at once
+    private void stakeCrowdExotics(OddsTable estimate) {
+        int[] lanes = new int[3];
+        for (int kind = BetKind.EXACTA; kind < BetKind.COUNT; kind++) {
+            ExoticPool exotic = exoticPools[kind];
+            int horses = BetKind.horsesIn(kind);
+            for (int bet = 0; bet < CROWD_EXOTIC_BETS; bet++) {
+                for (int i = 0; i < horses; i++) {
+                    int lane;
+                    do {
+                        lane = pickCrowdLane(fieldSize, estimate, random);
+                    } while (contains(lanes, i, lane));
+                    lanes[i] = lane;
+                }
+                exotic.stake(BetKind.rank(kind, fieldSize, Arrays.copyOf(lanes, horses)), 1 + random.nextInt(CROWD_MAX_STAKE));
+            }
+        }
+    }
+
+    private static boolean contains(int[] lanes, int count, int lane) {
+        for (int i = 0; i < count; i++) if (lanes[i] == lane) return true;
+        return false;
+    }
+
+    private static int pickCrowdLane(int horses, OddsTable estimate, RaceRandom bettorRandom) {
+        if (estimate == null || estimate.getHorseCount() != horses) return bettorRandom.nextInt(horses);
+        double u = bettorRandom.nextFloat();
+        for (int lane = 0; lane < horses - 1; lane++) {
+            u -= estimate.getWinProbability(lane);
+            if (u < 0) return lane;
+        }
+        return horses - 1;
+    }
+
+    // Any thread; coalesces requests into one main-thread refresh per POOL_REFRESH_MS
+    private void requestPoolOddsRefresh() {
+        if (poolRefreshPending.compareAndSet(false, true)) {
+            mainScheduler.schedule(this::publishPoolOdds, POOL_REFRESH_MS);
+        }
+    }
+
+    private void publishPoolOdds() {
+        poolRefreshPending.set(false);
+        PariMutuelPool open = pool;
+        if (open != null) poolOdds.setValue(open.getOdds(mainScheduler.nowMillis()));
+    }
+
+    // Adds the player's bets and closes the pools; later crowd stakes are not in the closed odds
+    private void closePool(List<Bet> playerBets) {
+        PariMutuelPool open = pool;
+        if (open == null) return;
+        pool = null;
+        exoticPoolsOpen = false;
+        for (Bet bet : playerBets) {
+            if (bet.isExotic()) {
+                exoticPools[bet.getKind()].stake(BetKind.rank(bet.getKind(), fieldSize, bet.getLanes()), bet.getAmount());
+            } else {
+                open.stake(bet.getHorseNumber() - 1, bet.getAmount());
+            }
+        }
+        closedPoolOdds = open.refresh(mainScheduler.nowMillis());
+        poolOdds.setValue(closedPoolOdds);
+    }
+
+    /**
+     * What a winning bet of {@code kind} on {@code horseNumbers} returns per coin as things
+     * stand: the pool's dividend while betting is open in pari-mutuel mode, the fixed odds
+     * otherwise; 0 for a pool combination nobody has backed yet.
+     */
+    public double getExoticMultiplier(int kind, int[] horseNumbers) {
+        int[] lanes = new int[horseNumbers.length];
+        for (int i = 0; i < lanes.length; i++) lanes[i] = horseNumbers[i] - 1;
+        int rank = BetKind.rank(kind, fieldSize, lanes);
+        if (exoticPoolsOpen) return exoticPools[kind].getDividendMillis(rank) / 1000.0;
+        return settlementEngine.getFixedExoticMillis(kind) / 1000.0;
+    }
+
+    // -------------------- Season --------------------
+    /**
+     * Starts a season for the current field size, under the current rule set and pack
+     * setting. Roster horse {@code r} is horse number {@code r + 1}, so the player's field
+     * is roster horses {@code 0..fieldSize-1}. Every meeting but the featured one runs
+     * headlessly on the season pool; the player's next race is the featured meeting's
+     * first heat, and the rest of that meeting runs once it finishes.
+     */
+    public void startSeason() {
+        if (!STATE_IDLE.equals(gameState.getValue())) return;
+        if (seasonRunner != null) seasonRunner.cancel();
+
+        final SeasonPlan plan = new SeasonPlan(SEASON_ROSTER, fieldSize, SEASON_MEETINGS);
+        HorseProfile[] roster = new HorseProfile[plan.getRosterSize()];
+        for (int horse = 0; horse < roster.length; horse++) roster[horse] = Horse.profileOf(horse + 1);
+        final SeasonRunner runner = new SeasonRunner(plan, ruleSet.getRaceRules(),
+                packRacing ? ruleSet.getPackPhysics() : null, ruleSet.getIncidentRules(), roster,
+                executors.seasonCompute);
+        final SeasonStandings standings = new SeasonStandings(plan.getRosterSize());
+        final long seed = random.nextLong();
+        seasonPlan = plan;
+        seasonRunner = runner;
+        seasonSeed = seed;
+        featuredHeatOpen = true;
+        season.setValue(standings);
+        final int meetings = plan.getMeetings();
+        executors.season.execute(() -> {
+            // One batch of meetings per pool width, then one update: workers never post
+            final int batch = executors.seasonCompute.getParallelism();
+            int from = SeasonRunner.FEATURED_MEETING + 1;
+            for (; from < meetings && !runner.isCancelled(); from += batch) {
+                runner.run(seed, standings, from, Math.min(meetings, from + batch), null);
+                publishSeason(runner, standings);
+            }
+        });
+    }
+
+    public SeasonPlan getSeasonPlan() { return seasonPlan; }
+
+    private void stopSeason() {
+        if (seasonRunner != null) seasonRunner.cancel();
+        seasonRunner = null;
+        seasonPlan = null;
+        featuredHeatOpen = false;
+        season.setValue(null);
+    }
+
+    // Featured heat: lane i of the player's race is roster horse i
+    private void recordFeaturedRace(RaceView result) {
+        final SeasonStandings standings = season.getValue();
+        final SeasonRunner runner = seasonRunner;
+        if (!featuredHeatOpen || standings == null || runner == null
+                || seasonPlan.getFieldSize() != result.getHorseCount()) return;
+        featuredHeatOpen = false;
+        final int[] finishOrder = new int[result.getHorseCount()];
+        for (int rank = 0; rank < finishOrder.length; rank++) finishOrder[rank] = result.getLaneAtRank(rank);
+        final long seed = seasonSeed;
+        executors.season.execute(() -> {
+            runner.runFeaturedMeeting(seed, standings, finishOrder, null);
+            publishSeason(runner, standings);
+        });
+    }
+
+    // Season thread: hands the table, updated in place, to the main thread once per batch
+    private void publishSeason(final SeasonRunner runner, final SeasonStandings standings) {
+        if (runner.isCancelled()) return;
+        mainScheduler.schedule(() -> {
+            if (seasonRunner == runner) season.setValue(standings);
+        }, 0);
+    }
+
+    // -------------------- Rule sets --------------------
+    // Parsing and validation happen here, once; races only use the compiled RuleSet.
+    private void loadRuleSets() {
+        ruleSets.clear();
+        ruleSets.add(RuleSet.CLASSIC);
+        for (int res : BUNDLED_RULE_SETS) {
+            try (InputStream in = getApplication().getResources().openRawResource(res)) {
+                addRuleSet(RuleSetParser.parse(in));
+            } catch (IOException | IllegalArgumentException e) {
+                Log.w(TAG, "Skipping bundled rule set " + res, e);
+            }
+        }
+        File[] downloaded = new File(getApplication().getFilesDir(), RULES_DIR).listFiles();
+        if (downloaded == null) return;
+        Arrays.sort(downloaded);
+        for (File file : downloaded) {
+            try (InputStream in = new FileInputStream(file)) {
+                addRuleSet(RuleSetParser.parse(in));
+            } catch (IOException | IllegalArgumentException e) {
+                Log.w(TAG, "Skipping rule set " + file.getName(), e);
+            }
+        }
+    }
+
+    // A later rule set with the same name replaces the earlier one
+    private void addRuleSet(RuleSet rules) {
+        for (int i = 0; i < ruleSets.size(); i++) {
+            if (ruleSets.get(i).getName().equals(rules.getName())) {
+                ruleSets.set(i, rules);
+                return;
+            }
+        }
+        ruleSets.add(rules);
+    }
+
+    private RuleSet findRuleSet(String name) {
+        for (RuleSet rules : ruleSets) {
+            if (rules.getName().equals(name)) return rules;
+        }
+        return RuleSet.CLASSIC;
+    }
+
+    public List<String> getRuleSetNames() {
+        List<String> names = new ArrayList<>(ruleSets.size());
+        for (RuleSet rules : ruleSets) names.add(rules.getName());
+        return names;
+    }
+
+    public RuleSet getRuleSet() { return ruleSet; }
+
+    /** Milliseconds between sim steps under the current rules. */
+    public int getRaceTickMs() { return ruleSet.getTickMs(); }
+
+    /** Switches rule sets between races; bets are kept, odds and payouts are rebuilt. */
+    public void selectRuleSet(String name) {
+        if (!STATE_IDLE.equals(gameState.getValue()) || name.equals(ruleSet.getName())) return;
+        ruleSet = findRuleSet(name);
+        sharedPreferences.edit().putString(KEY_RULE_SET, ruleSet.getName()).apply();
+        applyFieldSize(fieldSize);
+        stopSeason(); // standings were earned under the old rules
+        estimateOdds();
+        openPool();
+    }
+
+    // -------------------- Field size --------------------
+    public int getFieldSize() { return fieldSize; }
+
+    public static boolean isSupportedFieldSize(int size) {
+        for (int s : FIELD_SIZES) if (s == size) return true;
+        return false;
+    }
+
+    /** Changes the number of horses; only between races, and drops the current bets. */
+    public void setFieldSize(int size) {
+        if (!isSupportedFieldSize(size)) throw new IllegalArgumentException("field size " + size);
+        if (!STATE_IDLE.equals(gameState.getValue()) || size == fieldSize) return;
+
+        applyFieldSize(size);
+        stopSeason(); // the season's races have the old field size
+        sharedPreferences.edit().putInt(KEY_FIELD_SIZE, size).apply();
+        slip.setValue(BetSlip.EMPTY);
+        race.setValue(null);
+        initializeHorses();
+        estimateOdds();
+        openPool();
+    }
+
+    public boolean isPackRacing() { return packRacing; }
+
+    /** Turns drafting and blocking on or off for the next race; only between races. */
+    public void setPackRacing(boolean enabled) {
+        if (!STATE_IDLE.equals(gameState.getValue()) || enabled == packRacing) return;
+        packRacing = enabled;
+        sharedPreferences.edit().putBoolean(KEY_PACK_RACING, enabled).apply();
+        stopSeason(); // standings were earned with the other pack setting
+        applyFieldSize(fieldSize);
+        estimateOdds(); // drafting and blocking change who wins
+        openPool();
+    }
+
+    private void applyFieldSize(int size) {
+        fieldSize = size;
+        raceEngine = ruleSet.newEngine(size, packRacing);
+        raceEngine.setEventQueue(raceEvents);
+        // Speed curves are sampled into the engine's tables here, not per tick
+        horseProfiles = new HorseProfile[size];
+        for (int lane = 0; lane < size; lane++) horseProfiles[lane] = Horse.profileOf(lane + 1);
+        raceEngine.setProfiles(horseProfiles);
+        settlementEngine = new SettlementEngine(size, ruleSet.payoutTableFor(size));
+        traceWriter = new RaceTraceWriter(size, TRACE_KEYFRAME_TICKS, TRACE_EXPECTED_TICKS);
+    }
 
     // -------------------- User management --------------------
     public void setUsername(String name) {
@@ -129,16 +629,13 @@ public class GameViewModel extends AndroidViewModel {
     }
 
     // -------------------- Betting --------------------
-    public void markPicked(int horseNumber) {
-        Map<Integer, Boolean> cur = picked.getValue();
-        Map<Integer, Boolean> m = (cur == null) ? new HashMap<>() : new HashMap<>(cur);
-        m.put(horseNumber, true);
-        picked.setValue(m);
+    private BetSlip currentSlip() {
+        BetSlip current = slip.getValue();
+        return current != null ? current : BetSlip.EMPTY;
     }
 
     public boolean isPicked(int horseNumber) {
-        Map<Integer, Boolean> m = picked.getValue();
-        return m != null && Boolean.TRUE.equals(m.get(horseNumber));
+        return currentSlip().isPicked(horseNumber);
     }
 
     public boolean addBet(int horseNumber, int amount) throws IllegalArgumentException {
@@ -146,55 +643,89 @@ public class GameViewModel extends AndroidViewModel {
         if (curCoins == null || curCoins < amount) {
             throw new IllegalArgumentException("coin error");
         }
+        slip.setValue(currentSlip().withBet(new Bet(horseNumber, amount)));
+        return true;
+    }
 
-        List<Bet> currentBets = bets.getValue();
-        if (currentBets == null) currentBets = new ArrayList<>();
+    /**
+     * Adds an exacta, quinella or trifecta bet. Horses already backed to win may be named;
+     * the same combination twice may not.
+     */
+    public boolean addExoticBet(int kind, int[] horseNumbers, int amount) throws IllegalArgumentException {
+        if (kind == BetKind.WIN) throw new IllegalArgumentException("not an exotic bet");
+        Integer curCoins = coins.getValue();
+        if (curCoins == null || curCoins < amount) {
+            throw new IllegalArgumentException("coin error");
+        }
+        Bet exotic = new Bet(kind, horseNumbers, amount);
+        int rank = BetKind.rank(kind, fieldSize, exotic.getLanes());
 
-        if (!isPicked(horseNumber)) {
-            currentBets.add(new Bet(horseNumber, amount));
-            bets.setValue(currentBets);
-            markPicked(horseNumber);
-            return true;
+        BetSlip current = currentSlip();
+        for (Bet bet : current.getBets()) {
+            if (bet.getKind() == kind && BetKind.rank(kind, fieldSize, bet.getLanes()) == rank) {
+                throw new IllegalArgumentException("pick error");
+            }
         }
-        throw new IllegalArgumentException("pick error");
+        slip.setValue(current.withBet(exotic));
+        return true;
     }
 
     public void removeBet(int index) {
-        List<Bet> currentBets = bets.getValue();
-        Bet removedBet = null;
-
-        if (currentBets != null && index >= 0 && index < currentBets.size()) {
-            removedBet = currentBets.remove(index);
-            bets.setValue(currentBets);
-        }
-
-        Map<Integer, Boolean> pickedMap = picked.getValue();
-        if (pickedMap != null && removedBet != null) {
-            Map<Integer, Boolean> newMap = new HashMap<>(pickedMap);
-            newMap.put(removedBet.getHorseNumber(), false);
-            picked.setValue(newMap);
-        }
+        BetSlip current = currentSlip();
+        BetSlip updated = current.without(index);
+        if (updated != current) slip.setValue(updated);
     }
 
     public int getTotalStake() {
-        List<Bet> currentBets = bets.getValue();
-        if (currentBets == null) return 0;
-        int total = 0;
-        for (Bet bet : currentBets) total += bet.getAmount();
-        return total;
+        return currentSlip().getTotalStake();
     }
 
     public boolean canStartRace() {
-        List<Bet> currentBets = bets.getValue();
         Integer curCoins = coins.getValue();
-        return currentBets != null
-                && !currentBets.isEmpty()
-                && getTotalStake() <= (curCoins != null ? curCoins : 0);
+        return currentSlip().canStart(curCoins != null ? curCoins : 0);
     }
 
     // -------------------- Race management --------------------
     public void startRace() {
-        if (!canStartRace()) return;
+        if (!prepareRace()) return;
+
+        // Start countdown
+        gameState.setValue(STATE_COUNTDOWN);
+        startCountdown();
+    }
+
+    /**
+     * Runs the race to the end at once and settles it, skipping the countdown and playback.
+     * It uses the same engine, seeding and tick sequence as {@link #startRace()}, so outcomes
+     * are identical; with {@code keepTrace} the trace is saved for watching later.
+     * The race runs on the sim thread (large fields take a while); the result is settled
+     * back on the main thread.
+     */
+    public void startQuickRace(boolean keepTrace) {
+        if (!prepareRace()) return;
+        gameState.setValue(STATE_SIMULATING);
+
+        // Until the result is posted, the engine and trace writer belong to the sim thread
+        final RaceEngine engine = raceEngine;
+        simScheduler.schedule(() -> {
+            do {
+                engine.tick();
+                traceWriter.record(engine);
+            } while (!engine.isDone());
+            traceWriter.finish(engine);
+            if (keepTrace) saveTrace();
+
+            final RaceSnapshot result = RaceSnapshot.of(engine);
+            postToMain(() -> {
+                race.setValue(result);
+                finishRace(result);
+            });
+        }, 0);
+    }
+
+    // Takes the stake and resets the engine for a new race; false unless idle with bets that allow one.
+    private boolean prepareRace() {
+        if (!STATE_IDLE.equals(gameState.getValue()) || !canStartRace()) return false;
 
         // Deduct coins for total stake
         int cur = coins.getValue() != null ? coins.getValue() : 0;
@@ -203,150 +734,196 @@ public class GameViewModel extends AndroidViewModel {
         coins.setValue(newCoins);
         sharedPreferences.edit().putInt(KEY_COINS, newCoins).apply();
 
-        // Reset horses & picked map
-        initializeHorses();
+        closePool(currentSlip().getBets());
 
-        // Reset boosted-horse flags for this race
-        boostedHorseNumber = null;
-        burstActivated = false;
+        // Reset horses
+        initializeHorses();
 
-        // Start countdown
-        gameState.setValue(STATE_COUNTDOWN);
-        startCountdown();
+        // Fresh seed per race; the engine owns the rules (boost, burst, finish)
+        raceSeed = random.nextLong();
+        raceSequence = sharedPreferences.getLong(KEY_RACE_SEQUENCE, 0) + 1;
+        sharedPreferences.edit().putLong(KEY_RACE_SEQUENCE, raceSequence).apply();
+        raceEngine.reset(raceSeed);
+        traceWriter.begin(raceEngine);
+        race.setValue(RaceSnapshot.of(raceEngine));
+        return true;
     }
 
     private void startCountdown() {
-        performCountdown(COUNTDOWN_START);
+        performCountdown(ruleSet.getCountdownSeconds());
     }
 
     private void performCountdown(int currentCount) {
         if (currentCount > 0) {
             countdown.setValue(currentCount);
-            handler.postDelayed(() -> performCountdown(currentCount - 1), 1000);
+            afterGameDelay(() -> performCountdown(currentCount - 1), 1000);
         } else {
             countdown.setValue(0); // "Go!"
-            handler.postDelayed(() -> {
+            afterGameDelay(() -> {
                 gameState.setValue(STATE_RUNNING);
                 runRace();
             }, 1000);
         }
     }
 
-    private void runRace() {
-        simulateRace();
+    // Waits on the game clock, then runs the task on the main thread
+    private void afterGameDelay(Runnable task, long delayMs) {
+        gameClock.schedule(() -> postToMain(task), delayMs);
     }
 
-    private void simulateRace() {
-        final List<Horse> raceHorses = horses.getValue();
-        if (raceHorses == null || raceHorses.isEmpty()) return;
-
-        chooseBoostedHorseOnce(raceHorses);
-
-        Runnable raceAnimation = new Runnable() {
-            @Override
-            public void run() {
-                int unfinished = 0;
-
-                for (Horse horse : raceHorses) {
-                    if (horse.isFinished()) continue;
+    // From here until the race is done, the engine and trace writer belong to the sim thread;
+    // the UI only sees immutable snapshots, conflated to the latest one.
+    private void runRace() {
+        raceLoop = new RaceLoop(raceEngine, gameClock, ruleSet.getTickMs(),
+                this::onSimTick, this::postToMain, this::onRaceSnapshot);
+        raceLoop.setSpeed(getCurrentPlaybackSpeed());
+        raceLoop.start();
+    }
 
-                    advanceHorse(horse);
-                    if (horse.getPosition() >= FINISH_PERCENT) {
-                        horse.setFinished(true);
-                    } else {
-                        unfinished++;
-                    }
-                }
+    // -------------------- Foreground / background --------------------
+    /**
+     * Stops the game clock, so a countdown or race in progress stops waking the CPU. With
+     * {@link #isFinishInBackground()} a running race is instead played out at once on the
+     * sim thread and settled.
+     */
+    public void onAppBackground() {
+        gameClock.pause();
+        final RaceLoop loop = raceLoop;
+        if (finishInBackground && loop != null && STATE_RUNNING.equals(gameState.getValue())) {
+            simScheduler.schedule(loop::runToEnd, 0);
+        }
+    }
 
-                // notify observers with a fresh list
-                horses.setValue(new ArrayList<>(raceHorses));
+    /** Restarts the game clock exactly where it stopped. */
+    public void onAppForeground() {
+        if (!gameClock.isPaused()) return;
+        gameClock.resume();
+    }
 
-                if (isRaceDone(unfinished)) {
-                    finishRace();
-                    boostedHorseNumber = null;
-                    burstActivated = false;
-                } else {
-                    handler.postDelayed(this, RACE_TICK_MS);
-                }
-            }
-        };
+    public boolean isFinishInBackground() { return finishInBackground; }
 
-        handler.post(raceAnimation);
+    /** Whether leaving the app finishes a running race headlessly rather than pausing it. */
+    public void setFinishInBackground(boolean enabled) {
+        finishInBackground = enabled;
+        sharedPreferences.edit().putBoolean(KEY_FINISH_IN_BACKGROUND, enabled).apply();
     }
 
-    private void chooseBoostedHorseOnce(List<Horse> raceHorses) {
-        if (boostedHorseNumber == null && !raceHorses.isEmpty()) {
-            Horse chosen = raceHorses.get(random.nextInt(raceHorses.size()));
-            boostedHorseNumber = chosen.getNumber();
-            burstActivated = false;
+    // -------------------- Playback speed --------------------
+    /** Switches to the next speed in {@link #PLAYBACK_SPEEDS}; applies to a running race at once. */
+    public void cyclePlaybackSpeed() {
+        int current = getCurrentPlaybackSpeed();
+        int next = PLAYBACK_SPEEDS[0];
+        for (int i = 0; i < PLAYBACK_SPEEDS.length - 1; i++) {
+            if (PLAYBACK_SPEEDS[i] == current) next = PLAYBACK_SPEEDS[i + 1];
         }
+        playbackSpeed.setValue(next);
+        if (raceLoop != null) raceLoop.setSpeed(next);
     }
 
-    private void advanceHorse(Horse horse) {
-        final int number = horse.getNumber();
-        float movement;
+    private int getCurrentPlaybackSpeed() {
+        Integer speed = playbackSpeed.getValue();
+        return speed != null ? speed : PLAYBACK_SPEEDS[0];
+    }
 
-        if (boostedHorseNumber != null && number == boostedHorseNumber) {
-            if (!burstActivated && horse.getPosition() >= BURST_TRIGGER_PERCENT) {
-                burstActivated = true;
-            }
-            if (burstActivated) {
-                movement = randRange(BOOST_ACTIVE_MIN, BOOST_ACTIVE_MAX);
-            } else {
-                movement = randRange(BOOST_PRE_MIN, BOOST_PRE_MAX);
-            }
-        } else {
-            movement = randRange(NORMAL_MIN, NORMAL_MAX);
+    // Sim thread
+    private void onSimTick(RaceEngine engine) {
+        traceWriter.record(engine);
+        if (engine.isDone()) {
+            traceWriter.finish(engine);
+            saveTrace();
         }
-
-        horse.move(movement);
     }
 
-    private boolean isRaceDone(int unfinished) {
-        // finish when 0 or 1 horses remain unfinished (your original rule)
-        return unfinished <= 1;
+    private void postToMain(Runnable task) {
+        mainScheduler.schedule(task, 0);
     }
 
-    private float randRange(float min, float max) {
-        return min + random.nextFloat() * (max - min);
+    // Main thread
+    private void onRaceSnapshot(RaceSnapshot snapshot) {
+        if (!STATE_RUNNING.equals(gameState.getValue())) return;
+        race.setValue(snapshot);
+        if (snapshot.isDone()) finishRace(snapshot);
     }
 
-    private void finishRace() {
+    private void finishRace(RaceView result) {
         List<Horse> raceHorses = horses.getValue();
         if (raceHorses == null) return;
 
-        // Sort by position desc to get finish order
-        List<Horse> sorted = new ArrayList<>(raceHorses);
-        Collections.sort(sorted, (h1, h2) -> Float.compare(h2.getPosition(), h1.getPosition()));
-
-        List<Integer> finishOrder = new ArrayList<>(sorted.size());
-        for (int i = 0; i < sorted.size(); i++) {
-            sorted.get(i).setFinishPosition(i + 1);
-            finishOrder.add(sorted.get(i).getNumber());
+        int[] laneOrder = new int[result.getHorseCount()];
+        int[] finishOrder = new int[laneOrder.length];
+        for (int rank = 0; rank < finishOrder.length; rank++) {
+            laneOrder[rank] = result.getLaneAtRank(rank);
+            finishOrder[rank] = laneOrder[rank] + 1;
         }
 
-        // push updated horses (positions/finishPos)
+        // Copy final lane state onto the horses once, for the result screen
+        for (Horse horse : raceHorses) {
+            int lane = horse.getNumber() - 1;
+            horse.setPosition(result.getPosition(lane));
+            horse.setFinished(result.isFinished(lane));
+        }
+        for (int rank = 0; rank < finishOrder.length; rank++) {
+            raceHorses.get(finishOrder[rank] - 1).setFinishPosition(rank + 1);
+        }
         horses.setValue(new ArrayList<>(raceHorses));
 
-        calculateWinnings(finishOrder);
+        calculateWinnings(laneOrder, finishOrder);
+        recordFeaturedRace(result);
         gameState.setValue(STATE_RESULT);
     }
 
-    private void calculateWinnings(List<Integer> finishOrder) {
-        List<Bet> currentBets = bets.getValue();
-        if (currentBets == null) return;
+    // Copies the finished trace (a few KB) and hands the file write to the trace executor.
+    private void saveTrace() {
+        ByteBuffer trace = traceWriter.asReadOnlyBuffer();
+        final byte[] bytes = new byte[trace.remaining()];
+        trace.get(bytes);
+        final File dir = new File(getApplication().getFilesDir(), TRACE_DIR);
+        // Zero-padded, so name order is race order; the seed alone could repeat
+        final File file = new File(dir, String.format(Locale.ROOT, "trace-%012d-%016x.hrt", raceSequence, raceSeed));
+
+        executors.trace.execute(() -> {
+            if (!dir.isDirectory() && !dir.mkdirs()) return;
+            // Never overwrite: an existing file means something else owns that name
+            try (OutputStream out = Files.newOutputStream(file.toPath(), StandardOpenOption.CREATE_NEW)) {
+                out.write(bytes);
+            } catch (IOException e) {
+                Log.w(TAG, "Could not save race trace", e);
+                return;
+            }
+            pruneTraces(dir);
+            lastTrace.postValue(file);
+        });
+    }
 
-        int totalWinnings = 0;
-        int totalLosses = 0;
+    private static void pruneTraces(File dir) {
+        File[] files = dir.listFiles();
+        if (files == null || files.length <= MAX_STORED_TRACES) return;
+        // names carry the race sequence, so name order is age order; older
+        // race-<millis> files sort before every trace- file and go first
+        Arrays.sort(files);
+        for (int i = 0; i < files.length - MAX_STORED_TRACES; i++) {
+            if (!files[i].delete()) Log.w(TAG, "Could not delete " + files[i]);
+        }
+    }
 
-        for (Bet bet : currentBets) {
-            totalLosses += bet.getAmount();
-            int horsePosition = finishOrder.indexOf(bet.getHorseNumber()) + 1; // 1-based
-            double multiplier = getMultiplierForPosition(horsePosition);
-            if (multiplier > 0) {
-                totalWinnings += (int) (bet.getAmount() * multiplier);
-            }
+
+    // laneOrder settles the bets; finishOrder (horse numbers) is what the result screen shows
+    private void calculateWinnings(int[] laneOrder, int[] finishOrder) {
+        slipBets.clear();
+        for (Bet bet : currentSlip().getBets()) {
+            slipBets.add(0, bet.getKind(), BetKind.rank(bet.getKind(), fieldSize, bet.getLanes()), bet.getAmount());
+        }
+        settlementEngine.setResult(laneOrder);
+        if (closedPoolOdds != null) {
+            int[] rates = new int[laneOrder.length];
+            closedPoolOdds.payoutRates(laneOrder[0], rates);
+            settlementEngine.setWinRates(rates);
+            for (int kind = BetKind.EXACTA; kind < BetKind.COUNT; kind++) exoticPools[kind].applyDividend(settlementEngine);
+            closedPoolOdds = null;
         }
+        settlementEngine.settle(slipBets, settlement);
+        int totalWinnings = (int) settlement.getTotalPaid();
+        int totalLosses = (int) settlement.getTotalStaked();
 
         int netChange = totalWinnings - totalLosses;
 
@@ -361,25 +938,16 @@ public class GameViewModel extends AndroidViewModel {
         raceResult.setValue(result);
     }
 
-    private double getMultiplierForPosition(int position) {
-        switch (position) {
-            case 1:  return FIRST_PLACE_MULTIPLIER;
-            case 2:  return SECOND_PLACE_MULTIPLIER;
-            case 3:  return THIRD_PLACE_MULTIPLIER;
-            case 4:  return FOURTH_PLACE_MULTIPLIER;
-            default: return 0.0;
-        }
-    }
-
     // -------------------- Resets --------------------
     public void resetGame() {
         username.setValue("");
         coins.setValue(INITIAL_COINS);
         firstRun.setValue(true);
-        bets.setValue(new ArrayList<>());
+        slip.setValue(BetSlip.EMPTY);
         initializeHorses();
         gameState.setValue(STATE_IDLE);
         raceResult.setValue(null);
+        openPool();
 
         sharedPreferences.edit()
                 .putString(KEY_USERNAME, "")
@@ -389,19 +957,25 @@ public class GameViewModel extends AndroidViewModel {
     }
 
     public void clearBets() {
-        bets.setValue(new ArrayList<>());
-        // Also clear picked flags
-        Map<Integer, Boolean> pm = picked.getValue();
-        if (pm != null) {
-            Map<Integer, Boolean> reset = new HashMap<>(pm.size());
-            for (Integer k : pm.keySet()) reset.put(k, false);
-            picked.setValue(reset);
-        }
+        slip.setValue(BetSlip.EMPTY);
     }
 
     public void returnToMainMenu() {
         clearBets();
         initializeHorses();
         gameState.setValue(STATE_IDLE);
+        openPool();
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        if (mainScheduler instanceof HandlerScheduler) {
+            ((HandlerScheduler) mainScheduler).getHandler().removeCallbacksAndMessages(null);
+        }
+        if (raceLoop != null) raceLoop.stop();
+        if (simScheduler instanceof ExecutorScheduler) ((ExecutorScheduler) simScheduler).shutdown();
+        if (seasonRunner != null) seasonRunner.cancel();
+        executors.shutdown();
     }
 }
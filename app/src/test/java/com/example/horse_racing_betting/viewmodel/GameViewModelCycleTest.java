@@ -0,0 +1,88 @@
+package com.example.horse_racing_betting.viewmodel;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+
+import com.example.horse_racing_betting.engine.loop.VirtualScheduler;
+import com.example.horse_racing_betting.model.RaceResult;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class GameViewModelCycleTest {
+
+    private static final int CYCLES = 2_000;
+    private static final int STAKE = 10;
+
+    @Rule public final InstantTaskExecutorRule liveDataOnCallingThread = new InstantTaskExecutorRule();
+    @Rule public final TemporaryFolder files = new TemporaryFolder();
+
+    @Test
+    public void fullCycles_settleEveryRaceAndPersistTheBalance_inVirtualTime() {
+        TestApplication app = new TestApplication(files.getRoot());
+        VirtualScheduler scheduler = new VirtualScheduler();
+        // odds, traces and crowd run through the scheduler too: no other thread posts LiveData
+        GameViewModel vm = new GameViewModel(app, scheduler, scheduler,
+                GameExecutors.on(scheduler, ForkJoinPool.commonPool()));
+        long started = System.nanoTime();
+
+        int races = 0;
+        Set<File> traces = new HashSet<>();
+        for (int cycle = 0; cycle < CYCLES; cycle++) {
+            int before = vm.getCoins().getValue();
+            if (before < STAKE) {
+                vm.resetGame();
+                continue;
+            }
+            vm.addBet(1 + cycle % vm.getFieldSize(), STAKE);
+            vm.startRace();
+            assertEquals(GameViewModel.STATE_COUNTDOWN, vm.getGameState().getValue());
+
+            scheduler.runUntilIdle();
+
+            assertEquals(GameViewModel.STATE_RESULT, vm.getGameState().getValue());
+            assertTrue(vm.getRace().getValue().isDone());
+            RaceResult result = vm.getRaceResult().getValue();
+            int after = vm.getCoins().getValue();
+            assertEquals(before - STAKE + result.getTotalWinnings(), after);
+            assertEquals(after, result.getNewBalance());
+            assertEquals(after, app.getPreferences().getInt("coins", -1));
+            traces.add(vm.getLastTrace().getValue());
+            vm.returnToMainMenu();
+            races++;
+        }
+
+        assertTrue(races > CYCLES / 2);
+        assertEquals(races, traces.size());   // races finishing in the same millisecond keep their own trace
+        // every race waited its countdown and ticks, but only in virtual time
+        assertTrue(scheduler.nowMillis() > races * 20_000L);
+        assertTrue(System.nanoTime() - started < 60_000_000_000L);
+    }
+
+    @Test
+    public void quickRace_runsOnTheSimScheduler_andIgnoresStartsUntilSettled() {
+        TestApplication app = new TestApplication(files.getRoot());
+        VirtualScheduler scheduler = new VirtualScheduler();
+        GameViewModel vm = new GameViewModel(app, scheduler, scheduler,
+                GameExecutors.on(scheduler, ForkJoinPool.commonPool()));
+        int before = vm.getCoins().getValue();
+        vm.addBet(1, STAKE);
+
+        vm.startQuickRace(false);
+        assertEquals(GameViewModel.STATE_SIMULATING, vm.getGameState().getValue());
+        vm.startQuickRace(false);
+        vm.startRace();
+        assertEquals(before - STAKE, (int) vm.getCoins().getValue());   // staked once
+
+        scheduler.runUntilIdle();
+        assertEquals(GameViewModel.STATE_RESULT, vm.getGameState().getValue());
+        assertEquals(before - STAKE + vm.getRaceResult().getValue().getTotalWinnings(), (int) vm.getCoins().getValue());
+    }
+}
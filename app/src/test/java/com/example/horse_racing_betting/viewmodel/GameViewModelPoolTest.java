@@ -0,0 +1,46 @@
+package com.example.horse_racing_betting.viewmodel;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+
+import com.example.horse_racing_betting.engine.loop.VirtualScheduler;
+import com.example.horse_racing_betting.engine.odds.OddsTable;
+import com.example.horse_racing_betting.engine.settle.PoolOdds;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class GameViewModelPoolTest {
+
+    @Rule public final InstantTaskExecutorRule liveDataOnCallingThread = new InstantTaskExecutorRule();
+    @Rule public final TemporaryFolder files = new TemporaryFolder();
+
+    @Test
+    public void crowd_betsByTheNewEstimate_afterAFieldSizeChange() {
+        VirtualScheduler scheduler = new VirtualScheduler();
+        GameViewModel vm = new GameViewModel(new TestApplication(files.getRoot()), scheduler, scheduler,
+                GameExecutors.on(scheduler, ForkJoinPool.commonPool()));
+        vm.setPariMutuel(true);
+        scheduler.runUntilIdle();
+        assertSame(vm.getOdds().getValue(), vm.getCrowdEstimate());
+
+        vm.setFieldSize(8);
+        // the pool is open for the player, but the crowd waits for the 8-horse estimate
+        assertNull(vm.getOdds().getValue());
+        assertNull(vm.getCrowdEstimate());
+        assertEquals(0, vm.getPoolOdds().getValue().getPool());
+
+        scheduler.runUntilIdle();
+        OddsTable estimate = vm.getOdds().getValue();
+        assertNotNull(estimate);
+        assertEquals(8, estimate.getHorseCount());
+        assertSame(estimate, vm.getCrowdEstimate());
+        PoolOdds pool = vm.getPoolOdds().getValue();
+        assertEquals(8, pool.getHorseCount());
+        assertTrue(pool.getPool() > 0);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.horse_racing_betting.viewmodel;
+
+import android.app.Application;
+import android.content.SharedPreferences;
+import android.content.res.Resources;
+
+import com.example.horse_racing_betting.R;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+
+/**
+ * Just enough Application for GameViewModel on a plain JVM (android.jar stubs returning
+ * default values): in-memory preferences, a files dir, and raw resources read from source.
+ */
+final class TestApplication extends Application {
+
+    private final InMemoryPreferences preferences = new InMemoryPreferences();
+    private final File filesDir;
+    private final Resources resources;
+
+    TestApplication(File filesDir) {
+        this.filesDir = filesDir;
+        this.resources = new Resources(null, null, null) {
+            @Override
+            public InputStream openRawResource(int id) {
+                String name = id == R.raw.rules_sprint ? "rules_sprint.properties"
+                        : id == R.raw.rules_endurance ? "rules_endurance.properties"
+                        : null;
+                if (name == null) throw new Resources.NotFoundException("raw " + id);
+                try {
+                    // unit tests run from the module directory
+                    return new FileInputStream(new File("src/main/res/raw", name));
+                } catch (FileNotFoundException e) {
+                    throw new Resources.NotFoundException(e.getMessage());
+                }
+            }
+        };
+    }
+
+    InMemoryPreferences getPreferences() { return preferences; }
+
+    @Override public SharedPreferences getSharedPreferences(String name, int mode) { return preferences; }
+    @Override public File getFilesDir() { return filesDir; }
+    @Override public Resources getResources() { return resources; }
+}
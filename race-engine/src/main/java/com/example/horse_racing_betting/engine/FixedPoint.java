@@ -0,0 +1,33 @@
+package com.example.horse_racing_betting.engine;
+
+/**
+ * Track positions in fixed point: 1/65536 of a percent in an {@code int}.
+ *
+ * The engine moves horses and checks the burst and finish lines with integer math only,
+ * so a seed replays to the same positions and finish order on every JVM and device,
+ * independent of float rounding. A full 100% track is 6,553,600 units, far from overflow.
+ */
+public final class FixedPoint {
+
+    public static final int SHIFT = 16;
+    public static final int UNITS_PER_PERCENT = 1 << SHIFT;
+
+    private static final float PERCENT_PER_UNIT = 1f / UNITS_PER_PERCENT;
+
+    private FixedPoint() { }
+
+    /** Nearest fixed-point value to {@code percent}; exact for the rule values in use. */
+    public static int fromPercent(float percent) {
+        return Math.round(percent * UNITS_PER_PERCENT);
+    }
+
+    /** Percent for display; exact for any position on the track. */
+    public static float toPercent(int fixed) {
+        return fixed * PERCENT_PER_UNIT;
+    }
+
+    /** {@code min + u * span} for a 24-bit uniform {@code u24}, rounded down. */
+    public static int lerp24(int min, int span, int u24) {
+        return min + (int) ((u24 * (long) span) >>> 24);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.horse_racing_betting.engine;
+
+import com.example.horse_racing_betting.engine.rng.RaceRandom;
+
+/**
+ * Attributes of one horse, each in [0, 1] with 0.5 for an average horse: acceleration
+ * (how fast it gets up to speed), top speed (its pace once running) and stamina (how
+ * late in the race it starts to tire).
+ *
+ * Together they shape a speed curve over race progress, {@link #speedFactor}. The curve
+ * uses {@code StrictMath.exp}/{@code pow}, so every JVM and ART samples the same table and
+ * replays stay bit-exact. It is only evaluated when an engine takes the profile
+ * ({@link RaceEngine#setProfiles}), which samples it into a lookup table by track
+ * position; a tick then costs one table read per horse however many attributes there are.
+ */
+public final class HorseProfile {
+
+    public static final HorseProfile AVERAGE = new HorseProfile(0.5f, 0.5f, 0.5f);
+
+    private final float acceleration;
+    private final float topSpeed;
+    private final float stamina;
+
+    public HorseProfile(float acceleration, float topSpeed, float stamina) {
+        if (!inUnitRange(acceleration) || !inUnitRange(topSpeed) || !inUnitRange(stamina)) {
+            throw new IllegalArgumentException("attributes must be in [0, 1]");
+        }
+        this.acceleration = acceleration;
+        this.topSpeed = topSpeed;
+        this.stamina = stamina;
+    }
+
+    /** A reproducible random profile; the same seed always gives the same horse. */
+    public static HorseProfile random(long seed) {
+        RaceRandom random = new RaceRandom(seed);
+        return new HorseProfile(random.nextFloat(), random.nextFloat(), random.nextFloat());
+    }
+
+    private static boolean inUnitRange(float v) {
+        return v >= 0f && v <= 1f;
+    }
+
+    public float getAcceleration() { return acceleration; }
+    public float getTopSpeed() { return topSpeed; }
+    public float getStamina() { return stamina; }
+
+    /**
+     * Speed multiplier at {@code progress} through the race (0 = start, 1 = finish line).
+     * Not for per-tick use; engines sample it once into a table.
+     */
+    public double speedFactor(double progress) {
+        double x = Math.min(Math.max(progress, 0.0), 1.0);
+        // 0.9x .. 1.1x once up to speed
+        double pace = 0.9 + 0.2 * topSpeed;
+        // slow starters give up to 40% at the gate, quick ones 10%, fading over the first stretch
+        double ramp = 1.0 - (0.4 - 0.3 * acceleration) * StrictMath.exp(-x / 0.08);
+        // tiring sets in from 40% (no stamina) to 90% (full stamina) of the race, down to 0.75x
+        double tireFrom = 0.4 + 0.5 * stamina;
+        double fade = x <= tireFrom ? 1.0 : 1.0 - 0.25 * StrictMath.pow((x - tireFrom) / (1.0 - tireFrom), 1.5);
+        return pace * ramp * fade;
+    }
+}
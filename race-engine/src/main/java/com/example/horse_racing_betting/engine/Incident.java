@@ -0,0 +1,50 @@
+package com.example.horse_racing_betting.engine;
+
+/**
+ * Something that happened to a horse during a race, for audio and commentary.
+ * The engine reports incidents as primitives through {@link Listener}; this class is
+ * the value form for code that wants to keep or post one.
+ */
+public final class Incident {
+
+    /** The boosted horse's burst (position-triggered, always on). */
+    public static final int BURST = 1;
+    /** Horse loses most of its speed for a few ticks. */
+    public static final int STUMBLE = 2;
+    /** Horse runs faster for a while. */
+    public static final int SECOND_WIND = 3;
+    /** Strong late acceleration; only fires in the last part of the race. */
+    public static final int LATE_SURGE = 4;
+    /** Horse bumps a neighbour running alongside; both lose speed briefly. */
+    public static final int BUMP = 5;
+
+    /** Receives incidents on the thread that ticks the engine. */
+    public interface Listener {
+        void onIncident(int tick, int type, int lane);
+    }
+
+    private final int tick;
+    private final int type;
+    private final int lane;
+
+    public Incident(int tick, int type, int lane) {
+        this.tick = tick;
+        this.type = type;
+        this.lane = lane;
+    }
+
+    public int getTick() { return tick; }
+    public int getType() { return type; }
+    public int getLane() { return lane; }
+
+    public static String describe(int type) {
+        switch (type) {
+            case BURST:       return "bursts clear";
+            case STUMBLE:     return "stumbles";
+            case SECOND_WIND: return "finds a second wind";
+            case LATE_SURGE:  return "surges late";
+            case BUMP:        return "bumps a neighbour";
+            default:          return "incident " + type;
+        }
+    }
+}
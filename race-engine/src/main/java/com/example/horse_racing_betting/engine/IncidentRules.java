@@ -0,0 +1,54 @@
+package com.example.horse_racing_betting.engine;
+
+/**
+ * Optional random incidents on top of {@link RaceRules}.
+ *
+ * Each incident type recurs per horse with a sampled (exponential) gap whose mean is
+ * given in ticks; 0 disables the type. The engine keeps the next occurrence of every
+ * type and horse on one timeline, so its cost follows the number of incidents rather
+ * than ticks x horses. Effect strengths are fixed below, speed factors in 1/256ths.
+ */
+public final class IncidentRules {
+
+    /** A few incidents per horse per race at the default pace (~250 ticks). */
+    public static final IncidentRules DEFAULT = new IncidentRules(400f, 300f, 150f, 250f);
+
+    static final int STUMBLE_SCALE = 64,      STUMBLE_TICKS = 3;
+    static final int SECOND_WIND_SCALE = 320, SECOND_WIND_TICKS = 15;
+    static final int LATE_SURGE_SCALE = 384,  LATE_SURGE_TICKS = 10;
+    static final float LATE_SURGE_FROM_PERCENT = 70f;
+    static final int BUMP_SCALE = 128,        BUMP_TICKS = 2;
+    static final float BUMP_RANGE_PERCENT = 0.5f;
+
+    private final float stumbleMeanTicks;
+    private final float secondWindMeanTicks;
+    private final float lateSurgeMeanTicks;
+    private final float bumpMeanTicks;
+
+    public IncidentRules(float stumbleMeanTicks, float secondWindMeanTicks,
+                         float lateSurgeMeanTicks, float bumpMeanTicks) {
+        if (stumbleMeanTicks < 0f || secondWindMeanTicks < 0f || lateSurgeMeanTicks < 0f || bumpMeanTicks < 0f) {
+            throw new IllegalArgumentException("mean ticks must be >= 0");
+        }
+        this.stumbleMeanTicks = stumbleMeanTicks;
+        this.secondWindMeanTicks = secondWindMeanTicks;
+        this.lateSurgeMeanTicks = lateSurgeMeanTicks;
+        this.bumpMeanTicks = bumpMeanTicks;
+    }
+
+    public float getStumbleMeanTicks() { return stumbleMeanTicks; }
+    public float getSecondWindMeanTicks() { return secondWindMeanTicks; }
+    public float getLateSurgeMeanTicks() { return lateSurgeMeanTicks; }
+    public float getBumpMeanTicks() { return bumpMeanTicks; }
+
+    /** Mean gap for an {@link Incident} type, 0 when the type is off or not scheduled. */
+    public float getMeanTicks(int type) {
+        switch (type) {
+            case Incident.STUMBLE:     return stumbleMeanTicks;
+            case Incident.SECOND_WIND: return secondWindMeanTicks;
+            case Incident.LATE_SURGE:  return lateSurgeMeanTicks;
+            case Incident.BUMP:        return bumpMeanTicks;
+            default:                   return 0f;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.horse_racing_betting.engine;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of primitive longs; grows by doubling and never boxes.
+ * Callers pack their ordering key into the high bits.
+ */
+final class LongHeap {
+
+    private long[] heap;
+    private int size;
+
+    LongHeap(int initialCapacity) {
+        heap = new long[Math.max(initialCapacity, 4)];
+    }
+
+    boolean isEmpty() { return size == 0; }
+    int size() { return size; }
+    void clear() { size = 0; }
+
+    long peek() {
+        if (size == 0) throw new IllegalStateException("empty heap");
+        return heap[0];
+    }
+
+    void add(long value) {
+        if (size == heap.length) heap = Arrays.copyOf(heap, size * 2);
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= value) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    long poll() {
+        long top = peek();
+        long last = heap[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (last <= heap[child]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.horse_racing_betting.engine;
+
+/**
+ * Optional pack interaction on top of {@link RaceRules}: drafting and blocking.
+ *
+ * A horse running close behind another gets a small speed bonus (drafting); a horse
+ * with a crowd just ahead of it is slowed down (blocked). Both look only at horses
+ * ahead on the track, which the engine answers with one sweep over its live standings,
+ * so the cost per tick stays linear in the field size.
+ * Distances are in percent of the track, speeds in percent per tick.
+ */
+public final class PackPhysics {
+
+    /** Moderate drafting and blocking, tuned for 8-64 horse fields. */
+    public static final PackPhysics DEFAULT = new PackPhysics(1.5f, 0.08f, 1.0f, 3, 0.6f);
+
+    private final float draftRange;
+    private final float draftBonus;
+    private final float blockRange;
+    private final int blockPackSize;
+    private final float blockSpeedFactor;
+
+    /**
+     * @param draftRange       gap to the horse directly ahead within which drafting applies
+     * @param draftBonus       speed added while drafting
+     * @param blockRange       how far ahead horses count towards a blocking pack
+     * @param blockPackSize    horses within {@code blockRange} ahead that block
+     * @param blockSpeedFactor speed multiplier while blocked, in (0, 1]
+     */
+    public PackPhysics(float draftRange, float draftBonus,
+                       float blockRange, int blockPackSize, float blockSpeedFactor) {
+        if (draftRange < 0f || draftBonus < 0f || blockRange < 0f) {
+            throw new IllegalArgumentException("ranges and bonus must be >= 0");
+        }
+        if (blockPackSize < 1) throw new IllegalArgumentException("blockPackSize must be >= 1");
+        if (blockSpeedFactor <= 0f || blockSpeedFactor > 1f) {
+            throw new IllegalArgumentException("blockSpeedFactor must be in (0, 1]");
+        }
+        this.draftRange = draftRange;
+        this.draftBonus = draftBonus;
+        this.blockRange = blockRange;
+        this.blockPackSize = blockPackSize;
+        this.blockSpeedFactor = blockSpeedFactor;
+    }
+
+    public float getDraftRange() { return draftRange; }
+    public float getDraftBonus() { return draftBonus; }
+    public float getBlockRange() { return blockRange; }
+    public int getBlockPackSize() { return blockPackSize; }
+    public float getBlockSpeedFactor() { return blockSpeedFactor; }
+}
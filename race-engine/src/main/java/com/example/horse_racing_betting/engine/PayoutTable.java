@@ -0,0 +1,73 @@
+package com.example.horse_racing_betting.engine;
+
+/**
+ * Payout multiplier per finishing position, sized to the field.
+ * Positions are 1-based, matching how results are shown to the player.
+ * Settlement ({@link #payout}) uses integer thousandths, so it is exact on every device.
+ */
+public final class PayoutTable {
+
+    /** The classic four-horse table: 2.0x / 1.3x / 0.5x / nothing. */
+    private static final double[] CLASSIC = {2.0, 1.3, 0.5, 0.0};
+
+    /** Share of all stakes returned to players when every horse is equally likely to win. */
+    public static final double RETURN_TO_PLAYER = 0.95;
+
+    /** Multipliers are settled in thousandths. */
+    public static final int MILLIS_PER_UNIT = 1000;
+
+    private final double[] multipliers;
+    private final int[] millis;
+
+    public PayoutTable(double[] multipliers) {
+        for (double m : multipliers) {
+            if (m < 0) throw new IllegalArgumentException("negative multiplier");
+        }
+        this.multipliers = multipliers.clone();
+        this.millis = new int[multipliers.length];
+        for (int i = 0; i < multipliers.length; i++) {
+            millis[i] = (int) Math.round(multipliers[i] * MILLIS_PER_UNIT);
+        }
+    }
+
+    /**
+     * Up to four horses use the classic table. Larger fields pay the top quarter
+     * (at least three places) on a linear slope scaled so the table returns
+     * {@link #RETURN_TO_PLAYER} of stakes over a field of equal horses.
+     */
+    public static PayoutTable forFieldSize(int horseCount) {
+        if (horseCount <= 0) throw new IllegalArgumentException("horseCount must be > 0");
+        double[] m = new double[horseCount];
+        if (horseCount <= CLASSIC.length) {
+            System.arraycopy(CLASSIC, 0, m, 0, horseCount);
+            return new PayoutTable(m);
+        }
+
+        int paid = Math.max(3, horseCount / 4);
+        double weightSum = paid * (paid + 1) / 2.0;
+        double scale = RETURN_TO_PLAYER * horseCount / weightSum;
+        for (int i = 0; i < paid; i++) {
+            // round down to 0.1x so the house never pays more than the target
+            m[i] = Math.floor((paid - i) * scale * 10) / 10;
+        }
+        return new PayoutTable(m);
+    }
+
+    public int getPositionCount() { return multipliers.length; }
+
+    /** Multiplier for a 1-based finishing position; 0 for positions outside the table. */
+    public double getMultiplier(int position) {
+        return position >= 1 && position <= multipliers.length ? multipliers[position - 1] : 0.0;
+    }
+
+    /** Multiplier for a 1-based finishing position in thousandths, as settled; 0 outside the table. */
+    public int getMillis(int position) {
+        return position >= 1 && position <= millis.length ? millis[position - 1] : 0;
+    }
+
+    /** Coins returned for {@code stake} on a horse finishing at {@code position}, rounded down. */
+    public int payout(int stake, int position) {
+        if (position < 1 || position > millis.length) return 0;
+        return (int) ((long) stake * millis[position - 1] / MILLIS_PER_UNIT);
+    }
+}
@@ -0,0 +1,489 @@
+package com.example.horse_racing_betting.engine;
+
+import com.example.horse_racing_betting.engine.rng.RaceRandom;
+
+import java.util.Arrays;
+
+/**
+ * Headless, deterministic race simulation.
+ *
+ * One call to {@link #tick()} is one fixed simulation step (the app plays them back
+ * every 100 ms). Given the same seed, rules and field size a race always produces the
+ * same positions and finish order, so the engine can be driven from the UI or run in a
+ * tight loop on a plain JVM.
+ *
+ * Positions are {@link FixedPoint} integers and every rule is applied with integer math,
+ * so replays are bit-exact across JVMs and devices; {@link #getPosition} converts to
+ * percent for display.
+ *
+ * State is kept in primitive arrays that the tick updates in place, so a running race
+ * allocates nothing; the engine itself is the {@link RaceView} handed to the UI.
+ *
+ * Per-tick cost stays close to O(n) in the field size: running horses are walked through
+ * a bitmask, and the live standings are repaired with an insertion sort, which is linear
+ * when (as between two ticks) only a few neighbours swap places. With {@link PackPhysics}
+ * the same standings drive a linear sweep for the neighbour queries drafting and blocking
+ * need, instead of comparing every pair of horses.
+ *
+ * {@link HorseProfile}s give each horse its own speed curve over the race. Curves are
+ * sampled into a per-lane table of speed scales by track position when the profiles are
+ * set, so a tick reads one table entry per horse and never evaluates the curve itself.
+ *
+ * {@link IncidentRules} add stumbles, second winds, late surges and bumps. Their next
+ * occurrences sit on a timeline (a min-heap keyed by tick), so a tick only does work for
+ * incidents due on it; effects expire through the same timeline. Incidents draw from
+ * their own RNG stream, and gaps are sampled with {@link StrictMath}, so they are as
+ * reproducible as movement and do not disturb the movement draws. Each tick draws its random
+ * numbers in one bulk fill, one per running horse in lane order.
+ *
+ * With a {@link RaceEventQueue} attached, the engine also reports lead changes, podium
+ * overtakes, finishes and photo finishes as they happen. They fall out of work the tick
+ * already does: overtakes are the moves of the standings' insertion sort and finishes
+ * are the insertions into the finish order, so detection never re-sorts or rescans the
+ * field.
+ *
+ * Lanes are 0-based; the app's horse numbers are {@code lane + 1}. Not thread-safe.
+ */
+public final class RaceEngine implements RaceView {
+
+    private final int horseCount;
+    private final RaceRules rules;
+
+    // Rules converted to fixed point once, so the tick loop does not chase getters
+    private final int finishLine;
+    private final int burstTriggerLine;
+    private final int normalMin, normalSpan;
+    private final int boostPreMin, boostPreSpan;
+    private final int boostActiveMin, boostActiveSpan;
+
+    // Pack physics in fixed point; packScale is in 1/256ths
+    private final PackPhysics physics;   // null: horses move independently
+    private final int draftRange, draftBonus, blockRange, blockPackSize, blockScale;
+    private final int[] packBonus;
+    private final int[] packScale;
+
+    // Speed curves: 1/256 scales at curves[lane * curveLength + (position >>> curveShift)]
+    private final int curveShift;
+    private final int curveLength;
+    private int[] curves;              // null: every horse runs the plain rules
+
+    // Incident timeline: keys are tick << 32 | type << 16 | lane, earliest first
+    private static final int EFFECT_END = 0; // sorts before incidents due on the same tick
+    private static final long INCIDENT_STREAM = 0x1D5C_7A3BL;
+    private final IncidentRules incidents; // null: only the boost burst
+    private final LongHeap timeline;
+    private final RaceRandom incidentRandom;
+    private final int[] effectScale;       // 1/256ths, 256 when no effect is active
+    private final int[] effectUntil;       // tick at which the active effect ends
+    private final int bumpRange;
+    private final int lateSurgeLine;
+    private Incident.Listener incidentListener;
+
+    // Race events: overtakes are reported into the first PODIUM_PLACES places only
+    private static final int PODIUM_PLACES = 3;
+    private final int photoFinishMargin;
+    private RaceEventQueue events;     // null: nothing is reported
+
+    private final int[] positions;     // FixedPoint units
+    private final long[] runningMask;  // bit per lane still on the track
+    private final int[] finishOrder;   // lanes in finishing order, first finishedCount valid
+    private final int[] finishRank;    // rank per lane, -1 while running
+    private final int[] standings;     // all lanes, leader first
+    private int finishedCount;
+
+    private final RaceRandom random = new RaceRandom(0L);
+    private final int[] uniforms;      // this tick's 24-bit draws, one per running lane
+    private int boostedLane = -1;
+    private boolean burstActivated;
+    private int tickCount;
+    private boolean done;
+
+    public RaceEngine(int horseCount, RaceRules rules) {
+        this(horseCount, rules, null, null);
+    }
+
+    public RaceEngine(int horseCount, RaceRules rules, PackPhysics physics) {
+        this(horseCount, rules, physics, null);
+    }
+
+    /**
+     * Engine with optional pack interaction and incidents; either may be null to leave
+     * horses independent or incident-free.
+     */
+    public RaceEngine(int horseCount, RaceRules rules, PackPhysics physics, IncidentRules incidents) {
+        if (horseCount <= 0) throw new IllegalArgumentException("horseCount must be > 0");
+        this.horseCount = horseCount;
+        this.rules = rules;
+        this.finishLine = FixedPoint.fromPercent(rules.getFinishPercent());
+        this.burstTriggerLine = FixedPoint.fromPercent(rules.getBurstTriggerPercent());
+        this.normalMin = FixedPoint.fromPercent(rules.getNormalMin());
+        this.normalSpan = FixedPoint.fromPercent(rules.getNormalMax()) - normalMin;
+        this.boostPreMin = FixedPoint.fromPercent(rules.getBoostPreMin());
+        this.boostPreSpan = FixedPoint.fromPercent(rules.getBoostPreMax()) - boostPreMin;
+        this.boostActiveMin = FixedPoint.fromPercent(rules.getBoostActiveMin());
+        this.boostActiveSpan = FixedPoint.fromPercent(rules.getBoostActiveMax()) - boostActiveMin;
+        this.physics = physics;
+        this.draftRange = physics != null ? FixedPoint.fromPercent(physics.getDraftRange()) : 0;
+        this.draftBonus = physics != null ? FixedPoint.fromPercent(physics.getDraftBonus()) : 0;
+        this.blockRange = physics != null ? FixedPoint.fromPercent(physics.getBlockRange()) : 0;
+        this.blockPackSize = physics != null ? physics.getBlockPackSize() : 0;
+        this.blockScale = physics != null ? Math.max(1, Math.round(physics.getBlockSpeedFactor() * 256)) : 256;
+        this.packBonus = physics != null ? new int[horseCount] : null;
+        this.packScale = physics != null ? new int[horseCount] : null;
+        // about 128 buckets over the track, cut with a shift rather than a division
+        this.curveShift = Math.max(0, 32 - Integer.numberOfLeadingZeros(finishLine) - 7);
+        this.curveLength = (finishLine >>> curveShift) + 1;
+        this.incidents = incidents;
+        this.timeline = incidents != null ? new LongHeap(horseCount * 6) : null;
+        this.incidentRandom = incidents != null ? new RaceRandom(0L) : null;
+        this.effectScale = incidents != null ? new int[horseCount] : null;
+        this.effectUntil = incidents != null ? new int[horseCount] : null;
+        this.bumpRange = FixedPoint.fromPercent(IncidentRules.BUMP_RANGE_PERCENT);
+        this.lateSurgeLine = FixedPoint.fromPercent(IncidentRules.LATE_SURGE_FROM_PERCENT * rules.getFinishPercent() / 100f);
+        this.photoFinishMargin = FixedPoint.fromPercent(RaceEvent.PHOTO_FINISH_PERCENT);
+        this.positions = new int[horseCount];
+        this.runningMask = new long[(horseCount + 63) >>> 6];
+        this.finishOrder = new int[horseCount];
+        this.finishRank = new int[horseCount];
+        this.standings = new int[horseCount];
+        this.uniforms = new int[horseCount];
+        reset(0L);
+    }
+
+    // -------------------- Lifecycle --------------------
+
+    /** Puts every horse back on the start line and picks this race's boosted horse. */
+    public void reset(long seed) {
+        random.setSeed(seed);
+        Arrays.fill(positions, 0);
+        Arrays.fill(finishRank, -1);
+        Arrays.fill(runningMask, -1L);
+        int tailBits = horseCount & 63;
+        if (tailBits != 0) runningMask[runningMask.length - 1] = (1L << tailBits) - 1;
+        for (int lane = 0; lane < horseCount; lane++) standings[lane] = lane;
+        finishedCount = 0;
+        tickCount = 0;
+        done = false;
+        burstActivated = false;
+        boostedLane = random.nextInt(horseCount);
+        if (incidents != null) scheduleFirstIncidents(seed);
+    }
+
+    /**
+     * Advances every unfinished horse by one step.
+     *
+     * @return true once the race is over (at most one horse still running)
+     */
+    public boolean tick() {
+        if (done) return true;
+
+        final int firstOfTick = finishedCount;
+        int unfinished = 0;
+        random.fillBits24(uniforms, 0, horseCount - finishedCount);
+        int draw = 0;
+        if (physics != null) sweepPack();
+        if (incidents != null) fireIncidents(tickCount + 1);
+
+        for (int word = 0; word < runningMask.length; word++) {
+            long bits = runningMask[word];
+            while (bits != 0) {
+                final int lane = (word << 6) | Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+
+                int step = nextMovement(lane, uniforms[draw++]);
+                if (curves != null) {
+                    step = (step * curves[lane * curveLength + (Math.max(0, positions[lane]) >>> curveShift)]) >> 8;
+                }
+                if (physics != null) step = ((step * packScale[lane]) >> 8) + packBonus[lane];
+                if (incidents != null) step = (step * effectScale[lane]) >> 8;
+                positions[lane] += step;
+                if (positions[lane] >= finishLine) {
+                    runningMask[word] &= ~(1L << lane);
+                    insertFinisher(lane, firstOfTick);
+                } else {
+                    unfinished++;
+                }
+            }
+        }
+        tickCount++;
+        if (events != null) reportFinishes(firstOfTick);
+
+        // finish when 0 or 1 horses remain unfinished
+        if (unfinished <= 1) {
+            appendStragglers();
+            done = true;
+        }
+        updateStandings();
+        return done;
+    }
+
+    /** Runs the race to the end and returns the number of ticks it took. */
+    public int run() {
+        while (!tick()) {
+            // fixed timestep, nothing to wait for
+        }
+        return tickCount;
+    }
+
+    private int nextMovement(int lane, int u24) {
+        if (lane == boostedLane) {
+            if (!burstActivated && positions[lane] >= burstTriggerLine) {
+                burstActivated = true;
+                reportIncident(tickCount + 1, Incident.BURST, lane);
+            }
+            return burstActivated
+                    ? FixedPoint.lerp24(boostActiveMin, boostActiveSpan, u24)
+                    : FixedPoint.lerp24(boostPreMin, boostPreSpan, u24);
+        }
+        return FixedPoint.lerp24(normalMin, normalSpan, u24);
+    }
+
+    // -------------------- Horse profiles --------------------
+
+    /**
+     * Gives every lane its own speed curve, or null to run all horses on the plain rules.
+     * Each curve is sampled once here, at the middle of every position bucket; the tables
+     * are kept across {@link #reset} until profiles are set again.
+     */
+    public void setProfiles(HorseProfile[] profiles) {
+        if (profiles == null) {
+            curves = null;
+            return;
+        }
+        if (profiles.length != horseCount) {
+            throw new IllegalArgumentException("need " + horseCount + " profiles, got " + profiles.length);
+        }
+        final int[] table = new int[horseCount * curveLength];
+        final int halfBucket = (1 << curveShift) >> 1;
+        for (int lane = 0; lane < horseCount; lane++) {
+            for (int b = 0; b < curveLength; b++) {
+                double progress = (double) ((b << curveShift) + halfBucket) / finishLine;
+                table[lane * curveLength + b] = (int) Math.max(1, Math.round(profiles[lane].speedFactor(progress) * 256));
+            }
+        }
+        curves = table;
+    }
+
+    // Sampled speed factor in 1/256 units, for tests pinning the tables
+    int getCurveEntry(int lane, int bucket) {
+        return curves[lane * curveLength + bucket];
+    }
+
+    /*
+     * Neighbour queries for pack physics, on positions from the start of the tick.
+     * Running horses sit in standings after the finishers, furthest first, so the horse
+     * to draft behind is the previous entry, and the horses within blockRange ahead form
+     * a window [ahead, place) whose start only moves forward as the sweep goes back
+     * through the field: O(n) per tick.
+     */
+    private void sweepPack() {
+        int ahead = finishedCount;
+        for (int place = finishedCount; place < horseCount; place++) {
+            final int lane = standings[place];
+            final int pos = positions[lane];
+            while (positions[standings[ahead]] - pos > blockRange) ahead++;
+
+            int bonus = 0;
+            if (place > finishedCount) {
+                final int gap = positions[standings[place - 1]] - pos;
+                if (gap > 0 && gap <= draftRange) bonus = draftBonus;
+            }
+            packBonus[lane] = bonus;
+            packScale[lane] = place - ahead >= blockPackSize ? blockScale : 256;
+        }
+    }
+
+    // -------------------- Incidents --------------------
+
+    private void scheduleFirstIncidents(long seed) {
+        incidentRandom.setSeed(seed ^ INCIDENT_STREAM);
+        timeline.clear();
+        Arrays.fill(effectScale, 256);
+        Arrays.fill(effectUntil, 0);
+        for (int lane = 0; lane < horseCount; lane++) {
+            for (int type = Incident.STUMBLE; type <= Incident.BUMP; type++) {
+                scheduleIncident(type, lane, 0);
+            }
+        }
+    }
+
+    // Exponential gap with the type's mean, at least one tick
+    private void scheduleIncident(int type, int lane, int fromTick) {
+        float mean = incidents.getMeanTicks(type);
+        if (mean <= 0f) return;
+        double u = incidentRandom.nextFloat();
+        int gap = 1 + (int) (-StrictMath.log(1.0 - u) * mean);
+        timeline.add(eventKey(fromTick + gap, type, lane));
+    }
+
+    private static long eventKey(int tick, int type, int lane) {
+        return (long) tick << 32 | (long) type << 16 | lane;
+    }
+
+    // Applies everything due by tick `now`; work is proportional to events, not horses.
+    private void fireIncidents(int now) {
+        while (!timeline.isEmpty() && (int) (timeline.peek() >>> 32) <= now) {
+            final long event = timeline.poll();
+            final int type = (int) (event >>> 16) & 0xFFFF;
+            final int lane = (int) event & 0xFFFF;
+            if (isFinished(lane)) continue; // finished horses drop their timeline entries
+
+            if (type == EFFECT_END) {
+                if (now >= effectUntil[lane]) effectScale[lane] = 256;
+                continue;
+            }
+            if (applyIncident(type, lane, now)) reportIncident(now, type, lane);
+            scheduleIncident(type, lane, now);
+        }
+    }
+
+    private boolean applyIncident(int type, int lane, int now) {
+        switch (type) {
+            case Incident.STUMBLE:
+                startEffect(lane, IncidentRules.STUMBLE_SCALE, IncidentRules.STUMBLE_TICKS, now);
+                return true;
+            case Incident.SECOND_WIND:
+                startEffect(lane, IncidentRules.SECOND_WIND_SCALE, IncidentRules.SECOND_WIND_TICKS, now);
+                return true;
+            case Incident.LATE_SURGE:
+                if (positions[lane] < lateSurgeLine) return false;
+                startEffect(lane, IncidentRules.LATE_SURGE_SCALE, IncidentRules.LATE_SURGE_TICKS, now);
+                return true;
+            case Incident.BUMP:
+                // only a horse running right alongside, in the next lane, can be bumped
+                int other = lane + 1 < horseCount ? lane + 1 : lane - 1;
+                if (other < 0 || isFinished(other) || Math.abs(positions[other] - positions[lane]) > bumpRange) {
+                    return false;
+                }
+                startEffect(lane, IncidentRules.BUMP_SCALE, IncidentRules.BUMP_TICKS, now);
+                startEffect(other, IncidentRules.BUMP_SCALE, IncidentRules.BUMP_TICKS, now);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void startEffect(int lane, int scale, int ticks, int now) {
+        effectScale[lane] = scale;
+        effectUntil[lane] = now + ticks;
+        timeline.add(eventKey(now + ticks, EFFECT_END, lane));
+    }
+
+    // Horses crossing on the same tick are ranked by how far past the line they got.
+    private void insertFinisher(int lane, int firstOfTick) {
+        int i = finishedCount++;
+        while (i > firstOfTick && positions[finishOrder[i - 1]] < positions[lane]) {
+            finishOrder[i] = finishOrder[i - 1];
+            i--;
+        }
+        finishOrder[i] = lane;
+        for (int r = i; r < finishedCount; r++) finishRank[finishOrder[r]] = r;
+    }
+
+    // Horses still on the track when the race ends are ranked by position.
+    private void appendStragglers() {
+        final int firstStraggler = finishedCount;
+        for (int lane = 0; lane < horseCount; lane++) {
+            if (!isFinished(lane)) insertFinisher(lane, firstStraggler);
+        }
+    }
+
+    // Insertion sort: near-linear because standings barely change between ticks.
+    // Each running horse that moves up is an overtake of the horse it lands in front of.
+    private void updateStandings() {
+        for (int i = 1; i < horseCount; i++) {
+            final int lane = standings[i];
+            int j = i;
+            while (j > 0 && isAhead(lane, standings[j - 1])) {
+                standings[j] = standings[j - 1];
+                j--;
+            }
+            standings[j] = lane;
+            if (j < i && j < PODIUM_PLACES && events != null) {
+                events.offer(RaceEvent.pack(j == 0 ? RaceEvent.LEAD_CHANGE : RaceEvent.OVERTAKE,
+                        tickCount, lane, standings[j + 1]));
+            }
+        }
+    }
+
+    // -------------------- Events --------------------
+
+    private void reportIncident(int tick, int type, int lane) {
+        if (incidentListener != null) incidentListener.onIncident(tick, type, lane);
+        if (events != null) events.offer(RaceEvent.pack(type, tick, lane, 0));
+    }
+
+    // This tick's finishers, already in order; neighbours within the margin are a photo finish
+    private void reportFinishes(int firstOfTick) {
+        for (int rank = firstOfTick; rank < finishedCount; rank++) {
+            final int lane = finishOrder[rank];
+            events.offer(RaceEvent.pack(RaceEvent.FINISH, tickCount, lane, rank));
+            if (rank > firstOfTick) {
+                final int ahead = finishOrder[rank - 1];
+                if (positions[ahead] - positions[lane] < photoFinishMargin) {
+                    events.offer(RaceEvent.pack(RaceEvent.PHOTO_FINISH, tickCount, ahead, lane));
+                }
+            }
+        }
+    }
+
+    // Finished horses lead in finish order, then running horses by distance.
+    private boolean isAhead(int a, int b) {
+        final int ra = finishRank[a], rb = finishRank[b];
+        if (ra >= 0 || rb >= 0) {
+            return ra >= 0 && (rb < 0 || ra < rb);
+        }
+        return positions[a] > positions[b];
+    }
+
+    // -------------------- State --------------------
+    @Override public int getHorseCount() { return horseCount; }
+    public RaceRules getRules() { return rules; }
+    /** Pack physics in use, or null when horses move independently. */
+    public PackPhysics getPackPhysics() { return physics; }
+    /** Incident rules in use, or null when only the boost burst happens. */
+    public IncidentRules getIncidentRules() { return incidents; }
+
+    /**
+     * Publishes incidents and race events ({@link RaceEvent}) to {@code queue} from the
+     * ticking thread; null to stop.
+     */
+    public void setEventQueue(RaceEventQueue queue) { this.events = queue; }
+
+    /** Receives incidents (and the boost burst) on the ticking thread; null to stop. */
+    public void setIncidentListener(Incident.Listener listener) { this.incidentListener = listener; }
+    @Override public int getTickCount() { return tickCount; }
+    @Override public boolean isDone() { return done; }
+    public int getBoostedLane() { return boostedLane; }
+    public boolean isBurstActivated() { return burstActivated; }
+
+    @Override public float getPosition(int lane) { return FixedPoint.toPercent(positions[lane]); }
+    /** Exact position in {@link FixedPoint} units. */
+    public int getFixedPosition(int lane) { return positions[lane]; }
+    @Override public int getFinishedCount() { return finishedCount; }
+
+    @Override
+    public boolean isFinished(int lane) {
+        return (runningMask[lane >>> 6] & (1L << lane)) == 0;
+    }
+
+    @Override
+    public int getLaneInPlace(int place) {
+        return standings[place];
+    }
+
+    @Override
+    public int getLaneAtRank(int rank) {
+        if (rank < 0 || rank >= finishedCount) {
+            throw new IndexOutOfBoundsException("rank " + rank + " not decided yet");
+        }
+        return finishOrder[rank];
+    }
+
+    /** Copy of the finish order (lanes); complete only once {@link #isDone()}. Allocates. */
+    public int[] getFinishOrder() {
+        int[] copy = new int[finishedCount];
+        System.arraycopy(finishOrder, 0, copy, 0, finishedCount);
+        return copy;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.horse_racing_betting.engine;
+
+/**
+ * Race events packed into a {@code long}, so the engine can publish them through a
+ * {@link RaceEventQueue} without allocating.
+ *
+ * Types 1-5 are the {@link Incident} types; the rest are detected from the standings as
+ * the engine ticks. Every event names a lane and, depending on the type, a second value:
+ * the horse passed, the horse beaten, or the finishing rank.
+ */
+public final class RaceEvent {
+
+    /** {@code lane} took the lead from {@code other}. */
+    public static final int LEAD_CHANGE = 6;
+    /** {@code lane} passed {@code other} into a podium place (below the lead). */
+    public static final int OVERTAKE = 7;
+    /** {@code lane} crossed the line; {@code other} is its 0-based finishing rank. */
+    public static final int FINISH = 8;
+    /** {@code lane} beat {@code other} to the line by less than {@link #PHOTO_FINISH_PERCENT}. */
+    public static final int PHOTO_FINISH = 9;
+
+    /** Largest margin, in percent of the track, that still counts as a photo finish. */
+    public static final float PHOTO_FINISH_PERCENT = 0.05f;
+
+    // type: 8 bits | lane: 16 | other: 16 | tick: 24
+    private static final int TICK_BITS = 24;
+
+    private RaceEvent() { }
+
+    public static long pack(int type, int tick, int lane, int other) {
+        return (long) (type & 0xFF) << 56
+                | (long) (lane & 0xFFFF) << 40
+                | (long) (other & 0xFFFF) << TICK_BITS
+                | (tick & ((1 << TICK_BITS) - 1));
+    }
+
+    public static int type(long event) { return (int) (event >>> 56); }
+    public static int lane(long event) { return (int) (event >>> 40) & 0xFFFF; }
+    public static int other(long event) { return (int) (event >>> TICK_BITS) & 0xFFFF; }
+    public static int tick(long event) { return (int) event & ((1 << TICK_BITS) - 1); }
+
+    /** True for the {@link Incident} types. */
+    public static boolean isIncident(long event) {
+        int type = type(event);
+        return type >= Incident.BURST && type <= Incident.BUMP;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.horse_racing_betting.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, allocation-free broadcast queue of {@link RaceEvent}s: one producer (the thread
+ * that ticks the engine), any number of {@link Reader}s, each on its own thread.
+ *
+ * Events go into a ring of {@code long}s, so publishing never blocks and never allocates;
+ * slots are atomic, so a reader racing the producer sees a whole event or detects it was
+ * overwritten, never half of one.
+ * Every reader keeps its own cursor, so readers do not steal events from each other. A
+ * reader that falls more than the capacity behind loses the oldest events and carries on
+ * from the oldest one still in the ring; {@link Reader#getDropped()} counts the loss.
+ */
+public final class RaceEventQueue {
+
+    private final AtomicLongArray ring;
+    private final int mask;
+    private final AtomicLong published = new AtomicLong(); // events readers may read
+    private final AtomicLong claimed = new AtomicLong();   // runs ahead of published while a slot is written
+
+    /** @param capacity events kept for slow readers; rounded up to a power of two */
+    public RaceEventQueue(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 20) throw new IllegalArgumentException("capacity must be 1..2^20");
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.ring = new AtomicLongArray(Math.max(1, size));
+        this.mask = ring.length() - 1;
+    }
+
+    public int getCapacity() { return ring.length(); }
+
+    /** Publishes an event; producer thread only. */
+    public void offer(long event) {
+        final long seq = published.get();
+        // Release stores keep their order: a reader that sees the new slot also sees the
+        // claim, and one that sees the new published count also sees the slot
+        claimed.lazySet(seq + 1);
+        ring.lazySet((int) seq & mask, event);
+        published.lazySet(seq + 1);
+    }
+
+    /** A reader that starts with the next event published. Allocate once and keep it. */
+    public Reader newReader() {
+        return new Reader();
+    }
+
+    /** One consumer's position in the queue. Use from one thread at a time. */
+    public final class Reader {
+        private long next = published.get();
+        private long dropped;
+
+        /**
+         * Copies up to {@code out.length} pending events into {@code out}, oldest first.
+         *
+         * @return how many were copied
+         */
+        public int drain(long[] out) {
+            long head = published.get();
+            if (head - next > ring.length()) {
+                dropped += head - ring.length() - next;
+                next = head - ring.length();
+            }
+            int n = (int) Math.min(out.length, head - next);
+            for (int i = 0; i < n; i++) out[i] = ring.get((int) (next + i) & mask);
+
+            // The producer may have lapped us while we copied; drop what it overwrote
+            long overwritten = claimed.get() - ring.length() - next;
+            int valid = n;
+            if (overwritten > 0) {
+                int lost = (int) Math.min(n, overwritten);
+                System.arraycopy(out, lost, out, 0, n - lost);
+                valid = n - lost;
+                dropped += lost;
+            }
+            next += n;
+            return valid;
+        }
+
+        /** Forgets pending events, e.g. when a new race starts. */
+        public void skipToLatest() {
+            next = published.get();
+        }
+
+        /** Events this reader lost by falling too far behind. */
+        public long getDropped() { return dropped; }
+    }
+}
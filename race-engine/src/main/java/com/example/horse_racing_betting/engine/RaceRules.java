@@ -0,0 +1,56 @@
+package com.example.horse_racing_betting.engine;
+
+/**
+ * Immutable parameters of the boosted-horse race model.
+ * Distances are in percent of the track, speeds in percent per tick.
+ */
+public final class RaceRules {
+
+    /** The rules the game has always shipped with. */
+    public static final RaceRules DEFAULT = new RaceRules(
+            100f, 30f,
+            0.1f, 0.7f,
+            0.1f, 0.6f,
+            0.8f, 2.0f);
+
+    private final float finishPercent;
+    private final float burstTriggerPercent;
+
+    // Speed ranges per tick
+    private final float normalMin;
+    private final float normalMax;
+    private final float boostPreMin;
+    private final float boostPreMax;
+    private final float boostActiveMin;
+    private final float boostActiveMax;
+
+    public RaceRules(float finishPercent, float burstTriggerPercent,
+                     float normalMin, float normalMax,
+                     float boostPreMin, float boostPreMax,
+                     float boostActiveMin, float boostActiveMax) {
+        if (finishPercent <= 0f) throw new IllegalArgumentException("finishPercent must be > 0");
+        if (normalMin > normalMax || boostPreMin > boostPreMax || boostActiveMin > boostActiveMax) {
+            throw new IllegalArgumentException("speed range min > max");
+        }
+        if (normalMax <= 0f || boostPreMax <= 0f || boostActiveMax <= 0f) {
+            throw new IllegalArgumentException("horses must be able to move forward");
+        }
+        this.finishPercent = finishPercent;
+        this.burstTriggerPercent = burstTriggerPercent;
+        this.normalMin = normalMin;
+        this.normalMax = normalMax;
+        this.boostPreMin = boostPreMin;
+        this.boostPreMax = boostPreMax;
+        this.boostActiveMin = boostActiveMin;
+        this.boostActiveMax = boostActiveMax;
+    }
+
+    public float getFinishPercent() { return finishPercent; }
+    public float getBurstTriggerPercent() { return burstTriggerPercent; }
+    public float getNormalMin() { return normalMin; }
+    public float getNormalMax() { return normalMax; }
+    public float getBoostPreMin() { return boostPreMin; }
+    public float getBoostPreMax() { return boostPreMax; }
+    public float getBoostActiveMin() { return boostActiveMin; }
+    public float getBoostActiveMax() { return boostActiveMax; }
+}
@@ -0,0 +1,57 @@
+package com.example.horse_racing_betting.engine;
+
+/**
+ * Immutable copy of a race at one tick, safe to hand to another thread.
+ */
+public final class RaceSnapshot implements RaceView {
+
+    private final int tickCount;
+    private final boolean done;
+    private final float[] positions;
+    private final long[] finishedMask;
+    private final int[] finishOrder;   // decided ranks only
+    private final int[] standings;
+
+    private RaceSnapshot(int tickCount, boolean done, float[] positions, long[] finishedMask,
+                         int[] finishOrder, int[] standings) {
+        this.tickCount = tickCount;
+        this.done = done;
+        this.positions = positions;
+        this.finishedMask = finishedMask;
+        this.finishOrder = finishOrder;
+        this.standings = standings;
+    }
+
+    /** Copies the current state of {@code race}. */
+    public static RaceSnapshot of(RaceView race) {
+        final int n = race.getHorseCount();
+        float[] positions = new float[n];
+        long[] finishedMask = new long[(n + 63) >>> 6];
+        int[] standings = new int[n];
+        for (int lane = 0; lane < n; lane++) {
+            positions[lane] = race.getPosition(lane);
+            if (race.isFinished(lane)) finishedMask[lane >>> 6] |= 1L << lane;
+            standings[lane] = race.getLaneInPlace(lane);
+        }
+        int[] finishOrder = new int[race.getFinishedCount()];
+        for (int rank = 0; rank < finishOrder.length; rank++) finishOrder[rank] = race.getLaneAtRank(rank);
+        return new RaceSnapshot(race.getTickCount(), race.isDone(), positions, finishedMask, finishOrder, standings);
+    }
+
+    @Override public int getHorseCount() { return positions.length; }
+    @Override public float getPosition(int lane) { return positions[lane]; }
+    @Override public int getFinishedCount() { return finishOrder.length; }
+    @Override public int getLaneInPlace(int place) { return standings[place]; }
+    @Override public int getTickCount() { return tickCount; }
+    @Override public boolean isDone() { return done; }
+
+    @Override
+    public boolean isFinished(int lane) {
+        return (finishedMask[lane >>> 6] & (1L << lane)) != 0;
+    }
+
+    @Override
+    public int getLaneAtRank(int rank) {
+        return finishOrder[rank];
+    }
+}
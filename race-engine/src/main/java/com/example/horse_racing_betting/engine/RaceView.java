@@ -0,0 +1,33 @@
+package com.example.horse_racing_betting.engine;
+
+/**
+ * Read-only view of a race in progress. Lanes and ranks are 0-based.
+ *
+ * Implementations may be updated in place between ticks, so read them on the thread
+ * that drives the race and do not hold on to values across ticks.
+ */
+public interface RaceView {
+
+    int getHorseCount();
+
+    /** Distance covered, in percent of the track (may overshoot the finish slightly). */
+    float getPosition(int lane);
+
+    boolean isFinished(int lane);
+
+    /** Number of ranks already decided. */
+    int getFinishedCount();
+
+    /** Lane that finished at the given rank; {@code rank < getFinishedCount()}. */
+    int getLaneAtRank(int rank);
+
+    /**
+     * Live standings: lane currently in the given 0-based place. Finished horses hold
+     * their final ranks; the rest are ordered by distance covered.
+     */
+    int getLaneInPlace(int place);
+
+    int getTickCount();
+
+    boolean isDone();
+}
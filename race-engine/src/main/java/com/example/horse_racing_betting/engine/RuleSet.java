@@ -0,0 +1,60 @@
+package com.example.horse_racing_betting.engine;
+
+/**
+ * A complete, validated set of game rules: race model, payouts, pacing, and the
+ * optional pack and incident models.
+ *
+ * Rule sets are compiled once when loaded ({@link RuleSetParser}); everything the tick
+ * and settlement paths use is a flat precomputed value or table, so switching rule sets
+ * between races only swaps objects. Immutable.
+ */
+public final class RuleSet {
+
+    /** The rules the game has always shipped with: no incidents beyond the boost burst. */
+    public static final RuleSet CLASSIC = new RuleSet("Classic", RaceRules.DEFAULT, null,
+            100, 3, PackPhysics.DEFAULT, null);
+
+    private final String name;
+    private final RaceRules raceRules;
+    private final double[] payoutMultipliers; // null: sized to the field by PayoutTable
+    private final int tickMs;
+    private final int countdownSeconds;
+    private final PackPhysics packPhysics;
+    private final IncidentRules incidentRules; // null: no incidents
+
+    public RuleSet(String name, RaceRules raceRules, double[] payoutMultipliers,
+                   int tickMs, int countdownSeconds, PackPhysics packPhysics, IncidentRules incidentRules) {
+        if (name == null || name.isEmpty()) throw new IllegalArgumentException("rule set needs a name");
+        if (raceRules == null || packPhysics == null) throw new IllegalArgumentException("race and pack rules are required");
+        if (tickMs <= 0) throw new IllegalArgumentException("tickMs must be > 0");
+        if (countdownSeconds < 0) throw new IllegalArgumentException("countdownSeconds must be >= 0");
+        if (payoutMultipliers != null) new PayoutTable(payoutMultipliers); // validates
+        this.name = name;
+        this.raceRules = raceRules;
+        this.payoutMultipliers = payoutMultipliers != null ? payoutMultipliers.clone() : null;
+        this.tickMs = tickMs;
+        this.countdownSeconds = countdownSeconds;
+        this.packPhysics = packPhysics;
+        this.incidentRules = incidentRules;
+    }
+
+    public String getName() { return name; }
+    public RaceRules getRaceRules() { return raceRules; }
+    public int getTickMs() { return tickMs; }
+    public int getCountdownSeconds() { return countdownSeconds; }
+    public PackPhysics getPackPhysics() { return packPhysics; }
+    public IncidentRules getIncidentRules() { return incidentRules; }
+
+    /** Payout table for a field; positions past the configured multipliers pay nothing. */
+    public PayoutTable payoutTableFor(int fieldSize) {
+        if (payoutMultipliers == null) return PayoutTable.forFieldSize(fieldSize);
+        double[] m = new double[fieldSize];
+        System.arraycopy(payoutMultipliers, 0, m, 0, Math.min(fieldSize, payoutMultipliers.length));
+        return new PayoutTable(m);
+    }
+
+    /** A fresh engine for this rule set; pack physics only when {@code packRacing}. */
+    public RaceEngine newEngine(int fieldSize, boolean packRacing) {
+        return new RaceEngine(fieldSize, raceRules, packRacing ? packPhysics : null, incidentRules);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.horse_racing_betting.engine;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Reads a {@link RuleSet} from a properties file. Every key is optional except
+ * {@code name}; missing keys keep the {@link RuleSet#CLASSIC} value.
+ *
+ * <pre>
+ * name=Sprint
+ * race.finishPercent=100
+ * race.burstTriggerPercent=30
+ * speed.normal=0.1,0.7             min,max per tick
+ * speed.boostPre=0.1,0.6
+ * speed.boostActive=0.8,2.0
+ * payout.multipliers=2.0,1.3,0.5   by position; omit to size payouts to the field
+ * timing.tickMs=100
+ * timing.countdownSeconds=3
+ * pack=1.5,0.08,1.0,3,0.6          draftRange,draftBonus,blockRange,blockPackSize,blockSpeedFactor
+ * incidents=400,300,150,250        stumble,secondWind,lateSurge,bump mean ticks; omit or "off" for none
+ * </pre>
+ *
+ * {@code race.finishPercent} may be at most {@link #MAX_FINISH_PERCENT}.
+ * Unknown keys and malformed values are rejected with an {@link IllegalArgumentException}
+ * naming the key, so a typo never silently falls back to a default.
+ */
+public final class RuleSetParser {
+
+    /**
+     * Longest race a rule set may ask for. Traces store positions to 1/256 % in a u16, so
+     * they saturate just above 255%; this leaves room for horses running past the line.
+     */
+    public static final float MAX_FINISH_PERCENT = 200f;
+
+    private static final Set<String> KEYS = new HashSet<>(Arrays.asList(
+            "name", "race.finishPercent", "race.burstTriggerPercent",
+            "speed.normal", "speed.boostPre", "speed.boostActive", "payout.multipliers",
+            "timing.tickMs", "timing.countdownSeconds", "pack", "incidents"));
+
+    private RuleSetParser() { }
+
+    public static RuleSet parse(InputStream in) throws IOException {
+        return parse(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    public static RuleSet parse(Reader reader) throws IOException {
+        Properties p = new Properties();
+        p.load(reader);
+        for (String key : p.stringPropertyNames()) {
+            if (!KEYS.contains(key)) throw new IllegalArgumentException("unknown rule key '" + key + "'");
+        }
+        String name = p.getProperty("name", "").trim();
+        if (name.isEmpty()) throw new IllegalArgumentException("rule set needs a name");
+
+        RuleSet base = RuleSet.CLASSIC;
+        RaceRules r = base.getRaceRules();
+        float[] normal = floats(p, "speed.normal", 2, r.getNormalMin(), r.getNormalMax());
+        float[] pre = floats(p, "speed.boostPre", 2, r.getBoostPreMin(), r.getBoostPreMax());
+        float[] active = floats(p, "speed.boostActive", 2, r.getBoostActiveMin(), r.getBoostActiveMax());
+        if (normal[0] < 0f || pre[0] < 0f || active[0] < 0f) {
+            throw new IllegalArgumentException("horses must not run backwards");
+        }
+        float finishPercent = floats(p, "race.finishPercent", 1, r.getFinishPercent())[0];
+        if (finishPercent <= 0f || finishPercent > MAX_FINISH_PERCENT) {
+            throw new IllegalArgumentException("rule key 'race.finishPercent' must be in (0, " + MAX_FINISH_PERCENT + "]");
+        }
+        RaceRules raceRules = new RaceRules(
+                finishPercent,
+                floats(p, "race.burstTriggerPercent", 1, r.getBurstTriggerPercent())[0],
+                normal[0], normal[1], pre[0], pre[1], active[0], active[1]);
+
+        double[] payouts = null;
+        if (p.containsKey("payout.multipliers")) {
+            float[] values = floats(p, "payout.multipliers", -1);
+            payouts = new double[values.length];
+            // through the decimal string so 1.3f settles as exactly 1.3
+            for (int i = 0; i < values.length; i++) payouts[i] = Double.parseDouble(Float.toString(values[i]));
+        }
+
+        PackPhysics pack = base.getPackPhysics();
+        if (p.containsKey("pack")) {
+            float[] v = floats(p, "pack", 5);
+            pack = new PackPhysics(v[0], v[1], v[2], (int) v[3], v[4]);
+        }
+
+        IncidentRules incidents = base.getIncidentRules();
+        String incidentText = p.getProperty("incidents");
+        if ("off".equals(incidentText != null ? incidentText.trim() : null)) {
+            incidents = null;
+        } else if (incidentText != null) {
+            float[] v = floats(p, "incidents", 4);
+            incidents = new IncidentRules(v[0], v[1], v[2], v[3]);
+        }
+
+        int tickMs = (int) floats(p, "timing.tickMs", 1, base.getTickMs())[0];
+        int countdown = (int) floats(p, "timing.countdownSeconds", 1, base.getCountdownSeconds())[0];
+        try {
+            return new RuleSet(name, raceRules, payouts, tickMs, countdown, pack, incidents);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("rule set '" + name + "': " + e.getMessage(), e);
+        }
+    }
+
+    // Comma-separated numbers; `count` -1 accepts any non-empty list
+    private static float[] floats(Properties p, String key, int count, float... defaults) {
+        String text = p.getProperty(key);
+        if (text == null) {
+            if (defaults.length == 0) throw new IllegalArgumentException("missing rule key '" + key + "'");
+            return defaults;
+        }
+        String[] parts = text.split(",");
+        if (count >= 0 && parts.length != count) {
+            throw new IllegalArgumentException("rule key '" + key + "' needs " + count + " values");
+        }
+        float[] values = new float[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            try {
+                values[i] = Float.parseFloat(parts[i].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("rule key '" + key + "': not a number '" + parts[i].trim() + "'");
+            }
+            if (Float.isNaN(values[i]) || Float.isInfinite(values[i])) {
+                throw new IllegalArgumentException("rule key '" + key + "': not finite");
+            }
+        }
+        return values;
+    }
+}
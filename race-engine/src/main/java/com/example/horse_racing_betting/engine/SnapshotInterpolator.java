@@ -0,0 +1,66 @@
+package com.example.horse_racing_betting.engine;
+
+/**
+ * Smooths fixed-rate sim snapshots for a renderer running at display rate.
+ *
+ * The renderer draws one tick behind the simulation: at time {@code t} it shows the
+ * state {@code (t - arrival) / tickDuration} of the way from the previous snapshot to
+ * the newest one. Motion is then continuous at any refresh rate, and the sim rate and
+ * render rate can be chosen independently. Times are in nanoseconds on one monotonic
+ * clock (System.nanoTime, which Choreographer frame times also use).
+ *
+ * Used from a single (UI) thread.
+ */
+public final class SnapshotInterpolator {
+
+    private final long tickNanos;
+
+    private RaceView previous;
+    private RaceView current;
+    private long currentAtNanos;
+
+    public SnapshotInterpolator(long tickNanos) {
+        if (tickNanos <= 0) throw new IllegalArgumentException("tickNanos must be > 0");
+        this.tickNanos = tickNanos;
+    }
+
+    /** Records a snapshot that arrived at {@code arrivalNanos}. */
+    public void push(RaceView snapshot, long arrivalNanos) {
+        if (current != null && (current.getHorseCount() != snapshot.getHorseCount()
+                || current.getTickCount() > snapshot.getTickCount())) {
+            current = null; // a new race or field, nothing to blend with
+        }
+        previous = current;
+        current = snapshot;
+        currentAtNanos = arrivalNanos;
+    }
+
+    /** Forgets all snapshots, e.g. when a new race starts. */
+    public void clear() {
+        previous = null;
+        current = null;
+    }
+
+    public RaceView getCurrent() { return current; }
+
+    /** Blend factor between the previous and current snapshot at {@code frameNanos}, 0..1. */
+    public float alphaAt(long frameNanos) {
+        if (previous == null) return 1f;
+        float alpha = (float) (frameNanos - currentAtNanos) / tickNanos;
+        return alpha < 0f ? 0f : Math.min(alpha, 1f);
+    }
+
+    /** Interpolated position of {@code lane}, in percent of the track. */
+    public float positionAt(int lane, long frameNanos) {
+        if (current == null) return 0f;
+        float to = current.getPosition(lane);
+        if (previous == null) return to;
+        float from = previous.getPosition(lane);
+        return from + (to - from) * alphaAt(frameNanos);
+    }
+
+    /** True once the newest snapshot is fully shown; a renderer can stop requesting frames. */
+    public boolean isSettled(long frameNanos) {
+        return current == null || alphaAt(frameNanos) >= 1f;
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.horse_racing_betting.engine.batch;
+
+import com.example.horse_racing_betting.engine.FixedPoint;
+import com.example.horse_racing_betting.engine.RaceRules;
+import com.example.horse_racing_betting.engine.rng.RaceRandom;
+
+import java.util.Arrays;
+
+/**
+ * Advances many independent races of the same field size in lockstep.
+ *
+ * Positions are {@link FixedPoint} integers stored race-major per horse
+ * ({@code positions[lane * races + race]}), so each tick applies the movement rules to one
+ * horse across every race with a flat, branch-free integer loop over contiguous arrays. That is the shape HotSpot's superword pass
+ * (and ART's loop vectorizer) turn into SIMD code; the engine targets Java 11 / Android,
+ * where the incubating Vector API is not available, so no explicit vector types are used.
+ * Finish bookkeeping is a separate scalar pass that only does work on crossing ticks.
+ *
+ * Movement is that of a plain {@link com.example.horse_racing_betting.engine.RaceEngine}
+ * (no profiles, pack or incidents) in the same fixed-point arithmetic: a step is
+ * {@link FixedPoint#lerp24} of a 24-bit draw, so equal draws move a horse exactly as far.
+ * Draws are taken in bulk per horse and tick, though (finished horses and finished races
+ * still consume theirs), so a batch seed does not replay the same races as single-race
+ * seeds; only the distribution of outcomes matches. Not thread-safe.
+ */
+public final class BatchRaceKernel {
+
+    private final int horseCount;
+    private final int races;
+
+    // Rules in fixed point, converted as RaceEngine converts them
+    private final int finishLine;
+    private final int burstTriggerLine;
+    private final int normalMin, normalSpan;
+    private final int boostPreMin, boostPreSpan;
+    private final int boostActiveMin, boostActiveSpan;
+
+    private final int[] positions;     // [lane * races + race], fixed point
+    private final int[] active;        // [lane * races + race], 1 while moving, else 0
+    private final int[] boostedLane;   // [race]
+    private final int[] burst;         // [race], 1 once the boosted horse has burst
+    private final int[] uniforms;      // [race], one tick's 24-bit draws for one lane
+
+    private final int[] finishOrder;   // [race * horseCount + rank]
+    private final int[] finishedCount; // [race]
+    private final int[] runningCount;  // [race]
+    private final int[] firstOfTick;   // [race]
+    private final boolean[] raceDone;  // [race]
+    private int doneRaces;
+    private int tickCount;
+
+    private final RaceRandom stream = new RaceRandom(0L);
+
+    public BatchRaceKernel(int horseCount, int races, RaceRules rules) {
+        if (horseCount <= 0 || races <= 0) throw new IllegalArgumentException("empty batch");
+        this.horseCount = horseCount;
+        this.races = races;
+        this.finishLine = FixedPoint.fromPercent(rules.getFinishPercent());
+        this.burstTriggerLine = FixedPoint.fromPercent(rules.getBurstTriggerPercent());
+        this.normalMin = FixedPoint.fromPercent(rules.getNormalMin());
+        this.normalSpan = FixedPoint.fromPercent(rules.getNormalMax()) - normalMin;
+        this.boostPreMin = FixedPoint.fromPercent(rules.getBoostPreMin());
+        this.boostPreSpan = FixedPoint.fromPercent(rules.getBoostPreMax()) - boostPreMin;
+        this.boostActiveMin = FixedPoint.fromPercent(rules.getBoostActiveMin());
+        this.boostActiveSpan = FixedPoint.fromPercent(rules.getBoostActiveMax()) - boostActiveMin;
+
+        this.positions = new int[horseCount * races];
+        this.active = new int[horseCount * races];
+        this.boostedLane = new int[races];
+        this.burst = new int[races];
+        this.uniforms = new int[races];
+        this.finishOrder = new int[races * horseCount];
+        this.finishedCount = new int[races];
+        this.runningCount = new int[races];
+        this.firstOfTick = new int[races];
+        this.raceDone = new boolean[races];
+    }
+
+    // -------------------- Lifecycle --------------------
+
+    /** Starts a fresh batch; every race picks its own boosted horse. */
+    public void reset(long seed) {
+        stream.setSeed(seed);
+        Arrays.fill(positions, 0);
+        Arrays.fill(active, 1);
+        Arrays.fill(burst, 0);
+        Arrays.fill(finishedCount, 0);
+        Arrays.fill(runningCount, horseCount);
+        Arrays.fill(raceDone, false);
+        for (int r = 0; r < races; r++) boostedLane[r] = stream.nextInt(horseCount);
+        doneRaces = 0;
+        tickCount = 0;
+    }
+
+    /** Advances every race one tick; returns true once all of them are over. */
+    public boolean tick() {
+        if (doneRaces == races) return true;
+        System.arraycopy(finishedCount, 0, firstOfTick, 0, races);
+
+        for (int lane = 0; lane < horseCount; lane++) {
+            fillUniforms();
+            final int base = lane * races;
+
+            // Vectorizable: straight-line integer math over contiguous race slices
+            for (int r = 0; r < races; r++) {
+                final int pos = positions[base + r];
+                final int boosted = boostedLane[r] == lane ? 1 : 0;
+                final int trigger = pos >= burstTriggerLine ? boosted : 0;
+                final int burstNow = Math.max(burst[r], trigger);
+                burst[r] = burstNow;
+
+                final int boostMin = boostPreMin + burstNow * (boostActiveMin - boostPreMin);
+                final int boostSpan = boostPreSpan + burstNow * (boostActiveSpan - boostPreSpan);
+                final int min = normalMin + boosted * (boostMin - normalMin);
+                final int span = normalSpan + boosted * (boostSpan - normalSpan);
+
+                positions[base + r] = pos + active[base + r] * FixedPoint.lerp24(min, span, uniforms[r]);
+            }
+
+            // Scalar: only lanes that just crossed the line do any work
+            for (int r = 0; r < races; r++) {
+                if (active[base + r] != 0 && positions[base + r] >= finishLine) {
+                    active[base + r] = 0;
+                    runningCount[r]--;
+                    insertFinisher(r, lane, firstOfTick[r]);
+                }
+            }
+        }
+        tickCount++;
+
+        for (int r = 0; r < races; r++) {
+            // finish when 0 or 1 horses remain unfinished
+            if (runningCount[r] <= 1 && !raceDone[r]) {
+                finishRace(r);
+            }
+        }
+        return doneRaces == races;
+    }
+
+    /** Runs every race to the end; returns the number of ticks the slowest one took. */
+    public int run() {
+        while (!tick()) {
+            // fixed timestep
+        }
+        return tickCount;
+    }
+
+    private void fillUniforms() {
+        stream.fillBits24(uniforms, 0, races);
+    }
+
+    private void insertFinisher(int race, int lane, int first) {
+        final int row = race * horseCount;
+        final int pos = positions[lane * races + race];
+        int i = finishedCount[race]++;
+        while (i > first && positions[finishOrder[row + i - 1] * races + race] < pos) {
+            finishOrder[row + i] = finishOrder[row + i - 1];
+            i--;
+        }
+        finishOrder[row + i] = lane;
+    }
+
+    private void finishRace(int race) {
+        final int first = finishedCount[race];
+        for (int lane = 0; lane < horseCount; lane++) {
+            if (active[lane * races + race] != 0) {
+                active[lane * races + race] = 0;
+                insertFinisher(race, lane, first);
+            }
+        }
+        raceDone[race] = true;
+        doneRaces++;
+    }
+
+    // -------------------- Results --------------------
+    public int getHorseCount() { return horseCount; }
+    public int getRaceCount() { return races; }
+    public int getTickCount() { return tickCount; }
+    public int getBoostedLane(int race) { return boostedLane[race]; }
+    public float getPosition(int race, int lane) { return FixedPoint.toPercent(positions[lane * races + race]); }
+    public int getFixedPosition(int race, int lane) { return positions[lane * races + race]; }
+
+    public boolean isDone(int race) { return raceDone[race]; }
+
+    public int getLaneAtRank(int race, int rank) {
+        if (rank < 0 || rank >= finishedCount[race]) {
+            throw new IndexOutOfBoundsException("rank " + rank + " not decided yet");
+        }
+        return finishOrder[race * horseCount + rank];
+    }
+
+    /** Adds this batch's finish positions to {@code counts[lane * horseCount + rank]}. */
+    public void accumulate(long[] counts) {
+        for (int r = 0; r < races; r++) {
+            final int row = r * horseCount;
+            for (int rank = 0; rank < finishedCount[r]; rank++) {
+                counts[finishOrder[row + rank] * horseCount + rank]++;
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.horse_racing_betting.engine.loop;
+
+/** Handle to a task posted to a {@link Scheduler}. */
+public interface Cancellable {
+
+    /** Prevents the task from running if it has not started yet. */
+    void cancel();
+}
@@ -0,0 +1,40 @@
+package com.example.horse_racing_betting.engine.loop;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/** {@link Scheduler} backed by a single-threaded {@link ScheduledExecutorService}. */
+public final class ExecutorScheduler implements Scheduler {
+
+    private final ScheduledExecutorService executor;
+
+    public ExecutorScheduler(ScheduledExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /** A scheduler with its own daemon thread, named for thread dumps. */
+    public static ExecutorScheduler newSingleThread(String threadName) {
+        return new ExecutorScheduler(Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, threadName);
+            t.setDaemon(true);
+            return t;
+        }));
+    }
+
+    @Override
+    public Cancellable schedule(Runnable task, long delayMs) {
+        ScheduledFuture<?> future = executor.schedule(task, delayMs, TimeUnit.MILLISECONDS);
+        return () -> future.cancel(false);
+    }
+
+    @Override
+    public long nowMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
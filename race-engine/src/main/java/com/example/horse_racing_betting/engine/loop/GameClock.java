@@ -0,0 +1,100 @@
+package com.example.horse_racing_betting.engine.loop;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link Scheduler} on game time, which can be paused.
+ *
+ * Game time follows the underlying scheduler's clock except while paused, when it stands
+ * still. Pausing takes every pending task off the underlying scheduler, so a paused game
+ * wakes nothing up; resuming posts them again with the delay they had left, and
+ * {@link #nowMillis()} carries on from where it stopped, so fixed-rate loops such as
+ * {@link RaceLoop} continue exactly where they left off.
+ *
+ * Tasks run on the underlying scheduler's thread. Scheduling, cancelling, pausing and
+ * resuming may be called from any thread.
+ */
+public final class GameClock implements Scheduler {
+
+    private static final class Timer {
+        final Runnable task;
+        final long dueAt;     // game time
+        Cancellable posted;   // null while paused
+
+        Timer(Runnable task, long dueAt) {
+            this.task = task;
+            this.dueAt = dueAt;
+        }
+    }
+
+    private final Scheduler scheduler;
+    private final List<Timer> pending = new ArrayList<>();
+    private boolean paused;
+    private long pausedAt;     // underlying time the current pause began
+    private long pausedTotal;  // underlying time spent paused, before the current pause
+    private long wakeUps;
+
+    public GameClock(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public synchronized Cancellable schedule(Runnable task, long delayMs) {
+        final Timer timer = new Timer(task, nowMillis() + Math.max(0, delayMs));
+        pending.add(timer);
+        if (!paused) post(timer);
+        return () -> cancel(timer);
+    }
+
+    @Override
+    public synchronized long nowMillis() {
+        return (paused ? pausedAt : scheduler.nowMillis()) - pausedTotal;
+    }
+
+    /** Stops game time and withdraws every pending task; does nothing if already paused. */
+    public synchronized void pause() {
+        if (paused) return;
+        pausedAt = scheduler.nowMillis();
+        paused = true;
+        for (Timer timer : pending) {
+            timer.posted.cancel();
+            timer.posted = null;
+        }
+    }
+
+    /** Restarts game time where it stopped and reposts pending tasks with their remaining delay. */
+    public synchronized void resume() {
+        if (!paused) return;
+        pausedTotal += scheduler.nowMillis() - pausedAt;
+        paused = false;
+        for (Timer timer : pending) post(timer);
+    }
+
+    public synchronized boolean isPaused() { return paused; }
+
+    /** Wall time spent paused so far, including a pause still in progress. */
+    public synchronized long getPausedMillis() {
+        return pausedTotal + (paused ? scheduler.nowMillis() - pausedAt : 0);
+    }
+
+    /** Tasks the underlying scheduler has woken up for, including ones that found nothing to do. */
+    public synchronized long getWakeUps() { return wakeUps; }
+
+    private void post(Timer timer) {
+        timer.posted = scheduler.schedule(() -> fire(timer), Math.max(0, timer.dueAt - nowMillis()));
+    }
+
+    private synchronized void cancel(Timer timer) {
+        if (pending.remove(timer) && timer.posted != null) timer.posted.cancel();
+    }
+
+    private void fire(Timer timer) {
+        synchronized (this) {
+            wakeUps++;
+            // Cancelled, or paused while this post was already running: resume() reposts it
+            if (paused || !pending.remove(timer)) return;
+        }
+        timer.task.run();
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.horse_racing_betting.engine.loop;
+
+import com.example.horse_racing_betting.engine.RaceEngine;
+import com.example.horse_racing_betting.engine.RaceSnapshot;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Plays a {@link RaceEngine} back in real time on a {@link Scheduler} and publishes a
+ * {@link RaceSnapshot} after every step.
+ *
+ * Snapshots are conflated: only the newest one is kept, and at most one delivery is
+ * queued on the listener's executor at a time. A listener that falls behind therefore
+ * skips straight to the latest state instead of working through stale ticks. The final
+ * snapshot ({@link RaceSnapshot#isDone()}) is always delivered.
+ *
+ * Playback speed is the number of engine ticks advanced per step ({@link #setSpeed}).
+ * Steps stay {@code tickMs} apart at every speed and publish one snapshot each, so a
+ * faster race costs the UI no more per second than a real-time one; only the
+ * {@link TickObserver} still sees every tick.
+ *
+ * Once started, the engine belongs to the scheduler's thread until the race is done or
+ * {@link #stop()} is called.
+ */
+public final class RaceLoop {
+
+    public static final int MAX_SPEED = 8;
+
+    /** Runs on the scheduler thread right after each tick, before the snapshot is taken. */
+    public interface TickObserver {
+        void onTick(RaceEngine engine);
+    }
+
+    /** Receives snapshots on the delivery executor. */
+    public interface Listener {
+        void onSnapshot(RaceSnapshot snapshot);
+    }
+
+    private final RaceEngine engine;
+    private final Scheduler scheduler;
+    private final long tickMs;
+    private final TickObserver tickObserver;
+    private final Executor deliveryExecutor;
+    private final Listener listener;
+
+    private final AtomicReference<RaceSnapshot> latest = new AtomicReference<>();
+    private final AtomicBoolean deliveryPending = new AtomicBoolean();
+    private final Runnable deliver = this::deliverLatest;
+    private final Runnable tick = this::tick;
+
+    private volatile boolean running;
+    private volatile int speed = 1;
+    private Cancellable pendingTick;
+    private long nextTickAt;
+
+    public RaceLoop(RaceEngine engine, Scheduler scheduler, long tickMs,
+                    TickObserver tickObserver, Executor deliveryExecutor, Listener listener) {
+        this.engine = engine;
+        this.scheduler = scheduler;
+        this.tickMs = tickMs;
+        this.tickObserver = tickObserver;
+        this.deliveryExecutor = deliveryExecutor;
+        this.listener = listener;
+    }
+
+    /** Starts ticking the engine from its current state. */
+    public void start() {
+        running = true;
+        pendingTick = scheduler.schedule(() -> {
+            nextTickAt = scheduler.nowMillis();
+            tick();
+        }, 0);
+    }
+
+    /** Stops ticking; a snapshot already queued for delivery may still arrive. */
+    public void stop() {
+        running = false;
+        Cancellable t = pendingTick;
+        if (t != null) t.cancel();
+    }
+
+    public boolean isRunning() { return running; }
+
+    /**
+     * Plays the rest of the race at once, without waiting between ticks, and publishes only
+     * the final snapshot. Must run on the scheduler's thread (or the thread behind it, when
+     * the scheduler is paused), like the ticks themselves; does nothing once stopped.
+     */
+    public void runToEnd() {
+        if (!running) return;
+        stop();
+        boolean done = engine.isDone();
+        while (!done) {
+            done = engine.tick();
+            if (tickObserver != null) tickObserver.onTick(engine);
+        }
+        publish(RaceSnapshot.of(engine));
+    }
+
+    /** Sets how many ticks each step advances (1 = real time); takes effect on the next step. */
+    public void setSpeed(int ticksPerStep) {
+        if (ticksPerStep < 1 || ticksPerStep > MAX_SPEED) {
+            throw new IllegalArgumentException("speed must be 1.." + MAX_SPEED + ": " + ticksPerStep);
+        }
+        speed = ticksPerStep;
+    }
+
+    public int getSpeed() { return speed; }
+
+    /** Most recent snapshot published, or null before the first tick. */
+    public RaceSnapshot getLatest() { return latest.get(); }
+
+    private void tick() {
+        if (!running) return;
+
+        boolean done = false;
+        for (int i = speed; i > 0 && !done && running; i--) {
+            done = engine.tick();
+            if (tickObserver != null) tickObserver.onTick(engine);
+        }
+        // Intermediate ticks of a fast step are never snapshotted
+        publish(RaceSnapshot.of(engine));
+
+        if (done) {
+            running = false;
+            return;
+        }
+        if (!running) return; // stopped from the observer
+        // Fixed rate: the next deadline does not drift with how long this tick took
+        nextTickAt += tickMs;
+        pendingTick = scheduler.schedule(tick, Math.max(0, nextTickAt - scheduler.nowMillis()));
+    }
+
+    private void publish(RaceSnapshot snapshot) {
+        latest.set(snapshot);
+        if (deliveryPending.compareAndSet(false, true)) {
+            deliveryExecutor.execute(deliver);
+        }
+    }
+
+    private void deliverLatest() {
+        deliveryPending.set(false);
+        RaceSnapshot snapshot = latest.get();
+        if (snapshot != null) listener.onSnapshot(snapshot);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.horse_racing_betting.engine.loop;
+
+/**
+ * Where timed game work runs: a looper, a worker thread or, in tests, virtual time.
+ * All tasks of one scheduler run on the same thread, one at a time, in deadline order.
+ */
+public interface Scheduler {
+
+    /** Runs {@code task} once, {@code delayMs} from now. */
+    Cancellable schedule(Runnable task, long delayMs);
+
+    /** Monotonic time in milliseconds, as seen by this scheduler. */
+    long nowMillis();
+}
@@ -0,0 +1,82 @@
+package com.example.horse_racing_betting.engine.loop;
+
+import java.util.PriorityQueue;
+
+/**
+ * {@link Scheduler} on virtual time, for tests and headless runs.
+ *
+ * Nothing runs by itself: {@link #advanceTo} and {@link #runUntilIdle} run due tasks on
+ * the calling thread, in deadline order (first scheduled first on a tie), and move the
+ * clock as they go. A game loop that waits minutes of game time therefore finishes as fast
+ * as its tasks can run. Not thread-safe; drive it from one thread.
+ *
+ * Cancelling only drops the task from its heap entry; the entry is skipped when it comes
+ * up, and the heap is swept once cancelled entries make up most of it.
+ */
+public final class VirtualScheduler implements Scheduler {
+
+    private static final class Entry {
+        final long due;
+        final long seq;
+        Runnable task;    // null once run or cancelled
+
+        Entry(long due, long seq, Runnable task) {
+            this.due = due;
+            this.seq = seq;
+            this.task = task;
+        }
+    }
+
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>((a, b) ->
+            a.due != b.due ? Long.compare(a.due, b.due) : Long.compare(a.seq, b.seq));
+    private long seq;
+    private int live;     // entries in the queue still holding a task
+    private long now;
+    private long runs;
+
+    @Override
+    public Cancellable schedule(Runnable task, long delayMs) {
+        final Entry entry = new Entry(now + Math.max(0, delayMs), seq++, task);
+        queue.add(entry);
+        live++;
+        return () -> {
+            if (entry.task == null) return;
+            entry.task = null;
+            live--;
+            if (queue.size() > 2 * live + 16) queue.removeIf(e -> e.task == null);
+        };
+    }
+
+    @Override
+    public long nowMillis() { return now; }
+
+    /** Tasks run so far; each one stands for a wake-up of a real scheduler's thread. */
+    public long getRuns() { return runs; }
+
+    public boolean isIdle() { return live == 0; }
+
+    /** Runs tasks, including ones they schedule, until none are left. */
+    public void runUntilIdle() {
+        advanceTo(Long.MAX_VALUE);
+    }
+
+    /** Runs everything due up to {@code time}, then moves the clock there (if it is finite). */
+    public void advanceTo(long time) {
+        Entry next;
+        while ((next = queue.peek()) != null && next.due <= time) {
+            queue.poll();
+            final Runnable task = next.task;
+            if (task == null) continue;
+            next.task = null;
+            live--;
+            now = Math.max(now, next.due);
+            runs++;
+            task.run();
+        }
+        if (time != Long.MAX_VALUE) now = Math.max(now, time);
+    }
+
+    public void advanceBy(long delayMs) {
+        advanceTo(now + delayMs);
+    }
+}
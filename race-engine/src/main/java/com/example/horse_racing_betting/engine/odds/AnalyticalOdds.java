@@ -0,0 +1,201 @@
+package com.example.horse_racing_betting.engine.odds;
+
+import com.example.horse_racing_betting.engine.RaceRules;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Computes finish-position odds for the boosted-horse model directly, without simulating.
+ *
+ * Horses move independently, so each one's finishing time can be worked out on its own:
+ * its position is a probability density over a grid of track cells, and every tick that
+ * density is spread by the uniform step range (the boosted horse switches ranges at the
+ * burst line). Whatever crosses the finish line is recorded by tick and by how far past
+ * the line it got, which is exactly how the engine orders horses that finish together.
+ * Walking those finishing slots in race order, the number of horses ahead of a horse in
+ * a slot follows a binomial over the other normal horses plus one Bernoulli for the
+ * boosted horse, which gives the rank distribution.
+ *
+ * The result is deterministic and takes milliseconds for any field the app offers. It
+ * is exact up to the grid: horses in the same cell on the same tick count as a coin
+ * flip, and mass below {@code 1e-18} per cell is dropped. It assumes identical normal
+ * horses: for horse profiles, pack physics or incidents use {@link MonteCarloOdds}.
+ */
+public final class AnalyticalOdds {
+
+    /** Grid of 0.01% of the track, exact for the speed ranges the game ships with. */
+    public static final int DEFAULT_CELLS_PER_PERCENT = 100;
+
+    private static final double NEGLIGIBLE = 1e-18;
+    private static final int MAX_TICKS = 1 << 16;
+
+    private final int horseCount;
+    private final int finishCell;
+    private final int triggerCell;
+    private final int normalMin, normalMax;
+    private final int boostPreMin, boostPreMax;
+    private final int boostActiveMin, boostActiveMax;
+
+    public AnalyticalOdds(int horseCount, RaceRules rules) {
+        this(horseCount, rules, DEFAULT_CELLS_PER_PERCENT);
+    }
+
+    public AnalyticalOdds(int horseCount, RaceRules rules, int cellsPerPercent) {
+        if (horseCount <= 0) throw new IllegalArgumentException("horseCount must be > 0");
+        if (cellsPerPercent <= 0) throw new IllegalArgumentException("cellsPerPercent must be > 0");
+        if (rules.getNormalMin() < 0f || rules.getBoostPreMin() < 0f || rules.getBoostActiveMin() < 0f) {
+            throw new IllegalArgumentException("solver needs speeds >= 0");
+        }
+        this.horseCount = horseCount;
+        this.finishCell = Math.max(1, Math.round(rules.getFinishPercent() * cellsPerPercent));
+        this.triggerCell = Math.max(0, Math.round(rules.getBurstTriggerPercent() * cellsPerPercent));
+        this.normalMin = Math.round(rules.getNormalMin() * cellsPerPercent);
+        this.normalMax = Math.round(rules.getNormalMax() * cellsPerPercent);
+        this.boostPreMin = Math.round(rules.getBoostPreMin() * cellsPerPercent);
+        this.boostPreMax = Math.round(rules.getBoostPreMax() * cellsPerPercent);
+        this.boostActiveMin = Math.round(rules.getBoostActiveMin() * cellsPerPercent);
+        this.boostActiveMax = Math.round(rules.getBoostActiveMax() * cellsPerPercent);
+        if (normalMax == 0 || boostPreMax == 0 || boostActiveMax == 0) {
+            throw new IllegalArgumentException("speeds are finer than the grid");
+        }
+    }
+
+    /** Odds before the race, when any horse may be the boosted one. */
+    public OddsTable solve() {
+        double[][] ranks = rankDistributions();
+        double[] p = new double[horseCount * horseCount];
+        for (int lane = 0; lane < horseCount; lane++) {
+            for (int rank = 0; rank < horseCount; rank++) {
+                p[lane * horseCount + rank] =
+                        (ranks[0][rank] + ranks[1][rank] * (horseCount - 1)) / horseCount;
+            }
+        }
+        return OddsTable.computed(horseCount, p);
+    }
+
+    /** Odds once the boosted horse is known to be in {@code boostedLane}. */
+    public OddsTable solve(int boostedLane) {
+        if (boostedLane < 0 || boostedLane >= horseCount) {
+            throw new IllegalArgumentException("no lane " + boostedLane);
+        }
+        double[][] ranks = rankDistributions();
+        double[] p = new double[horseCount * horseCount];
+        for (int lane = 0; lane < horseCount; lane++) {
+            System.arraycopy(ranks[lane == boostedLane ? 0 : 1], 0, p, lane * horseCount, horseCount);
+        }
+        return OddsTable.computed(horseCount, p);
+    }
+
+    // {boosted horse's rank distribution, any normal horse's rank distribution}
+    private double[][] rankDistributions() {
+        double[] boosted = new double[horseCount];
+        double[] normal = new double[horseCount];
+        if (horseCount == 1) {
+            boosted[0] = 1.0;
+            return new double[][]{boosted, normal};
+        }
+
+        List<double[]> boostedFinish = firstPassage(boostPreMin, boostPreMax, boostActiveMin, boostActiveMax);
+        List<double[]> normalFinish = firstPassage(normalMin, normalMax, normalMin, normalMax);
+        int ticks = Math.max(boostedFinish.size(), normalFinish.size());
+        double[] ahead = new double[horseCount]; // normals ahead, out of the other normals
+        double doneB = 0, doneN = 0;
+
+        for (int t = 0; t < ticks; t++) {
+            double[] rowB = t < boostedFinish.size() ? boostedFinish.get(t) : null;
+            double[] rowN = t < normalFinish.size() ? normalFinish.get(t) : null;
+            int width = Math.max(rowB != null ? rowB.length : 0, rowN != null ? rowN.length : 0);
+            // Within a tick, whoever got furthest past the line finishes first
+            for (int c = width - 1; c >= 0; c--) {
+                double pB = rowB != null && c < rowB.length ? rowB[c] : 0;
+                double pN = rowN != null && c < rowN.length ? rowN[c] : 0;
+                if (pB == 0 && pN == 0) continue;
+                double qB = doneB + pB / 2, qN = doneN + pN / 2;
+
+                // Both face the other n - 2 normals, then the boosted horse or one more normal
+                binomial(ahead, horseCount - 2, qN);
+                for (int r = 0; r < horseCount; r++) {
+                    double before = r > 0 ? ahead[r - 1] : 0;
+                    normal[r] += pN * (ahead[r] * (1 - qB) + before * qB);
+                    boosted[r] += pB * (ahead[r] * (1 - qN) + before * qN);
+                }
+                doneB += pB;
+                doneN += pN;
+            }
+        }
+        return new double[][]{boosted, normal};
+    }
+
+    /*
+     * Finishing distribution of one horse: row t holds the probability of crossing on tick
+     * t + 1, by overshoot cell. Steps are preMin..preMax below the trigger cell and
+     * min..max from it on. Each cell's mass is spread with a difference array, so a tick
+     * costs O(cells in the support), not O(cells * step range).
+     */
+    private List<double[]> firstPassage(int preMin, int preMax, int min, int max) {
+        final int lowest = Math.min(preMin, min), highest = Math.max(preMax, max);
+        final double[] density = new double[finishCell];
+        final double[] diff = new double[finishCell + highest + 2];
+        final List<double[]> rows = new ArrayList<>();
+        density[0] = 1.0;
+        int lo = 0, hi = 0;
+
+        while (lo <= hi && rows.size() < MAX_TICKS) {
+            for (int i = lo; i <= hi; i++) {
+                double m = density[i];
+                if (m == 0) continue;
+                if (i < triggerCell) spread(diff, i + preMin, i + preMax, m);
+                else spread(diff, i + min, i + max, m);
+            }
+            Arrays.fill(density, lo, hi + 1, 0.0);
+
+            double[] row = new double[highest + 1];
+            int from = lo + lowest, to = hi + highest + 1;
+            lo = finishCell;
+            hi = -1;
+            double acc = 0;
+            for (int j = from; j <= to; j++) {
+                acc += diff[j];
+                diff[j] = 0;
+                if (acc <= NEGLIGIBLE) continue;
+                if (j >= finishCell) {
+                    row[j - finishCell] = acc;
+                } else {
+                    density[j] = acc;
+                    if (j < lo) lo = j;
+                    hi = j;
+                }
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    // Mass uniform over cell i plus a step uniform on [a, b] cells, as whole cells
+    private static void spread(double[] diff, int a, int b, double mass) {
+        if (a == b) {
+            diff[a] += mass;
+            diff[a + 1] -= mass;
+            return;
+        }
+        double half = mass / (b - a) / 2;
+        diff[a] += half;
+        diff[a + 1] += half;
+        diff[b] -= half;
+        diff[b + 1] -= half;
+    }
+
+    // Binomial(m, q) into pmf[0..m], zero above; O(m) by the ratio of neighbouring terms
+    private static void binomial(double[] pmf, int m, double q) {
+        Arrays.fill(pmf, 0.0);
+        if (q >= 1.0) {
+            pmf[m] = 1.0;
+            return;
+        }
+        double odds = q / (1 - q);
+        pmf[0] = Math.pow(1 - q, m);
+        for (int j = 0; j < m; j++) pmf[j + 1] = pmf[j] * (m - j) / (j + 1) * odds;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.horse_racing_betting.engine.odds;
+
+import com.example.horse_racing_betting.engine.HorseProfile;
+import com.example.horse_racing_betting.engine.IncidentRules;
+import com.example.horse_racing_betting.engine.PackPhysics;
+import com.example.horse_racing_betting.engine.RaceEngine;
+import com.example.horse_racing_betting.engine.RaceRules;
+import com.example.horse_racing_betting.engine.rng.RaceRandom;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Estimates finish-position odds by running the race engine many times in parallel.
+ *
+ * Work is cut into fixed-size chunks and spread over a fork-join pool. Every chunk has
+ * its own RNG stream derived from the request seed and the chunk index, so results do
+ * not depend on which worker picked up which chunk, and workers never share a generator.
+ * The first {@link #MIN_CHUNKS} chunks always run; later chunks that start after the time
+ * budget has run out are skipped, so only estimates past that minimum depend on timing.
+ * With {@link #NO_BUDGET} the estimate is a pure function of its arguments.
+ *
+ * The simulated engines carry the same pack and incident models as the races that get
+ * settled, so the odds describe the race actually run.
+ */
+public final class MonteCarloOdds {
+
+    /** Budget that never runs out: every requested race is run. */
+    public static final long NO_BUDGET = Long.MAX_VALUE;
+
+    static final int CHUNK_RACES = 2_048;
+    static final int MIN_CHUNKS = 4;      // run whatever the budget, so no estimate is near-empty
+
+    private final int horseCount;
+    private final RaceRules rules;
+    private final PackPhysics physics;       // null: no pack racing
+    private final IncidentRules incidents;   // null: no incidents
+    private final HorseProfile[] profiles;
+    private final ForkJoinPool pool;
+
+    public MonteCarloOdds(int horseCount, RaceRules rules, ForkJoinPool pool) {
+        this(horseCount, rules, null, pool);
+    }
+
+    /** Odds for a field of distinct horses; {@code profiles} may be null for identical ones. */
+    public MonteCarloOdds(int horseCount, RaceRules rules, HorseProfile[] profiles, ForkJoinPool pool) {
+        this(horseCount, rules, null, null, profiles, pool);
+    }
+
+    /** Odds under the full race model; {@code physics} and {@code incidents} may be null, as for RaceEngine. */
+    public MonteCarloOdds(int horseCount, RaceRules rules, PackPhysics physics, IncidentRules incidents,
+                          HorseProfile[] profiles, ForkJoinPool pool) {
+        if (horseCount <= 0) throw new IllegalArgumentException("horseCount must be > 0");
+        if (profiles != null && profiles.length != horseCount) {
+            throw new IllegalArgumentException("need " + horseCount + " profiles, got " + profiles.length);
+        }
+        this.horseCount = horseCount;
+        this.rules = rules;
+        this.physics = physics;
+        this.incidents = incidents;
+        this.profiles = profiles != null ? profiles.clone() : null;
+        this.pool = pool;
+    }
+
+    /**
+     * Runs up to {@code maxRaces} races, skipping chunks past the first {@link #MIN_CHUNKS}
+     * once {@code budgetNanos} elapsed ({@link #NO_BUDGET} for none).
+     * Blocks the calling thread; call it off the UI thread.
+     */
+    public OddsTable estimate(long seed, int maxRaces, long budgetNanos) {
+        if (maxRaces <= 0) throw new IllegalArgumentException("maxRaces must be > 0");
+        int chunks = (maxRaces + CHUNK_RACES - 1) / CHUNK_RACES;
+        boolean timed = budgetNanos != NO_BUDGET;
+        long deadline = System.nanoTime() + (timed ? budgetNanos : 0);
+
+        Partial total = pool.invoke(new ChunkTask(seed, maxRaces, 0, chunks, timed, deadline));
+        return new OddsTable(horseCount, total.races, total.counts);
+    }
+
+    private static final class Partial {
+        final long[] counts;
+        long races;
+
+        Partial(int horseCount) {
+            counts = new long[horseCount * horseCount];
+        }
+
+        Partial merge(Partial other) {
+            for (int i = 0; i < counts.length; i++) counts[i] += other.counts[i];
+            races += other.races;
+            return this;
+        }
+    }
+
+    private final class ChunkTask extends RecursiveTask<Partial> {
+        private static final long serialVersionUID = 1L;
+
+        private final long seed;
+        private final int maxRaces;
+        private final int fromChunk, toChunk;
+        private final boolean timed;
+        private final long deadline;
+
+        ChunkTask(long seed, int maxRaces, int fromChunk, int toChunk, boolean timed, long deadline) {
+            this.seed = seed;
+            this.maxRaces = maxRaces;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.timed = timed;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (toChunk - fromChunk > 1) {
+                int mid = (fromChunk + toChunk) >>> 1;
+                ChunkTask left = new ChunkTask(seed, maxRaces, fromChunk, mid, timed, deadline);
+                left.fork();
+                Partial right = new ChunkTask(seed, maxRaces, mid, toChunk, timed, deadline).compute();
+                return right.merge(left.join());
+            }
+            return runChunk(fromChunk);
+        }
+
+        private Partial runChunk(int chunk) {
+            Partial partial = new Partial(horseCount);
+            if (timed && chunk >= MIN_CHUNKS && System.nanoTime() - deadline > 0) return partial;
+
+            int races = Math.min(CHUNK_RACES, maxRaces - chunk * CHUNK_RACES);
+            RaceRandom stream = RaceRandom.forStream(seed, chunk);
+            RaceEngine engine = new RaceEngine(horseCount, rules, physics, incidents);
+            engine.setProfiles(profiles);
+            long[] counts = partial.counts;
+
+            for (int r = 0; r < races; r++) {
+                engine.reset(stream.nextLong());
+                engine.run();
+                for (int rank = 0; rank < horseCount; rank++) {
+                    counts[engine.getLaneAtRank(rank) * horseCount + rank]++;
+                }
+            }
+            partial.races = races;
+            return partial;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.horse_racing_betting.engine.odds;
+
+/**
+ * Immutable finish-position distribution per horse, either counted over simulated races
+ * ({@link MonteCarloOdds}) or computed directly ({@link AnalyticalOdds}).
+ * Lanes and ranks are 0-based.
+ */
+public final class OddsTable {
+
+    private final int horseCount;
+    private final long races;
+    private final long[] counts;          // counts[lane * horseCount + rank]; null when computed
+    private final double[] probabilities; // same layout
+
+    OddsTable(int horseCount, long races, long[] counts) {
+        this.horseCount = horseCount;
+        this.races = races;
+        this.counts = counts;
+        this.probabilities = new double[counts.length];
+        if (races > 0) {
+            for (int i = 0; i < counts.length; i++) probabilities[i] = (double) counts[i] / races;
+        }
+    }
+
+    private OddsTable(int horseCount, double[] probabilities) {
+        this.horseCount = horseCount;
+        this.races = 0;
+        this.counts = null;
+        this.probabilities = probabilities;
+    }
+
+    /** Table of computed probabilities, laid out like the counts. */
+    static OddsTable computed(int horseCount, double[] probabilities) {
+        return new OddsTable(horseCount, probabilities);
+    }
+
+    public int getHorseCount() { return horseCount; }
+
+    /** Number of races the estimate is based on; 0 for a computed table. */
+    public long getRaces() { return races; }
+
+    /** True when the probabilities were computed rather than counted. */
+    public boolean isComputed() { return counts == null; }
+
+    public long getCount(int lane, int rank) {
+        if (counts == null) throw new IllegalStateException("computed table has no counts");
+        return counts[lane * horseCount + rank];
+    }
+
+    /** Probability that the horse in {@code lane} finishes exactly at {@code rank}. */
+    public double getProbability(int lane, int rank) {
+        return probabilities[lane * horseCount + rank];
+    }
+
+    public double getWinProbability(int lane) {
+        return getProbability(lane, 0);
+    }
+
+    /** Probability of finishing within the first {@code places} ranks. */
+    public double getPlaceProbability(int lane, int places) {
+        double sum = 0;
+        int last = Math.min(places, horseCount);
+        for (int rank = 0; rank < last; rank++) sum += getProbability(lane, rank);
+        return sum;
+    }
+}
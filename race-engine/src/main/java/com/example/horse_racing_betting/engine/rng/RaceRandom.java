@@ -0,0 +1,109 @@
+package com.example.horse_racing_betting.engine.rng;
+
+/**
+ * Fast, seedable generator for the simulation (xoshiro256++ seeded through SplitMix64).
+ *
+ * Unlike {@link java.util.Random} there is no atomic update per call, and a generator can
+ * be split into independent streams: {@link #forStream(long, long)} derives one per race
+ * or per worker from a root seed, so parallel work is reproducible no matter which thread
+ * runs which stream. {@link #fillFloats} draws two floats per 64-bit step for tick loops.
+ *
+ * The same seed always yields the same sequence on every JVM and device. Not thread-safe;
+ * give each thread its own instance.
+ */
+public final class RaceRandom {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final float FLOAT_UNIT = 0x1.0p-24f;
+
+    private long s0, s1, s2, s3;
+
+    public RaceRandom(long seed) {
+        setSeed(seed);
+    }
+
+    /** Generator for stream {@code stream} of {@code seed}; streams do not overlap in practice. */
+    public static RaceRandom forStream(long seed, long stream) {
+        return new RaceRandom(seed ^ mix64((stream + 1) * GOLDEN_GAMMA));
+    }
+
+    /** Restarts the sequence; equivalent to a new generator with this seed. */
+    public void setSeed(long seed) {
+        long x = seed;
+        s0 = mix64(x += GOLDEN_GAMMA);
+        s1 = mix64(x += GOLDEN_GAMMA);
+        s2 = mix64(x += GOLDEN_GAMMA);
+        s3 = mix64(x + GOLDEN_GAMMA);
+    }
+
+    /** New generator seeded from this one's next output. */
+    public RaceRandom split() {
+        return new RaceRandom(nextLong());
+    }
+
+    public long nextLong() {
+        final long result = Long.rotateLeft(s0 + s3, 23) + s0;
+        final long t = s1 << 17;
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+        return result;
+    }
+
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    /** Uniform in {@code [0, bound)} by multiply-shift; bias is below {@code bound / 2^32}. */
+    public int nextInt(int bound) {
+        if (bound <= 0) throw new IllegalArgumentException("bound must be > 0");
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    /** Uniform in {@code [0, 1)} with 24 random bits, like {@link java.util.Random#nextFloat()}. */
+    public float nextFloat() {
+        return (nextLong() >>> 40) * FLOAT_UNIT;
+    }
+
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    /**
+     * Fills {@code out[from..to)} with uniform 24-bit integers, two per 64-bit step.
+     * Same bits as {@link #fillFloats}, for fixed-point tick loops.
+     */
+    public void fillBits24(int[] out, int from, int to) {
+        int i = from;
+        for (; i + 1 < to; i += 2) {
+            final long bits = nextLong();
+            out[i] = (int) (bits >>> 40);
+            out[i + 1] = (int) bits >>> 8;
+        }
+        if (i < to) out[i] = (int) (nextLong() >>> 40);
+    }
+
+    /**
+     * Fills {@code out[from..to)} with uniforms in {@code [0, 1)}, two per 64-bit step.
+     * Not the same values as repeated {@link #nextFloat()} calls, but just as reproducible.
+     */
+    public void fillFloats(float[] out, int from, int to) {
+        int i = from;
+        for (; i + 1 < to; i += 2) {
+            final long bits = nextLong();
+            out[i] = (bits >>> 40) * FLOAT_UNIT;
+            out[i + 1] = ((int) bits >>> 8) * FLOAT_UNIT;
+        }
+        if (i < to) out[i] = nextFloat();
+    }
+
+    // SplitMix64 finalizer
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.horse_racing_betting.engine.season;
+
+/**
+ * Shape of a season: a number of meetings over one roster, each meeting a knockout.
+ *
+ * Every race has {@code fieldSize} horses and the top half advances, so each round has
+ * half the races of the one before until a single final decides the meeting. The roster
+ * must therefore be {@code fieldSize} times a power of two.
+ */
+public final class SeasonPlan {
+
+    private final int rosterSize;
+    private final int fieldSize;
+    private final int meetings;
+    private final int rounds;
+
+    public SeasonPlan(int rosterSize, int fieldSize, int meetings) {
+        if (fieldSize < 2 || (fieldSize & 1) != 0) throw new IllegalArgumentException("fieldSize must be even: " + fieldSize);
+        if (meetings <= 0) throw new IllegalArgumentException("meetings must be > 0");
+        int heats = rosterSize / fieldSize;
+        if (rosterSize <= 0 || rosterSize % fieldSize != 0 || Integer.bitCount(heats) != 1) {
+            throw new IllegalArgumentException("roster " + rosterSize + " is not " + fieldSize + " x 2^k");
+        }
+        this.rosterSize = rosterSize;
+        this.fieldSize = fieldSize;
+        this.meetings = meetings;
+        this.rounds = Integer.numberOfTrailingZeros(heats) + 1;
+    }
+
+    public int getRosterSize() { return rosterSize; }
+    public int getFieldSize() { return fieldSize; }
+    public int getMeetings() { return meetings; }
+
+    /** Rounds per meeting, heats first and the final last. */
+    public int getRounds() { return rounds; }
+
+    public int getRacesInRound(int round) {
+        return (rosterSize / fieldSize) >>> round;
+    }
+
+    public int getRacesPerMeeting() {
+        return 2 * (rosterSize / fieldSize) - 1;
+    }
+
+    public long getTotalRaces() {
+        return (long) meetings * getRacesPerMeeting();
+    }
+
+    public boolean isFinal(int round) {
+        return round == rounds - 1;
+    }
+}
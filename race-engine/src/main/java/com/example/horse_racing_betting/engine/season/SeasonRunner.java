@@ -0,0 +1,206 @@
+package com.example.horse_racing_betting.engine.season;
+
+import com.example.horse_racing_betting.engine.HorseProfile;
+import com.example.horse_racing_betting.engine.IncidentRules;
+import com.example.horse_racing_betting.engine.PackPhysics;
+import com.example.horse_racing_betting.engine.RaceEngine;
+import com.example.horse_racing_betting.engine.RaceRules;
+import com.example.horse_racing_betting.engine.rng.RaceRandom;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Simulates a whole {@link SeasonPlan} headlessly on a fork-join pool.
+ *
+ * Meetings are independent and split across workers; inside a meeting the rounds run
+ * in order on one worker with a single reused {@link RaceEngine}. Every meeting draws
+ * from its own RNG stream of the season seed, so the final table does not depend on
+ * the pool size or on scheduling. Each race is scored into the shared
+ * {@link SeasonStandings} as soon as it finishes.
+ *
+ * Heats run under the same pack, incident and horse-profile models as a played race.
+ * A season with a player leaves {@link #FEATURED_MEETING} out of its runs: that meeting's
+ * first heat is the player's race over roster horses {@code 0..fieldSize-1}, and once the
+ * race is over {@link #runFeaturedMeeting} scores it as the heat and runs the rest.
+ */
+public final class SeasonRunner {
+
+    /** Called on a worker thread after every finished meeting. */
+    public interface ProgressListener {
+        void onMeetingFinished(int meetingsDone, SeasonStandings standings);
+    }
+
+    /** Meeting whose first heat is the player's race. */
+    public static final int FEATURED_MEETING = 0;
+
+    private final SeasonPlan plan;
+    private final RaceRules rules;
+    private final PackPhysics physics;       // null: no pack racing
+    private final IncidentRules incidents;   // null: no incidents
+    private final HorseProfile[] roster;     // by roster horse; null for identical horses
+    private final ForkJoinPool pool;
+    private final AtomicInteger meetingsDone = new AtomicInteger();
+    private volatile boolean cancelled;
+
+    public SeasonRunner(SeasonPlan plan, RaceRules rules, ForkJoinPool pool) {
+        this(plan, rules, null, null, null, pool);
+    }
+
+    /**
+     * A season under the full race model; {@code physics} and {@code incidents} may be null,
+     * as for RaceEngine, and {@code roster} (one profile per roster horse) for identical horses.
+     */
+    public SeasonRunner(SeasonPlan plan, RaceRules rules, PackPhysics physics, IncidentRules incidents,
+                        HorseProfile[] roster, ForkJoinPool pool) {
+        if (roster != null && roster.length != plan.getRosterSize()) {
+            throw new IllegalArgumentException("need " + plan.getRosterSize() + " profiles, got " + roster.length);
+        }
+        this.plan = plan;
+        this.rules = rules;
+        this.physics = physics;
+        this.incidents = incidents;
+        this.roster = roster != null ? roster.clone() : null;
+        this.pool = pool;
+    }
+
+    /**
+     * Runs every meeting into {@code standings} and returns it. Blocks the calling
+     * thread; call it off the UI thread. {@code listener} may be null.
+     */
+    public SeasonStandings run(long seed, SeasonStandings standings, ProgressListener listener) {
+        return run(seed, standings, 0, plan.getMeetings(), listener);
+    }
+
+    /**
+     * Runs meetings {@code from} (inclusive) to {@code to} (exclusive), so a caller can
+     * publish the table between batches; meetings are counted from {@code from}.
+     */
+    public SeasonStandings run(long seed, SeasonStandings standings, int from, int to, ProgressListener listener) {
+        checkRoster(standings);
+        if (from < 0 || to > plan.getMeetings() || from > to) {
+            throw new IllegalArgumentException("meetings " + from + ".." + to + " of " + plan.getMeetings());
+        }
+        meetingsDone.set(0);
+        pool.invoke(new MeetingTask(seed, standings, listener, from, to));
+        return standings;
+    }
+
+    /**
+     * Scores the player's race as the first heat of {@link #FEATURED_MEETING} and runs the
+     * rest of that meeting on the calling thread. {@code finishOrder} holds the lanes in
+     * finishing order; lane {@code l} is roster horse {@code l}.
+     */
+    public void runFeaturedMeeting(long seed, SeasonStandings standings, int[] finishOrder,
+                                   ProgressListener listener) {
+        checkRoster(standings);
+        if (finishOrder.length != plan.getFieldSize()) {
+            throw new IllegalArgumentException("featured heat needs " + plan.getFieldSize() + " horses");
+        }
+        if (cancelled) return;
+        new Meeting(standings).run(RaceRandom.forStream(seed, FEATURED_MEETING), finishOrder);
+        int done = meetingsDone.incrementAndGet();
+        if (listener != null) listener.onMeetingFinished(done, standings);
+    }
+
+    /** Stops scheduling meetings; ones already running finish. */
+    public void cancel() { cancelled = true; }
+
+    public boolean isCancelled() { return cancelled; }
+
+    private void checkRoster(SeasonStandings standings) {
+        if (standings.getRosterSize() != plan.getRosterSize()) {
+            throw new IllegalArgumentException("standings are for a different roster");
+        }
+    }
+
+    private final class MeetingTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long seed;
+        private final SeasonStandings standings;
+        private final ProgressListener listener;
+        private final int from, to;
+
+        MeetingTask(long seed, SeasonStandings standings, ProgressListener listener, int from, int to) {
+            this.seed = seed;
+            this.standings = standings;
+            this.listener = listener;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (from >= to) return;
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new MeetingTask(seed, standings, listener, from, mid),
+                        new MeetingTask(seed, standings, listener, mid, to));
+                return;
+            }
+            if (cancelled) return;
+            new Meeting(standings).run(RaceRandom.forStream(seed, from), null);
+            int done = meetingsDone.incrementAndGet();
+            if (listener != null) listener.onMeetingFinished(done, standings);
+        }
+    }
+
+    // One knockout meeting on one thread, with a single reused engine
+    private final class Meeting {
+        private final SeasonStandings standings;
+        private final RaceEngine engine;
+        private final HorseProfile[] lanes;
+
+        Meeting(SeasonStandings standings) {
+            this.standings = standings;
+            this.engine = new RaceEngine(plan.getFieldSize(), rules, physics, incidents);
+            this.lanes = roster != null ? new HorseProfile[plan.getFieldSize()] : null;
+        }
+
+        // featured: finish order of the player's heat, which holds roster horses 0..field-1
+        void run(RaceRandom random, int[] featured) {
+            final int field = plan.getFieldSize();
+            final int half = field / 2;
+
+            int[] entrants = new int[plan.getRosterSize()];
+            for (int i = 0; i < entrants.length; i++) entrants[i] = i;
+            // Fisher-Yates draw for the heats; the featured heat keeps its horses
+            final int drawn = featured != null ? field : 0;
+            for (int i = entrants.length - 1; i > drawn; i--) {
+                int j = drawn + random.nextInt(i - drawn + 1);
+                int t = entrants[i];
+                entrants[i] = entrants[j];
+                entrants[j] = t;
+            }
+            int[] qualifiers = new int[entrants.length / 2];
+
+            for (int round = 0; round < plan.getRounds(); round++) {
+                final int races = plan.getRacesInRound(round);
+                final boolean isFinal = plan.isFinal(round);
+                for (int race = 0; race < races; race++) {
+                    if (featured != null && round == 0 && race == 0) {
+                        standings.record(featured, round, isFinal);
+                        for (int rank = 0; rank < half && !isFinal; rank++) qualifiers[rank] = featured[rank];
+                        continue;
+                    }
+                    if (lanes != null) {
+                        for (int lane = 0; lane < field; lane++) lanes[lane] = roster[entrants[race * field + lane]];
+                        engine.setProfiles(lanes);
+                    }
+                    engine.reset(random.nextLong());
+                    engine.run();
+                    standings.record(engine, entrants, race * field, round, isFinal);
+                    // top half goes through; neighbouring heats meet in the next round
+                    for (int rank = 0; rank < half && !isFinal; rank++) {
+                        qualifiers[race * half + rank] = entrants[race * field + engine.getLaneAtRank(rank)];
+                    }
+                }
+                int[] t = entrants;
+                entrants = qualifiers;
+                qualifiers = t;
+            }
+        }
+    }
+}
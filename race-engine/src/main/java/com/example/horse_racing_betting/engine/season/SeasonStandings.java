@@ -0,0 +1,90 @@
+package com.example.horse_racing_betting.engine.season;
+
+import com.example.horse_racing_betting.engine.RaceView;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Season table, updated race by race from any number of worker threads.
+ *
+ * Recording a race is a handful of atomic adds on per-horse counters, so heats can be
+ * scored the moment they finish without locking the table; readers see a consistent
+ * total for every finished race. Sums do not depend on the order races are recorded in.
+ *
+ * A race earns {@code (fieldSize - rank)} points, multiplied by {@code round + 1} so
+ * later rounds count for more.
+ */
+public final class SeasonStandings {
+
+    private final int rosterSize;
+    private final AtomicLongArray points;
+    private final AtomicIntegerArray starts;
+    private final AtomicIntegerArray wins;
+    private final AtomicIntegerArray titles;
+    private final AtomicLong races = new AtomicLong();
+
+    public SeasonStandings(int rosterSize) {
+        if (rosterSize <= 0 || rosterSize > 0xFFFF) throw new IllegalArgumentException("rosterSize " + rosterSize);
+        this.rosterSize = rosterSize;
+        this.points = new AtomicLongArray(rosterSize);
+        this.starts = new AtomicIntegerArray(rosterSize);
+        this.wins = new AtomicIntegerArray(rosterSize);
+        this.titles = new AtomicIntegerArray(rosterSize);
+    }
+
+    /**
+     * Scores a finished race. Lane {@code l} of {@code race} is roster horse
+     * {@code horses[offset + l]}.
+     */
+    public void record(RaceView race, int[] horses, int offset, int round, boolean isFinal) {
+        final int field = race.getHorseCount();
+        for (int rank = 0; rank < field; rank++) {
+            score(horses[offset + race.getLaneAtRank(rank)], field - rank, rank == 0, round, isFinal);
+        }
+        races.incrementAndGet();
+    }
+
+    /** Scores a race run elsewhere; {@code finishOrder} holds roster horses, winner first. */
+    public void record(int[] finishOrder, int round, boolean isFinal) {
+        final int field = finishOrder.length;
+        for (int rank = 0; rank < field; rank++) {
+            score(finishOrder[rank], field - rank, rank == 0, round, isFinal);
+        }
+        races.incrementAndGet();
+    }
+
+    private void score(int horse, int basePoints, boolean won, int round, boolean isFinal) {
+        points.addAndGet(horse, (long) basePoints * (round + 1));
+        starts.incrementAndGet(horse);
+        if (won) {
+            wins.incrementAndGet(horse);
+            if (isFinal) titles.incrementAndGet(horse);
+        }
+    }
+
+    public int getRosterSize() { return rosterSize; }
+    public long getRacesRecorded() { return races.get(); }
+    public long getPoints(int horse) { return points.get(horse); }
+    public int getStarts(int horse) { return starts.get(horse); }
+    public int getWins(int horse) { return wins.get(horse); }
+    public int getTitles(int horse) { return titles.get(horse); }
+
+    /** The {@code count} best horses, most points first (lower number on ties). Allocates. */
+    public int[] getLeaders(int count) {
+        count = Math.min(count, rosterSize);
+        // pack points and inverted horse id into one key so a primitive sort ranks both
+        long[] keys = new long[rosterSize];
+        for (int horse = 0; horse < rosterSize; horse++) {
+            keys[horse] = (points.get(horse) << 16) | (0xFFFF - horse);
+        }
+        Arrays.sort(keys);
+        int[] leaders = new int[count];
+        for (int i = 0; i < count; i++) {
+            leaders[i] = 0xFFFF - (int) (keys[rosterSize - 1 - i] & 0xFFFF);
+        }
+        return leaders;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.horse_racing_betting.engine.settle;
+
+import java.util.Arrays;
+
+/**
+ * Bets of many slips, kept as parallel {@code int} arrays so a batch of any size is
+ * settled without touching an object per bet.
+ *
+ * A slip is one player's set of bets, numbered from 0; its bets need not be adjacent.
+ * Each bet has a {@link BetKind} and a selection: the lane for a win bet, the combination
+ * rank ({@link BetKind#rank}) otherwise. Lanes are 0-based, like the engine's. Clear and
+ * refill a batch to reuse its arrays.
+ */
+public final class BetBatch {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] slips;
+    private int[] kinds;
+    private int[] selections;
+    private int[] stakes;
+    private int size;
+    private int slipCount;
+
+    public BetBatch() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public BetBatch(int expectedBets) {
+        int capacity = Math.max(1, expectedBets);
+        this.slips = new int[capacity];
+        this.kinds = new int[capacity];
+        this.selections = new int[capacity];
+        this.stakes = new int[capacity];
+    }
+
+    /** Adds a win bet of {@code stake} coins on {@code lane} to slip {@code slip}. */
+    public void add(int slip, int lane, int stake) {
+        add(slip, BetKind.WIN, lane, stake);
+    }
+
+    /** Adds a bet of {@code stake} coins on selection {@code selection} of {@code kind}. */
+    public void add(int slip, int kind, int selection, int stake) {
+        if (slip < 0) throw new IllegalArgumentException("slip must be >= 0");
+        if (kind < 0 || kind >= BetKind.COUNT) throw new IllegalArgumentException("unknown bet kind " + kind);
+        if (selection < 0) throw new IllegalArgumentException("selection must be >= 0");
+        if (stake < 0) throw new IllegalArgumentException("stake must be >= 0");
+        if (size == stakes.length) grow();
+        slips[size] = slip;
+        kinds[size] = kind;
+        selections[size] = selection;
+        stakes[size] = stake;
+        size++;
+        if (slip >= slipCount) slipCount = slip + 1;
+    }
+
+    public void clear() {
+        size = 0;
+        slipCount = 0;
+    }
+
+    public int size() { return size; }
+
+    /** One more than the highest slip number added. */
+    public int getSlipCount() { return slipCount; }
+
+    public int getSlip(int bet) { return slips[bet]; }
+    public int getKind(int bet) { return kinds[bet]; }
+    /** The lane of a win bet, the combination rank of any other. */
+    public int getSelection(int bet) { return selections[bet]; }
+    public int getStake(int bet) { return stakes[bet]; }
+
+    // Package access for the settlement loop, which reads the arrays directly
+    int[] slips() { return slips; }
+    int[] kinds() { return kinds; }
+    int[] selections() { return selections; }
+    int[] stakes() { return stakes; }
+
+    private void grow() {
+        int capacity = stakes.length * 2;
+        slips = Arrays.copyOf(slips, capacity);
+        kinds = Arrays.copyOf(kinds, capacity);
+        selections = Arrays.copyOf(selections, capacity);
+        stakes = Arrays.copyOf(stakes, capacity);
+    }
+}
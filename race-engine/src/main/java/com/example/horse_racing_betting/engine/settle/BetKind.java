@@ -0,0 +1,144 @@
+package com.example.horse_racing_betting.engine.settle;
+
+/**
+ * Bet types, and the numbering of their selections.
+ *
+ * A bet's selection is a single {@code int}: the lane for a win bet, otherwise the rank of
+ * its horse combination among all combinations of its kind in an N-horse field. Ranks are
+ * dense, 0 to {@link #combinations} - 1, so everything kept per combination (stakes,
+ * liability) lives in a flat array indexed by rank.
+ *
+ * Lanes are 0-based, like the engine's.
+ */
+public final class BetKind {
+
+    /** One horse to win. */
+    public static final int WIN = 0;
+    /** Two horses to finish first and second, in that order. */
+    public static final int EXACTA = 1;
+    /** Two horses to finish first and second, in either order. */
+    public static final int QUINELLA = 2;
+    /** Three horses to finish first, second and third, in that order. */
+    public static final int TRIFECTA = 3;
+
+    public static final int COUNT = 4;
+
+    private static final String[] NAMES = {"Win", "Exacta", "Quinella", "Trifecta"};
+    private static final int[] HORSES = {1, 2, 2, 3};
+
+    private BetKind() { }
+
+    public static String name(int kind) { return NAMES[check(kind)]; }
+
+    /** How many horses a bet of this kind names. */
+    public static int horsesIn(int kind) { return HORSES[check(kind)]; }
+
+    public static boolean isOrdered(int kind) { return check(kind) != QUINELLA; }
+
+    /** Number of distinct selections of this kind in a field of {@code horseCount}. */
+    public static int combinations(int kind, int horseCount) {
+        long n = horseCount;
+        long count;
+        switch (check(kind)) {
+            case WIN:      count = n; break;
+            case EXACTA:   count = n * (n - 1); break;
+            case QUINELLA: count = n * (n - 1) / 2; break;
+            default:       count = n * (n - 1) * (n - 2); break;
+        }
+        if (count > Integer.MAX_VALUE) throw new IllegalArgumentException("field too large for " + name(kind));
+        return (int) Math.max(0, count);
+    }
+
+    /**
+     * Rank of the selection naming {@code lanes} (in finishing order for ordered kinds, any
+     * order for a quinella).
+     */
+    public static int rank(int kind, int horseCount, int... lanes) {
+        if (lanes.length != horsesIn(kind)) {
+            throw new IllegalArgumentException(name(kind) + " names " + horsesIn(kind) + " horses");
+        }
+        for (int i = 0; i < lanes.length; i++) {
+            if (lanes[i] < 0 || lanes[i] >= horseCount) throw new IllegalArgumentException("no lane " + lanes[i]);
+            for (int j = 0; j < i; j++) {
+                if (lanes[i] == lanes[j]) throw new IllegalArgumentException("lane " + lanes[i] + " named twice");
+            }
+        }
+        return rankOf(kind, horseCount, lanes[0], lanes.length > 1 ? lanes[1] : 0, lanes.length > 2 ? lanes[2] : 0);
+    }
+
+    /** Rank of the selection that wins when the race finishes in {@code finishOrder}. */
+    public static int winningRank(int kind, int[] finishOrder) {
+        int n = finishOrder.length;
+        return rankOf(kind, n, finishOrder[0], n > 1 ? finishOrder[1] : 0, n > 2 ? finishOrder[2] : 0);
+    }
+
+    /**
+     * Writes the lanes of selection {@code rank} to {@code lanes}, in finishing order for
+     * ordered kinds and lowest lane first for a quinella.
+     */
+    public static void unrank(int kind, int horseCount, int rank, int[] lanes) {
+        if (rank < 0 || rank >= combinations(kind, horseCount)) throw new IllegalArgumentException("no selection " + rank);
+        final int n = horseCount;
+        switch (kind) {
+            case WIN:
+                lanes[0] = rank;
+                break;
+            case EXACTA: {
+                int a = rank / (n - 1);
+                int b = rank % (n - 1);
+                lanes[0] = a;
+                lanes[1] = b >= a ? b + 1 : b;
+                break;
+            }
+            case QUINELLA: {
+                int b = (int) ((1 + Math.sqrt(1 + 8.0 * rank)) / 2);
+                while (b * (b - 1) / 2 > rank) b--;
+                while ((b + 1) * b / 2 <= rank) b++;
+                lanes[0] = rank - b * (b - 1) / 2;
+                lanes[1] = b;
+                break;
+            }
+            default: {
+                int perFirst = (n - 1) * (n - 2);
+                int a = rank / perFirst;
+                int b = rank % perFirst / (n - 2);
+                int c = rank % (n - 2);
+                if (b >= a) b++;
+                // c skips both a and b, lower one first
+                int lo = Math.min(a, b);
+                int hi = Math.max(a, b);
+                if (c >= lo) c++;
+                if (c >= hi) c++;
+                lanes[0] = a;
+                lanes[1] = b;
+                lanes[2] = c;
+                break;
+            }
+        }
+    }
+
+    // Mixed radix over the lanes not already named; a quinella ranks its pair in colex order
+    private static int rankOf(int kind, int n, int a, int b, int c) {
+        switch (kind) {
+            case WIN:
+                return a;
+            case EXACTA:
+                return a * (n - 1) + (b > a ? b - 1 : b);
+            case QUINELLA: {
+                int lo = Math.min(a, b);
+                int hi = Math.max(a, b);
+                return hi * (hi - 1) / 2 + lo;
+            }
+            default: {
+                int b1 = b > a ? b - 1 : b;
+                int c1 = c - (c > a ? 1 : 0) - (c > b ? 1 : 0);
+                return (a * (n - 1) + b1) * (n - 2) + c1;
+            }
+        }
+    }
+
+    private static int check(int kind) {
+        if (kind < 0 || kind >= COUNT) throw new IllegalArgumentException("unknown bet kind " + kind);
+        return kind;
+    }
+}
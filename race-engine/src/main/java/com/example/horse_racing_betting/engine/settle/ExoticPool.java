@@ -0,0 +1,77 @@
+package com.example.horse_racing_betting.engine.settle;
+
+import java.util.Arrays;
+
+/**
+ * Stakes on every selection of one {@link BetKind} in an N-horse field, in a flat array
+ * indexed by selection rank: adding a stake, reading a combination's total, its liability
+ * and its pari-mutuel dividend are all O(1).
+ *
+ * Not thread-safe. A trifecta pool holds N(N-1)(N-2) totals, about 250,000 for 64 horses.
+ */
+public final class ExoticPool {
+
+    private final int kind;
+    private final int horseCount;
+    private final int takeMillis;
+    private final long[] stakes;
+    private long total;
+
+    /** @param takeMillis house take in thousandths of the pool, 0..999 */
+    public ExoticPool(int kind, int horseCount, int takeMillis) {
+        if (horseCount <= 0) throw new IllegalArgumentException("horseCount must be > 0");
+        if (takeMillis < 0 || takeMillis >= 1000) throw new IllegalArgumentException("takeMillis must be 0..999");
+        this.kind = kind;
+        this.horseCount = horseCount;
+        this.takeMillis = takeMillis;
+        this.stakes = new long[BetKind.combinations(kind, horseCount)];
+    }
+
+    public int getKind() { return kind; }
+    public int getHorseCount() { return horseCount; }
+    public int getCombinationCount() { return stakes.length; }
+
+    public void stake(int rank, long amount) {
+        if (amount < 0) throw new IllegalArgumentException("amount must be >= 0");
+        stakes[rank] += amount;
+        total += amount;
+    }
+
+    public long getStake(int rank) { return stakes[rank]; }
+    public long getTotal() { return total; }
+    /** What the winners share: the pool minus the house's take, rounded down. */
+    public long getNetPool() { return total - total * takeMillis / 1000; }
+
+    /** Coins owed on {@code rank} if it comes in at a fixed {@code millis} per unit staked. */
+    public long getLiability(int rank, int millis) {
+        return stakes[rank] * millis / 1000;
+    }
+
+    /**
+     * Pari-mutuel return per unit staked on {@code rank} if it comes in, in thousandths and
+     * rounded down; 0 while nothing is staked on it. Capped at {@link Integer#MAX_VALUE}.
+     */
+    public int getDividendMillis(int rank) {
+        if (stakes[rank] == 0) return 0;
+        return (int) Math.min(Integer.MAX_VALUE, getNetPool() * 1000 / stakes[rank]);
+    }
+
+    /**
+     * Sets {@code engine}'s rates for this kind to the pool's, for the race that finished
+     * as the engine's last {@link SettlementEngine#setResult result}. With nothing staked on
+     * the winning combination there is no one to pay, so every stake is refunded.
+     */
+    public void applyDividend(SettlementEngine engine) {
+        int winner = engine.getWinningRank(kind);
+        if (stakes[winner] == 0) {
+            engine.setExoticRates(kind, 1000, 1000);
+        } else {
+            engine.setExoticRates(kind, getDividendMillis(winner), 0);
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(stakes, 0L);
+        total = 0;
+    }
+}
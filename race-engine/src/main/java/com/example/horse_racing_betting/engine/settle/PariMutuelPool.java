@@ -0,0 +1,85 @@
+package com.example.horse_racing_betting.engine.settle;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Totalizator win pool: every stake on a horse goes into the pool, and the horse's
+ * backers share the pool minus the house's take.
+ *
+ * Stakes may be added from any number of threads at once. Each horse's total is a
+ * striped {@link LongAdder}, so concurrent bettors rarely touch the same cache line.
+ * Odds are not recomputed per stake. {@link #getOdds(long)} refreshes them at most once
+ * per refresh interval, and only for the horses that took stakes since the last refresh.
+ */
+public final class PariMutuelPool {
+
+    private final int horseCount;
+    private final int takeMillis;
+    private final long refreshMillis;
+    private final LongAdder[] stakes;
+    private final AtomicIntegerArray dirty;   // 1 once a horse took a stake since its last refresh
+
+    // Refresh state, guarded by this
+    private final long[] totals;
+    private long pool;
+    private boolean refreshed;
+    private long refreshedAt;
+    private PoolOdds odds;
+
+    /**
+     * @param takeMillis    house take in thousandths of the pool, 0..999
+     * @param refreshMillis least time between two odds refreshes
+     */
+    public PariMutuelPool(int horseCount, int takeMillis, long refreshMillis) {
+        if (horseCount <= 0) throw new IllegalArgumentException("horseCount must be > 0");
+        if (takeMillis < 0 || takeMillis >= 1000) throw new IllegalArgumentException("takeMillis must be 0..999");
+        if (refreshMillis < 0) throw new IllegalArgumentException("refreshMillis must be >= 0");
+        this.horseCount = horseCount;
+        this.takeMillis = takeMillis;
+        this.refreshMillis = refreshMillis;
+        this.stakes = new LongAdder[horseCount];
+        for (int lane = 0; lane < horseCount; lane++) stakes[lane] = new LongAdder();
+        this.dirty = new AtomicIntegerArray(horseCount);
+        this.totals = new long[horseCount];
+        this.odds = new PoolOdds(new long[horseCount], 0, takeMillis);
+    }
+
+    public int getHorseCount() { return horseCount; }
+
+    /** Adds {@code amount} coins on {@code lane}; any thread. */
+    public void stake(int lane, long amount) {
+        if (amount < 0) throw new IllegalArgumentException("amount must be >= 0");
+        stakes[lane].add(amount);
+        // Read first, so a busy horse's flag is written once per refresh, not once per stake
+        if (dirty.get(lane) == 0) dirty.set(lane, 1);
+    }
+
+    /**
+     * Odds as of the last refresh, refreshing first if {@code refreshMillis} have passed
+     * since then; any thread.
+     *
+     * @param nowMillis the caller's clock, which only needs to be monotonic
+     */
+    public synchronized PoolOdds getOdds(long nowMillis) {
+        if (refreshed && nowMillis - refreshedAt < refreshMillis) return odds;
+        return refresh(nowMillis);
+    }
+
+    /** Refreshes the odds now, e.g. when betting closes; any thread. */
+    public synchronized PoolOdds refresh(long nowMillis) {
+        refreshed = true;
+        refreshedAt = nowMillis;
+        boolean changed = false;
+        for (int lane = 0; lane < horseCount; lane++) {
+            // Clear before summing: a stake that lands after the sum sets the flag again
+            if (dirty.get(lane) == 0 || dirty.getAndSet(lane, 0) == 0) continue;
+            long total = stakes[lane].sum();
+            pool += total - totals[lane];
+            totals[lane] = total;
+            changed = true;
+        }
+        if (changed) odds = new PoolOdds(totals.clone(), pool, takeMillis);
+        return odds;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.horse_racing_betting.engine.settle;
+
+/**
+ * An immutable view of a {@link PariMutuelPool}: stakes per horse and the dividends they
+ * imply. Dividends are in {@link com.example.horse_racing_betting.engine.PayoutTable#MILLIS_PER_UNIT
+ * thousandths} of the stake returned, so they settle through {@link SettlementEngine} with
+ * integer math like fixed-odds payouts do.
+ */
+public final class PoolOdds {
+
+    private final long[] stakes;
+    private final long pool;
+    private final int takeMillis;
+
+    PoolOdds(long[] stakes, long pool, int takeMillis) {
+        this.stakes = stakes;
+        this.pool = pool;
+        this.takeMillis = takeMillis;
+    }
+
+    public int getHorseCount() { return stakes.length; }
+    public long getStake(int lane) { return stakes[lane]; }
+    public long getPool() { return pool; }
+    /** What the winners share: the pool minus the house's take, rounded down. */
+    public long getNetPool() { return pool - pool * takeMillis / 1000; }
+
+    /**
+     * Return per unit staked on {@code lane} if it wins, in thousandths and rounded down;
+     * 0 while nothing is staked on it. Capped at {@link Integer#MAX_VALUE}.
+     */
+    public int getDividendMillis(int lane) {
+        if (stakes[lane] == 0) return 0;
+        return (int) Math.min(Integer.MAX_VALUE, getNetPool() * 1000 / stakes[lane]);
+    }
+
+    /** Payout multiplier shown to players, e.g. 3.4 for 3.4x. */
+    public double getDividend(int lane) {
+        return getDividendMillis(lane) / 1000.0;
+    }
+
+    /**
+     * Fills {@code millisByLane} with the payout rate of every lane when {@code winner} wins,
+     * for {@link SettlementEngine#setWinRates}. With nothing staked on the winner there is
+     * no one to pay, so every stake is refunded.
+     */
+    public void payoutRates(int winner, int[] millisByLane) {
+        if (millisByLane.length != stakes.length) throw new IllegalArgumentException("expected " + stakes.length + " lanes");
+        boolean refund = stakes[winner] == 0;
+        for (int lane = 0; lane < millisByLane.length; lane++) {
+            millisByLane[lane] = refund ? 1000 : 0;
+        }
+        if (!refund) millisByLane[winner] = getDividendMillis(winner);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.horse_racing_betting.engine.settle;
+
+import java.util.Arrays;
+
+/**
+ * Result of settling a {@link BetBatch}: stakes and payouts per slip, and their totals.
+ * Pass one back to {@link SettlementEngine#settle(int[], BetBatch, Settlement)} to reuse it.
+ */
+public final class Settlement {
+
+    private long[] staked = new long[0];
+    private long[] paid = new long[0];
+    private int slipCount;
+    private int betCount;
+    private long totalStaked;
+    private long totalPaid;
+
+    // Zeroes the first slipCount slips, growing the arrays if needed
+    void reset(int slipCount, int betCount) {
+        if (staked.length < slipCount) {
+            staked = new long[slipCount];
+            paid = new long[slipCount];
+        } else {
+            Arrays.fill(staked, 0, slipCount, 0L);
+            Arrays.fill(paid, 0, slipCount, 0L);
+        }
+        this.slipCount = slipCount;
+        this.betCount = betCount;
+    }
+
+    void setTotals(long totalStaked, long totalPaid) {
+        this.totalStaked = totalStaked;
+        this.totalPaid = totalPaid;
+    }
+
+    long[] staked() { return staked; }
+    long[] paid() { return paid; }
+
+    public int getSlipCount() { return slipCount; }
+    public int getBetCount() { return betCount; }
+
+    public long getStaked(int slip) { return staked[checkSlip(slip)]; }
+    public long getPaid(int slip) { return paid[checkSlip(slip)]; }
+    /** What the slip's player won or lost on the race. */
+    public long getNet(int slip) { return getPaid(slip) - getStaked(slip); }
+
+    public long getTotalStaked() { return totalStaked; }
+    public long getTotalPaid() { return totalPaid; }
+    /** House profit and loss: stakes taken minus payouts; negative when the house lost. */
+    public long getHouseProfit() { return totalStaked - totalPaid; }
+
+    private int checkSlip(int slip) {
+        if (slip < 0 || slip >= slipCount) throw new IllegalArgumentException("no slip " + slip);
+        return slip;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.horse_racing_betting.engine.settle;
+
+import com.example.horse_racing_betting.engine.PayoutTable;
+
+/**
+ * Settles batches of bets against one race's result with integer math.
+ *
+ * {@link #setResult} makes a single pass over the finish order. It turns the order into
+ * a payout rate per lane for win bets, in {@link PayoutTable#MILLIS_PER_UNIT thousandths},
+ * and into the winning combination rank of each exotic {@link BetKind}. Each bet is then
+ * one lookup or one comparison, one multiply and one divide, with no search and no
+ * boxing. Payouts round down per bet, exactly as {@link PayoutTable#payout(int, int)} does.
+ *
+ * Fixed odds come from the payout table for win bets. For exotics they are the fair odds of
+ * a field of equal horses less the house edge. Pari-mutuel pools replace either with their
+ * own rates after {@link #setResult}: {@link #setWinRates} for the win pool ({@link
+ * PoolOdds#payoutRates}), and {@link #setExoticRates} for an {@link ExoticPool}.
+ *
+ * Not thread-safe; use one engine per settling thread.
+ */
+public final class SettlementEngine {
+
+    private final PayoutTable payouts;
+    private final int horseCount;
+    private final int[] combinations = new int[BetKind.COUNT];
+    private final int[] fixedExoticMillis = new int[BetKind.COUNT];
+
+    // The race being settled
+    private final int[] millisByLane;
+    private final int[] winningRank = new int[BetKind.COUNT];
+    private final int[] hitMillis = new int[BetKind.COUNT];    // exotic rate on the winning combination
+    private final int[] missMillis = new int[BetKind.COUNT];   // and on every other one
+    private boolean hasResult;
+
+    public SettlementEngine(int horseCount, PayoutTable payouts) {
+        if (horseCount <= 0) throw new IllegalArgumentException("horseCount must be > 0");
+        this.horseCount = horseCount;
+        this.payouts = payouts;
+        this.millisByLane = new int[horseCount];
+        for (int kind = 0; kind < BetKind.COUNT; kind++) {
+            combinations[kind] = BetKind.combinations(kind, horseCount);
+            if (kind != BetKind.WIN) {
+                fixedExoticMillis[kind] = (int) Math.min(Integer.MAX_VALUE,
+                        Math.floor(PayoutTable.RETURN_TO_PLAYER * combinations[kind] * 10) * 100);
+            }
+        }
+    }
+
+    public int getHorseCount() { return horseCount; }
+
+    /** Fixed-odds return per unit on a winning {@code kind} exotic, in thousandths. */
+    public int getFixedExoticMillis(int kind) { return fixedExoticMillis[kind]; }
+
+    /** Settles {@code bets} against {@code finishOrder} (lanes, winner first) at fixed odds into a new result. */
+    public Settlement settle(int[] finishOrder, BetBatch bets) {
+        return settle(finishOrder, bets, new Settlement());
+    }
+
+    /**
+     * Settles {@code bets} against {@code finishOrder} (lanes, winner first) at fixed odds
+     * into {@code out}, overwriting what it held.
+     *
+     * @return {@code out}
+     */
+    public Settlement settle(int[] finishOrder, BetBatch bets, Settlement out) {
+        setResult(finishOrder);
+        return settle(bets, out);
+    }
+
+    /**
+     * Sets the race to settle, with fixed-odds rates, in one pass over {@code finishOrder}
+     * (lanes, winner first). Any number of batches can then be settled against it.
+     */
+    public void setResult(int[] finishOrder) {
+        if (finishOrder.length != horseCount) {
+            throw new IllegalArgumentException("finish order has " + finishOrder.length + " lanes, expected " + horseCount);
+        }
+        int first = -1, second = -1, third = -1;
+        for (int rank = 0; rank < horseCount; rank++) {
+            final int lane = finishOrder[rank];
+            millisByLane[lane] = payouts.getMillis(rank + 1);
+            if (rank == 0) first = lane;
+            else if (rank == 1) second = lane;
+            else if (rank == 2) third = lane;
+        }
+        winningRank[BetKind.WIN] = first;
+        winningRank[BetKind.EXACTA] = second < 0 ? -1 : BetKind.rank(BetKind.EXACTA, horseCount, first, second);
+        winningRank[BetKind.QUINELLA] = second < 0 ? -1 : BetKind.rank(BetKind.QUINELLA, horseCount, first, second);
+        winningRank[BetKind.TRIFECTA] = third < 0 ? -1 : BetKind.rank(BetKind.TRIFECTA, horseCount, first, second, third);
+        for (int kind = 0; kind < BetKind.COUNT; kind++) {
+            hitMillis[kind] = fixedExoticMillis[kind];
+            missMillis[kind] = 0;
+        }
+        hasResult = true;
+    }
+
+    /** Rank of the winning selection of {@code kind} in the current result; -1 if the field is too small. */
+    public int getWinningRank(int kind) {
+        checkResult();
+        return winningRank[kind];
+    }
+
+    /** Replaces the win rates of the current result, e.g. with {@link PoolOdds#payoutRates}. */
+    public void setWinRates(int[] rates) {
+        checkResult();
+        if (rates.length != horseCount) {
+            throw new IllegalArgumentException("rates for " + rates.length + " lanes, expected " + horseCount);
+        }
+        System.arraycopy(rates, 0, millisByLane, 0, horseCount);
+    }
+
+    /**
+     * Replaces the rates of exotic {@code kind} in the current result: {@code hitMillis} on
+     * the winning combination, {@code missMillis} (normally 0) on every other.
+     */
+    public void setExoticRates(int kind, int hitMillis, int missMillis) {
+        checkResult();
+        if (kind == BetKind.WIN) throw new IllegalArgumentException("win rates are per lane");
+        this.hitMillis[kind] = hitMillis;
+        this.missMillis[kind] = missMillis;
+    }
+
+    /**
+     * Settles {@code bets} against the current result into {@code out}, overwriting what it
+     * held.
+     *
+     * @return {@code out}
+     */
+    public Settlement settle(BetBatch bets, Settlement out) {
+        checkResult();
+        final int count = bets.size();
+        final int[] slips = bets.slips();
+        final int[] kinds = bets.kinds();
+        final int[] selections = bets.selections();
+        final int[] stakes = bets.stakes();
+        out.reset(bets.getSlipCount(), count);
+        final long[] staked = out.staked();
+        final long[] paid = out.paid();
+
+        long totalStaked = 0;
+        long totalPaid = 0;
+        for (int i = 0; i < count; i++) {
+            final int kind = kinds[i];
+            final int selection = selections[i];
+            if (selection >= combinations[kind]) {
+                throw new IllegalArgumentException("bet " + i + " has no " + BetKind.name(kind) + " selection " + selection);
+            }
+            final int rate = kind == BetKind.WIN ? millisByLane[selection]
+                    : selection == winningRank[kind] ? hitMillis[kind] : missMillis[kind];
+            final long stake = stakes[i];
+            final long payout = stake * rate / PayoutTable.MILLIS_PER_UNIT;
+            staked[slips[i]] += stake;
+            paid[slips[i]] += payout;
+            totalStaked += stake;
+            totalPaid += payout;
+        }
+        out.setTotals(totalStaked, totalPaid);
+        return out;
+    }
+
+    private void checkResult() {
+        if (!hasResult) throw new IllegalStateException("no race result set");
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.horse_racing_betting.engine.trace;
+
+/**
+ * Layout of a binary race trace (big-endian).
+ *
+ * <pre>
+ * header   magic "HRTR", u16 version, u16 horseCount, u16 keyframeInterval, u16 reserved,
+ *          i32 tickCount, i32 keyframeCount, i32 indexOffset, i32 finishOffset
+ * ticks    one record per tick, tick 0 being the start line:
+ *            keyframe (tick % keyframeInterval == 0): u16 position per lane
+ *            otherwise: unsigned LEB128 delta per lane against the previous tick
+ * index    i32 byte offset of every keyframe record
+ * finish   u16 lane per rank
+ * </pre>
+ *
+ * Positions are quantized to 1/256 of a percent, so a u16 covers 0..255.99%.
+ * Horses never move backwards, which keeps every delta non-negative and most of them
+ * a single byte.
+ */
+final class RaceTraceFormat {
+
+    static final int MAGIC = 0x48525452; // "HRTR"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 28;
+
+    static final int OFFSET_TICK_COUNT = 12;
+    static final int OFFSET_KEYFRAME_COUNT = 16;
+    static final int OFFSET_INDEX = 20;
+    static final int OFFSET_FINISH = 24;
+
+    static final float UNITS_PER_PERCENT = 256f;
+    static final int MAX_QUANTIZED = 0xFFFF;
+
+    private RaceTraceFormat() { }
+
+    static int quantize(float percent) {
+        int q = Math.round(percent * UNITS_PER_PERCENT);
+        return q < 0 ? 0 : Math.min(q, MAX_QUANTIZED);
+    }
+
+    static float dequantize(int q) {
+        return q / UNITS_PER_PERCENT;
+    }
+}
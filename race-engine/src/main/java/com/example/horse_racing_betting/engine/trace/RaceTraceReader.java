@@ -0,0 +1,117 @@
+package com.example.horse_racing_betting.engine.trace;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import static com.example.horse_racing_betting.engine.trace.RaceTraceFormat.*;
+
+/**
+ * Random access to a recorded race trace.
+ *
+ * Seeking jumps to the nearest keyframe through the index and decodes at most
+ * {@code keyframeInterval - 1} delta records, so its cost does not depend on race length.
+ * Stepping forward one tick at a time (scrubbing, playback) decodes a single record.
+ * Traces opened with {@link #map(File)} stay in the page cache rather than on the heap.
+ * Not thread-safe; open one reader per thread.
+ */
+public final class RaceTraceReader {
+
+    private final ByteBuffer data;
+    private final int horseCount;
+    private final int keyframeInterval;
+    private final int tickCount;
+    private final int keyframeCount;
+    private final int indexOffset;
+    private final int finishOffset;
+
+    // Decoding cursor: quantized positions at cursorTick, next record at cursorOffset
+    private final int[] cursor;
+    private int cursorTick = -1;
+    private int cursorOffset;
+
+    public RaceTraceReader(ByteBuffer data) {
+        this.data = data.duplicate();
+        if (this.data.getInt(0) != MAGIC) throw new IllegalArgumentException("not a race trace");
+        int version = this.data.getShort(4) & 0xFFFF;
+        if (version != VERSION) throw new IllegalArgumentException("unsupported trace version " + version);
+        this.horseCount = this.data.getShort(6) & 0xFFFF;
+        this.keyframeInterval = this.data.getShort(8) & 0xFFFF;
+        this.tickCount = this.data.getInt(OFFSET_TICK_COUNT);
+        this.keyframeCount = this.data.getInt(OFFSET_KEYFRAME_COUNT);
+        this.indexOffset = this.data.getInt(OFFSET_INDEX);
+        this.finishOffset = this.data.getInt(OFFSET_FINISH);
+        this.cursor = new int[horseCount];
+    }
+
+    /** Memory-maps a trace file read-only. */
+    public static RaceTraceReader map(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new RaceTraceReader(mapped);
+        }
+    }
+
+    public int getHorseCount() { return horseCount; }
+    public int getTickCount() { return tickCount; }
+    public int getKeyframeInterval() { return keyframeInterval; }
+
+    /** Number of ranks stored at the end of the race. */
+    public int getFinishedCount() {
+        return (data.limit() - finishOffset) / 2;
+    }
+
+    public int getLaneAtRank(int rank) {
+        return data.getShort(finishOffset + rank * 2) & 0xFFFF;
+    }
+
+    /** Fills {@code out} with every lane's position (percent) at {@code tick}. */
+    public void readPositions(int tick, float[] out) {
+        seek(tick);
+        for (int lane = 0; lane < horseCount; lane++) out[lane] = dequantize(cursor[lane]);
+    }
+
+    public float getPosition(int tick, int lane) {
+        seek(tick);
+        return dequantize(cursor[lane]);
+    }
+
+    private void seek(int tick) {
+        if (tick < 0 || tick >= tickCount) throw new IndexOutOfBoundsException("tick " + tick);
+        if (tick == cursorTick) return;
+
+        int keyframe = tick / keyframeInterval;
+        // Keep decoding forward if the cursor is already inside the same segment
+        if (cursorTick < 0 || tick < cursorTick || cursorTick / keyframeInterval != keyframe) {
+            if (keyframe >= keyframeCount) throw new IllegalStateException("corrupt keyframe index");
+            int offset = data.getInt(indexOffset + keyframe * 4);
+            for (int lane = 0; lane < horseCount; lane++) {
+                cursor[lane] = data.getShort(offset) & 0xFFFF;
+                offset += 2;
+            }
+            cursorTick = keyframe * keyframeInterval;
+            cursorOffset = offset;
+        }
+        while (cursorTick < tick) {
+            decodeDeltaRecord();
+        }
+    }
+
+    private void decodeDeltaRecord() {
+        int offset = cursorOffset;
+        for (int lane = 0; lane < horseCount; lane++) {
+            int value = 0, shift = 0, b;
+            do {
+                b = data.get(offset++);
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            cursor[lane] += value;
+        }
+        cursorOffset = offset;
+        cursorTick++;
+    }
+}
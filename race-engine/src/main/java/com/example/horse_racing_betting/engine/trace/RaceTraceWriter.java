@@ -0,0 +1,146 @@
+package com.example.horse_racing_betting.engine.trace;
+
+import com.example.horse_racing_betting.engine.RaceView;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import static com.example.horse_racing_betting.engine.trace.RaceTraceFormat.*;
+
+/**
+ * Records a race into the {@link RaceTraceFormat} layout, one call per tick.
+ *
+ * The buffer and keyframe index are sized up front from the expected race length and
+ * reused across races, so recording a tick does not allocate; they only grow (by
+ * doubling) if a race runs longer than expected. Not thread-safe.
+ */
+public final class RaceTraceWriter {
+
+    private final int horseCount;
+    private final int keyframeInterval;
+
+    private ByteBuffer buffer;
+    private int[] keyframeOffsets;
+    private final int[] previous;   // quantized positions of the last recorded tick
+    private int tickCount;
+    private int keyframeCount;
+    private boolean finished;
+
+    public RaceTraceWriter(int horseCount, int keyframeInterval, int expectedTicks) {
+        if (horseCount <= 0 || horseCount > 0xFFFF) throw new IllegalArgumentException("horseCount " + horseCount);
+        if (keyframeInterval <= 0 || keyframeInterval > 0xFFFF) {
+            throw new IllegalArgumentException("keyframeInterval " + keyframeInterval);
+        }
+        this.horseCount = horseCount;
+        this.keyframeInterval = keyframeInterval;
+        this.previous = new int[horseCount];
+
+        int ticks = Math.max(expectedTicks, 1) + 1;
+        int keyframes = ticks / keyframeInterval + 1;
+        this.keyframeOffsets = new int[keyframes];
+        // keyframes at 2 bytes per lane, deltas mostly 1 byte per lane
+        int bytes = HEADER_SIZE + ticks * horseCount + keyframes * (horseCount + 4) + horseCount * 2;
+        this.buffer = ByteBuffer.allocate(bytes);
+    }
+
+    /** Starts a new trace and records the race's current state as tick 0. */
+    public void begin(RaceView race) {
+        checkField(race);
+        buffer.clear();
+        buffer.position(HEADER_SIZE);
+        tickCount = 0;
+        keyframeCount = 0;
+        finished = false;
+        record(race);
+    }
+
+    /** Appends the race's current state as the next tick. */
+    public void record(RaceView race) {
+        if (finished) throw new IllegalStateException("trace already finished");
+        if (tickCount % keyframeInterval == 0) {
+            ensureCapacity(horseCount * 2);
+            if (keyframeCount == keyframeOffsets.length) {
+                int[] grown = new int[keyframeOffsets.length * 2];
+                System.arraycopy(keyframeOffsets, 0, grown, 0, keyframeCount);
+                keyframeOffsets = grown;
+            }
+            keyframeOffsets[keyframeCount++] = buffer.position();
+            for (int lane = 0; lane < horseCount; lane++) {
+                int q = quantize(race.getPosition(lane));
+                buffer.putShort((short) q);
+                previous[lane] = q;
+            }
+        } else {
+            ensureCapacity(horseCount * 3); // a u16 range delta needs at most 3 LEB128 bytes
+            for (int lane = 0; lane < horseCount; lane++) {
+                int q = Math.max(quantize(race.getPosition(lane)), previous[lane]);
+                writeVarint(q - previous[lane]);
+                previous[lane] = q;
+            }
+        }
+        tickCount++;
+    }
+
+    /** Writes the finish order, keyframe index and header. Returns the trace size in bytes. */
+    public int finish(RaceView race) {
+        if (finished) return buffer.position();
+        int ranks = race.getFinishedCount();
+
+        ensureCapacity(keyframeCount * 4 + ranks * 2);
+        int indexOffset = buffer.position();
+        for (int k = 0; k < keyframeCount; k++) buffer.putInt(keyframeOffsets[k]);
+        int finishOffset = buffer.position();
+        for (int rank = 0; rank < ranks; rank++) buffer.putShort((short) race.getLaneAtRank(rank));
+
+        int end = buffer.position();
+        buffer.putInt(0, MAGIC);
+        buffer.putShort(4, (short) VERSION);
+        buffer.putShort(6, (short) horseCount);
+        buffer.putShort(8, (short) keyframeInterval);
+        buffer.putShort(10, (short) 0);
+        buffer.putInt(OFFSET_TICK_COUNT, tickCount);
+        buffer.putInt(OFFSET_KEYFRAME_COUNT, keyframeCount);
+        buffer.putInt(OFFSET_INDEX, indexOffset);
+        buffer.putInt(OFFSET_FINISH, finishOffset);
+        finished = true;
+        return end;
+    }
+
+    public int getTickCount() { return tickCount; }
+
+    /** Read-only view of a finished trace; valid until the next {@link #begin}. */
+    public ByteBuffer asReadOnlyBuffer() {
+        if (!finished) throw new IllegalStateException("trace not finished");
+        ByteBuffer view = buffer.asReadOnlyBuffer();
+        view.flip();
+        return view;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        if (!finished) throw new IllegalStateException("trace not finished");
+        out.write(buffer.array(), buffer.arrayOffset(), buffer.position());
+    }
+
+    private void writeVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (buffer.remaining() >= extra) return;
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + extra));
+        buffer.flip();
+        grown.put(buffer);
+        buffer = grown;
+    }
+
+    private void checkField(RaceView race) {
+        if (race.getHorseCount() != horseCount) {
+            throw new IllegalArgumentException("trace is for " + horseCount + " horses, race has " + race.getHorseCount());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.horse_racing_betting.engine;
+
+/**
+ * Per-tick cost of the engine as the field grows, with and without {@link PackPhysics}.
+ * Nanoseconds per horse-tick staying flat shows the neighbour sweep is linear.
+ * Not a unit test; run {@code main} on a quiet machine (JIT warm-up is included).
+ */
+public final class PackPhysicsBenchmark {
+
+    private static final long HORSE_TICKS = 40_000_000L;
+
+    public static void main(String[] args) {
+        for (int horses : new int[]{8, 64, 512, 4_096}) {
+            measure(horses, null);              // warm-up
+            measure(horses, PackPhysics.DEFAULT);
+            double plain = measure(horses, null);
+            double pack = measure(horses, PackPhysics.DEFAULT);
+            System.out.printf("%,5d horses: independent %6.1f ns/tick (%5.2f ns/horse) | pack %6.1f ns/tick (%5.2f ns/horse)%n",
+                    horses, plain, plain / horses, pack, pack / horses);
+        }
+    }
+
+    // Returns nanoseconds per tick
+    private static double measure(int horses, PackPhysics physics) {
+        RaceEngine engine = new RaceEngine(horses, RaceRules.DEFAULT, physics);
+        long ticks = 0;
+        long start = System.nanoTime();
+        for (long seed = 0; ticks * horses < HORSE_TICKS; seed++) {
+            engine.reset(seed);
+            ticks += engine.run();
+        }
+        return (System.nanoTime() - start) / (double) ticks;
+    }
+}
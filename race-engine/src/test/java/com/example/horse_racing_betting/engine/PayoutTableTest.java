@@ -0,0 +1,38 @@
+package com.example.horse_racing_betting.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PayoutTableTest {
+
+    @Test
+    public void fourHorses_keepClassicMultipliers() {
+        PayoutTable table = PayoutTable.forFieldSize(4);
+        assertEquals(2.0, table.getMultiplier(1), 0);
+        assertEquals(1.3, table.getMultiplier(2), 0);
+        assertEquals(0.5, table.getMultiplier(3), 0);
+        assertEquals(0.0, table.getMultiplier(4), 0);
+        assertEquals(0.0, table.getMultiplier(5), 0);
+
+        assertEquals(26, table.payout(13, 1));
+        assertEquals(14, table.payout(11, 2));   // 14.3 rounded down, no float error
+        assertEquals(3, table.payout(7, 3));
+        assertEquals(0, table.payout(7, 4));
+    }
+
+    @Test
+    public void largeFields_payTopQuarterWithinTargetReturn() {
+        for (int n : new int[]{8, 16, 32, 64}) {
+            PayoutTable table = PayoutTable.forFieldSize(n);
+            double total = 0;
+            for (int p = 1; p <= n; p++) {
+                total += table.getMultiplier(p);
+                if (p > 1) assertTrue(table.getMultiplier(p) <= table.getMultiplier(p - 1));
+            }
+            assertTrue(table.getMultiplier(Math.max(3, n / 4)) > 0);
+            assertEquals(0.0, table.getMultiplier(Math.max(3, n / 4) + 1), 0);
+            assertTrue(total / n <= PayoutTable.RETURN_TO_PLAYER);
+        }
+    }
+}
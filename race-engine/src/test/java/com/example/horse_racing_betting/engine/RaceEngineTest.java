@@ -0,0 +1,228 @@
+package com.example.horse_racing_betting.engine;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RaceEngineTest {
+
+    @Test
+    public void sameSeed_replaysSameRace() {
+        RaceEngine a = new RaceEngine(4, RaceRules.DEFAULT);
+        RaceEngine b = new RaceEngine(4, RaceRules.DEFAULT);
+        a.reset(42L);
+        b.reset(42L);
+
+        assertEquals(a.run(), b.run());
+        assertEquals(a.getBoostedLane(), b.getBoostedLane());
+        assertArrayEquals(a.getFinishOrder(), b.getFinishOrder());
+        for (int lane = 0; lane < 4; lane++) {
+            assertEquals(a.getPosition(lane), b.getPosition(lane), 0f);
+        }
+    }
+
+    @Test
+    public void storedSeed_replaysBitExactFixedPointRace() {
+        // Pinned values: any change here means stored seeds no longer replay the same race
+        RaceEngine engine = new RaceEngine(8, RaceRules.DEFAULT);
+        engine.reset(2024L);
+
+        assertEquals(258, engine.run());
+        assertArrayEquals(new int[]{4, 6, 1, 7, 0, 2, 5, 3}, engine.getFinishOrder());
+        int[] expected = {6565257, 6580359, 6562387, 6526450, 6593644, 6579902, 6568030, 6574329};
+        for (int lane = 0; lane < 8; lane++) {
+            assertEquals(expected[lane], engine.getFixedPosition(lane));
+            assertEquals(FixedPoint.toPercent(expected[lane]), engine.getPosition(lane), 0f);
+        }
+    }
+
+    @Test
+    public void packPhysics_isDeterministicAndDraftingTightensTheField() {
+        PackPhysics draftOnly = new PackPhysics(2f, 0.2f, 0f, 1, 1f);
+        RaceEngine plain = new RaceEngine(32, RaceRules.DEFAULT);
+        RaceEngine pack = new RaceEngine(32, RaceRules.DEFAULT, draftOnly);
+        RaceEngine replay = new RaceEngine(32, RaceRules.DEFAULT, draftOnly);
+
+        long plainTicks = 0, packTicks = 0;
+        for (long seed = 0; seed < 200; seed++) {
+            plain.reset(seed);
+            pack.reset(seed);
+            replay.reset(seed);
+            plainTicks += plain.run();
+            packTicks += pack.run();
+            assertEquals(pack.getTickCount(), replay.run());
+            assertArrayEquals(pack.getFinishOrder(), replay.getFinishOrder());
+        }
+        // every bonus only ever adds speed, so drafting races end sooner
+        assertTrue(packTicks < plainTicks);
+    }
+
+    @Test
+    public void incidents_replayFromSeed_andDisabledTypesLeaveTheRaceUnchanged() {
+        RaceEngine a = new RaceEngine(16, RaceRules.DEFAULT, null, IncidentRules.DEFAULT);
+        RaceEngine b = new RaceEngine(16, RaceRules.DEFAULT, null, IncidentRules.DEFAULT);
+        List<String> seenA = new ArrayList<>(), seenB = new ArrayList<>();
+        a.setIncidentListener((tick, type, lane) -> seenA.add(tick + ":" + type + ":" + lane));
+        b.setIncidentListener((tick, type, lane) -> seenB.add(tick + ":" + type + ":" + lane));
+        a.reset(77L);
+        b.reset(77L);
+        a.run();
+        b.run();
+        assertFalse(seenA.isEmpty());
+        assertEquals(seenA, seenB);
+        assertArrayEquals(a.getFinishOrder(), b.getFinishOrder());
+
+        RaceEngine off = new RaceEngine(16, RaceRules.DEFAULT, null, new IncidentRules(0f, 0f, 0f, 0f));
+        RaceEngine plain = new RaceEngine(16, RaceRules.DEFAULT);
+        off.reset(77L);
+        plain.reset(77L);
+        assertEquals(plain.run(), off.run());
+        assertArrayEquals(plain.getFinishOrder(), off.getFinishOrder());
+    }
+
+    @Test
+    public void profiles_sampleToPinnedTables() {
+        // StrictMath curves: these must not move by an ulp on any JVM, or replays diverge
+        HorseProfile profile = new HorseProfile(0.25f, 0.75f, 0.2f);
+        assertEquals(0.8673420375178945, profile.speedFactor(0.05), 0.0);
+        assertEquals(0.9835415146532296, profile.speedFactor(0.7), 0.0);
+        assertEquals(0.8258717022022652, profile.speedFactor(0.95), 0.0);
+
+        RaceEngine engine = new RaceEngine(2, RaceRules.DEFAULT);
+        engine.setProfiles(new HorseProfile[]{profile, HorseProfile.AVERAGE});
+        int[] buckets = {0, 1, 5, 50, 80, 100};
+        int[] expected = {187, 196, 225, 269, 237, 202};
+        int[] average = {196, 203, 224, 256, 237, 192};
+        for (int i = 0; i < buckets.length; i++) {
+            assertEquals(expected[i], engine.getCurveEntry(0, buckets[i]));
+            assertEquals(average[i], engine.getCurveEntry(1, buckets[i]));
+        }
+    }
+
+    @Test
+    public void profiles_strongHorseBeatsWeakOnes_andClearingRestoresPlainRace() {
+        HorseProfile strong = new HorseProfile(1f, 1f, 1f), weak = new HorseProfile(0f, 0f, 0f);
+        HorseProfile[] field = {strong, weak, weak, weak};
+        RaceEngine engine = new RaceEngine(4, RaceRules.DEFAULT);
+        engine.setProfiles(field);
+
+        int ahead = 0, races = 0;
+        for (long seed = 0; seed < 200; seed++) {
+            engine.reset(seed);
+            engine.run();
+            if (engine.getBoostedLane() == 0) continue;
+            races++;
+            int beaten = 0;
+            for (int rank = 0; engine.getLaneAtRank(rank) != 0; rank++) {
+                if (engine.getLaneAtRank(rank) != engine.getBoostedLane()) beaten++;
+            }
+            if (beaten == 0) ahead++;
+        }
+        assertTrue(ahead > races * 9 / 10);
+
+        engine.setProfiles(null);
+        engine.reset(2024L);
+        RaceEngine plain = new RaceEngine(4, RaceRules.DEFAULT);
+        plain.reset(2024L);
+        assertEquals(plain.run(), engine.run());
+        assertArrayEquals(plain.getFinishOrder(), engine.getFinishOrder());
+    }
+
+    @Test
+    public void finishOrder_isPermutationOfLanes() {
+        RaceEngine engine = new RaceEngine(4, RaceRules.DEFAULT);
+        for (long seed = 0; seed < 1_000; seed++) {
+            engine.reset(seed);
+            engine.run();
+
+            int[] order = engine.getFinishOrder();
+            assertEquals(4, order.length);
+            boolean[] seen = new boolean[4];
+            for (int lane : order) {
+                assertFalse(seen[lane]);
+                seen[lane] = true;
+            }
+        }
+    }
+
+    @Test
+    public void raceEnds_whenAtMostOneHorseIsLeft() {
+        RaceEngine engine = new RaceEngine(4, RaceRules.DEFAULT);
+        engine.reset(7L);
+        engine.run();
+
+        int unfinished = 0;
+        for (int lane = 0; lane < 4; lane++) {
+            if (!engine.isFinished(lane)) unfinished++;
+        }
+        assertTrue(engine.isDone());
+        assertTrue(unfinished <= 1);
+        assertTrue(engine.tick());
+    }
+
+    @Test
+    public void liveStandings_matchFinishOrderAndDistance() {
+        RaceEngine engine = new RaceEngine(64, RaceRules.DEFAULT);
+        engine.reset(3L);
+        while (!engine.tick()) {
+            int finished = engine.getFinishedCount();
+            for (int place = 0; place < finished; place++) {
+                assertEquals(engine.getLaneAtRank(place), engine.getLaneInPlace(place));
+            }
+            for (int place = finished + 1; place < 64; place++) {
+                assertTrue(engine.getPosition(engine.getLaneInPlace(place - 1))
+                        >= engine.getPosition(engine.getLaneInPlace(place)));
+            }
+        }
+        assertArrayEquals(engine.getFinishOrder(), standings(engine));
+    }
+
+    @Test
+    public void events_trackTheLeaderAndEveryFinish_withoutChangingTheRace() {
+        RaceEngine plain = new RaceEngine(12, RaceRules.DEFAULT);
+        plain.reset(2024L);
+        plain.run();
+
+        RaceEngine engine = new RaceEngine(12, RaceRules.DEFAULT);
+        RaceEventQueue queue = new RaceEventQueue(1024);
+        RaceEventQueue.Reader reader = queue.newReader();
+        engine.setEventQueue(queue);
+        engine.reset(2024L);
+
+        long[] batch = new long[64];
+        int leader = engine.getLaneInPlace(0);
+        List<Long> finishes = new ArrayList<>();
+        boolean done;
+        do {
+            done = engine.tick();
+            for (int n = reader.drain(batch), k = 0; k < n; k++) {
+                long event = batch[k];
+                assertEquals(engine.getTickCount(), RaceEvent.tick(event));
+                if (RaceEvent.type(event) == RaceEvent.LEAD_CHANGE) {
+                    assertEquals(leader, RaceEvent.other(event));
+                    leader = RaceEvent.lane(event);
+                }
+                if (RaceEvent.type(event) == RaceEvent.FINISH) finishes.add(event);
+            }
+            assertEquals(engine.getLaneInPlace(0), leader);
+        } while (!done);
+
+        assertEquals(0, reader.getDropped());
+        assertEquals(plain.getTickCount(), engine.getTickCount());
+        assertArrayEquals(plain.getFinishOrder(), engine.getFinishOrder());
+        for (int rank = 0; rank < finishes.size(); rank++) {
+            assertEquals(rank, RaceEvent.other(finishes.get(rank)));
+            assertEquals(engine.getLaneAtRank(rank), RaceEvent.lane(finishes.get(rank)));
+        }
+        assertTrue(finishes.size() >= 11);
+    }
+
+    private static int[] standings(RaceView race) {
+        int[] lanes = new int[race.getHorseCount()];
+        for (int place = 0; place < lanes.length; place++) lanes[place] = race.getLaneInPlace(place);
+        return lanes;
+    }
+}
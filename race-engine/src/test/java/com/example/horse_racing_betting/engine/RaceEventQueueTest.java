@@ -0,0 +1,55 @@
+package com.example.horse_racing_betting.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RaceEventQueueTest {
+
+    @Test
+    public void event_packsAndUnpacksEveryField() {
+        long event = RaceEvent.pack(RaceEvent.PHOTO_FINISH, 123_456, 513, 7);
+        assertEquals(RaceEvent.PHOTO_FINISH, RaceEvent.type(event));
+        assertEquals(123_456, RaceEvent.tick(event));
+        assertEquals(513, RaceEvent.lane(event));
+        assertEquals(7, RaceEvent.other(event));
+        assertFalse(RaceEvent.isIncident(event));
+        assertTrue(RaceEvent.isIncident(RaceEvent.pack(Incident.BUMP, 1, 0, 0)));
+    }
+
+    @Test
+    public void readers_eachSeeEveryEventInOrder() {
+        RaceEventQueue queue = new RaceEventQueue(6);
+        assertEquals(8, queue.getCapacity());
+        RaceEventQueue.Reader a = queue.newReader();
+        RaceEventQueue.Reader b = queue.newReader();
+        long[] out = new long[3];
+
+        for (int i = 0; i < 5; i++) queue.offer(i);
+        assertEquals(3, a.drain(out));
+        assertArrayEquals(new long[] {0, 1, 2}, out);
+        assertEquals(2, a.drain(out));
+        assertEquals(4, out[1]);
+        assertEquals(0, a.drain(out));
+
+        assertEquals(3, b.drain(out));
+        assertArrayEquals(new long[] {0, 1, 2}, out);
+        assertEquals(0, b.getDropped());
+    }
+
+    @Test
+    public void slowReader_losesOnlyTheOverwrittenEvents() {
+        RaceEventQueue queue = new RaceEventQueue(4);
+        RaceEventQueue.Reader reader = queue.newReader();
+        long[] out = new long[8];
+
+        for (int i = 0; i < 11; i++) queue.offer(i);
+        assertEquals(4, reader.drain(out));
+        assertArrayEquals(new long[] {7, 8, 9, 10}, java.util.Arrays.copyOf(out, 4));
+        assertEquals(7, reader.getDropped());
+
+        queue.offer(11);
+        reader.skipToLatest();
+        assertEquals(0, reader.drain(out));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.horse_racing_betting.engine;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.*;
+
+public class RuleSetParserTest {
+
+    @Test
+    public void parse_compilesValuesAndKeepsClassicDefaults() throws IOException {
+        RuleSet rules = RuleSetParser.parse(new StringReader(
+                "name=Sprint\n"
+                + "speed.normal=0.2, 0.9\n"
+                + "payout.multipliers=3,1.3\n"
+                + "timing.tickMs=50\n"
+                + "incidents=off\n"));
+
+        assertEquals("Sprint", rules.getName());
+        assertEquals(0.2f, rules.getRaceRules().getNormalMin(), 0f);
+        assertEquals(0.9f, rules.getRaceRules().getNormalMax(), 0f);
+        assertEquals(RaceRules.DEFAULT.getBoostActiveMax(), rules.getRaceRules().getBoostActiveMax(), 0f);
+        assertEquals(50, rules.getTickMs());
+        assertEquals(3, rules.getCountdownSeconds());
+        assertNull(rules.getIncidentRules());
+        assertNull(RuleSet.CLASSIC.getIncidentRules());
+        assertNotNull(RuleSetParser.parse(new StringReader("name=X\nincidents=400,300,150,250\n")).getIncidentRules());
+
+        PayoutTable payouts = rules.payoutTableFor(8);
+        assertEquals(8, payouts.getPositionCount());
+        assertEquals(39, payouts.payout(30, 2));
+        assertEquals(0, payouts.payout(30, 3));
+    }
+
+    @Test
+    public void parse_rejectsUnknownKeysAndBadValues() throws IOException {
+        String[] bad = {
+                "name=X\nspeed.nromal=0.1,0.2\n",       // typo
+                "name=X\nspeed.normal=0.5\n",           // one value
+                "name=X\nspeed.normal=0.7,0.1\n",       // min > max
+                "name=X\ntiming.tickMs=fast\n",
+                "name=X\nrace.finishPercent=0\n",
+                "name=X\nrace.finishPercent=300\n",    // past what traces can store
+                "race.finishPercent=100\n",             // no name
+        };
+        for (String text : bad) {
+            try {
+                RuleSetParser.parse(new StringReader(text));
+                fail("accepted: " + text);
+            } catch (IllegalArgumentException expected) {
+                // ok
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.horse_racing_betting.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SnapshotInterpolatorTest {
+
+    private static final long TICK = 100_000_000L; // 100 ms
+
+    @Test
+    public void blendsLinearlyBetweenTheLastTwoSnapshots() {
+        RaceEngine engine = new RaceEngine(4, RaceRules.DEFAULT);
+        engine.reset(1L);
+        SnapshotInterpolator interpolator = new SnapshotInterpolator(TICK);
+
+        RaceSnapshot a = RaceSnapshot.of(engine);
+        engine.tick();
+        RaceSnapshot b = RaceSnapshot.of(engine);
+        interpolator.push(a, 0);
+        interpolator.push(b, TICK);
+
+        for (int lane = 0; lane < 4; lane++) {
+            float from = a.getPosition(lane), to = b.getPosition(lane);
+            assertEquals(from, interpolator.positionAt(lane, TICK), 1e-6f);
+            assertEquals((from + to) / 2, interpolator.positionAt(lane, TICK + TICK / 2), 1e-6f);
+            assertEquals(to, interpolator.positionAt(lane, TICK * 3), 1e-6f);
+        }
+        assertFalse(interpolator.isSettled(TICK + TICK / 2));
+        assertTrue(interpolator.isSettled(2 * TICK));
+    }
+
+    @Test
+    public void firstSnapshot_isShownAsIs() {
+        RaceEngine engine = new RaceEngine(4, RaceRules.DEFAULT);
+        engine.reset(2L);
+        engine.tick();
+        SnapshotInterpolator interpolator = new SnapshotInterpolator(TICK);
+        interpolator.push(RaceSnapshot.of(engine), 5);
+
+        assertEquals(engine.getPosition(2), interpolator.positionAt(2, 0), 0f);
+        assertTrue(interpolator.isSettled(0));
+    }
+}
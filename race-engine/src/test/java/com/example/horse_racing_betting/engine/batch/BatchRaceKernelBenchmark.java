@@ -0,0 +1,54 @@
+package com.example.horse_racing_betting.engine.batch;
+
+import com.example.horse_racing_betting.engine.RaceEngine;
+import com.example.horse_racing_betting.engine.RaceRules;
+
+/**
+ * Throughput of the batch kernel against one-race-at-a-time {@link RaceEngine} runs.
+ * Not a unit test; run {@code main} on a quiet machine (JIT warm-up is included).
+ */
+public final class BatchRaceKernelBenchmark {
+
+    private static final int BATCH = 4_096;
+    private static final int ROUNDS = 40;
+
+    public static void main(String[] args) {
+        for (int horses : new int[]{4, 16, 64}) {
+            // warm-up, then measure
+            singleRaces(horses, ROUNDS / 4);
+            batchRaces(horses, ROUNDS / 4);
+            double single = singleRaces(horses, ROUNDS);
+            double batch = batchRaces(horses, ROUNDS);
+            System.out.printf("%2d horses: single %,12.0f races/s | batch %,12.0f races/s | x%.2f%n",
+                    horses, single, batch, batch / single);
+        }
+    }
+
+    private static double singleRaces(int horses, int rounds) {
+        RaceEngine engine = new RaceEngine(horses, RaceRules.DEFAULT);
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds * BATCH; i++) {
+            engine.reset(i);
+            sink += engine.run();
+        }
+        return report(start, rounds * (long) BATCH, sink);
+    }
+
+    private static double batchRaces(int horses, int rounds) {
+        BatchRaceKernel kernel = new BatchRaceKernel(horses, BATCH, RaceRules.DEFAULT);
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            kernel.reset(i);
+            sink += kernel.run();
+        }
+        return report(start, rounds * (long) BATCH, sink);
+    }
+
+    private static double report(long startNanos, long races, long sink) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        if (sink == 42) System.out.print(""); // keep results alive
+        return races / seconds;
+    }
+}
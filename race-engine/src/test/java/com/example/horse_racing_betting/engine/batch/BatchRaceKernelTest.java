@@ -0,0 +1,80 @@
+package com.example.horse_racing_betting.engine.batch;
+
+import com.example.horse_racing_betting.engine.FixedPoint;
+import com.example.horse_racing_betting.engine.RaceEngine;
+import com.example.horse_racing_betting.engine.RaceRules;
+import com.example.horse_racing_betting.engine.rng.RaceRandom;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BatchRaceKernelTest {
+
+    @Test
+    public void everyRace_endsWithAFullFinishOrder() {
+        BatchRaceKernel kernel = new BatchRaceKernel(8, 500, RaceRules.DEFAULT);
+        kernel.reset(11L);
+        kernel.run();
+
+        for (int race = 0; race < 500; race++) {
+            assertTrue(kernel.isDone(race));
+            boolean[] seen = new boolean[8];
+            for (int rank = 0; rank < 8; rank++) {
+                int lane = kernel.getLaneAtRank(race, rank);
+                assertFalse(seen[lane]);
+                seen[lane] = true;
+            }
+        }
+    }
+
+    @Test
+    public void boostedHorseWinRate_matchesSingleRaceEngine() {
+        final int n = 40_000;
+        BatchRaceKernel kernel = new BatchRaceKernel(4, n, RaceRules.DEFAULT);
+        kernel.reset(3L);
+        kernel.run();
+        int batchWins = 0;
+        for (int race = 0; race < n; race++) {
+            if (kernel.getLaneAtRank(race, 0) == kernel.getBoostedLane(race)) batchWins++;
+        }
+
+        RaceEngine engine = new RaceEngine(4, RaceRules.DEFAULT);
+        int engineWins = 0;
+        for (int race = 0; race < n; race++) {
+            engine.reset(race);
+            engine.run();
+            if (engine.getLaneAtRank(0) == engine.getBoostedLane()) engineWins++;
+        }
+
+        assertEquals((double) engineWins / n, (double) batchWins / n, 0.015);
+    }
+
+    @Test
+    public void firstTick_movesHorsesInTheEnginesFixedPointSteps() {
+        final int races = 7, horses = 4;
+        BatchRaceKernel kernel = new BatchRaceKernel(horses, races, RaceRules.DEFAULT);
+        kernel.reset(21L);
+        kernel.tick();
+
+        // the kernel's draw order: boosted lanes, then one bulk fill per lane
+        RaceRules rules = RaceRules.DEFAULT;
+        int normalMin = FixedPoint.fromPercent(rules.getNormalMin());
+        int normalSpan = FixedPoint.fromPercent(rules.getNormalMax()) - normalMin;
+        int preMin = FixedPoint.fromPercent(rules.getBoostPreMin());
+        int preSpan = FixedPoint.fromPercent(rules.getBoostPreMax()) - preMin;
+        RaceRandom stream = new RaceRandom(21L);
+        int[] boosted = new int[races];
+        for (int r = 0; r < races; r++) boosted[r] = stream.nextInt(horses);
+        int[] draws = new int[races];
+        for (int lane = 0; lane < horses; lane++) {
+            stream.fillBits24(draws, 0, races);
+            for (int r = 0; r < races; r++) {
+                int expected = boosted[r] == lane
+                        ? FixedPoint.lerp24(preMin, preSpan, draws[r])
+                        : FixedPoint.lerp24(normalMin, normalSpan, draws[r]);
+                assertEquals(expected, kernel.getFixedPosition(r, lane));
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.horse_racing_betting.engine.loop;
+
+import com.example.horse_racing_betting.engine.RaceEngine;
+import com.example.horse_racing_betting.engine.RaceRules;
+import com.example.horse_racing_betting.engine.RaceSnapshot;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GameClockTest {
+
+    private static final long BACKGROUND_MS = 60_000;
+
+    @Test
+    public void pausedRace_resumesWhereItLeftOff_withoutWakeUpsInTheBackground() {
+        RaceEngine reference = new RaceEngine(4, RaceRules.DEFAULT);
+        reference.reset(6L);
+        reference.run();
+
+        RaceEngine engine = new RaceEngine(4, RaceRules.DEFAULT);
+        engine.reset(6L);
+        VirtualScheduler sim = new VirtualScheduler();
+        GameClock clock = new GameClock(sim);
+        List<RaceSnapshot> seen = new ArrayList<>();
+        new RaceLoop(engine, clock, 100, e -> {
+            if (e.getTickCount() == 50) clock.pause();   // app goes to the background
+        }, Runnable::run, seen::add).start();
+
+        sim.advanceTo(BACKGROUND_MS / 2);
+        long wakeUpsBefore = sim.getRuns();
+        sim.advanceTo(BACKGROUND_MS);
+        assertEquals(0, sim.getRuns() - wakeUpsBefore);
+        assertEquals(50, engine.getTickCount());
+
+        clock.resume();
+        sim.runUntilIdle();
+
+        assertEquals(reference.getTickCount(), engine.getTickCount());
+        assertArrayEquals(reference.getFinishOrder(), engine.getFinishOrder());
+        assertEquals(engine.getTickCount(), seen.size());
+        // game time never saw the pause; wall time did
+        assertEquals((engine.getTickCount() - 1) * 100L, clock.nowMillis());
+        assertEquals(clock.nowMillis() + clock.getPausedMillis(), sim.nowMillis());
+    }
+
+    @Test
+    public void unpausedRace_keepsWakingUpInTheBackground() {
+        RaceEngine engine = new RaceEngine(4, RaceRules.DEFAULT);
+        engine.reset(6L);
+        VirtualScheduler sim = new VirtualScheduler();
+        new RaceLoop(engine, new GameClock(sim), 100, null, Runnable::run, s -> { }).start();
+
+        sim.advanceTo(4_900);   // tick 50
+        long wakeUpsBefore = sim.getRuns();
+        sim.advanceTo(BACKGROUND_MS);
+        // every remaining tick is a wake-up the paused clock saves
+        assertEquals(engine.getTickCount() - 50, sim.getRuns() - wakeUpsBefore);
+        assertTrue(engine.isDone());
+    }
+
+    @Test
+    public void runToEnd_finishesHeadlesslyWhilePaused() {
+        RaceEngine reference = new RaceEngine(4, RaceRules.DEFAULT);
+        reference.reset(8L);
+        reference.run();
+
+        RaceEngine engine = new RaceEngine(4, RaceRules.DEFAULT);
+        engine.reset(8L);
+        VirtualScheduler sim = new VirtualScheduler();
+        GameClock clock = new GameClock(sim);
+        List<RaceSnapshot> seen = new ArrayList<>();
+        RaceLoop loop = new RaceLoop(engine, clock, 100, null, Runnable::run, seen::add);
+        loop.start();
+        sim.advanceTo(1_000);
+
+        clock.pause();
+        loop.runToEnd();
+        clock.resume();
+        long wakeUps = sim.getRuns();
+        sim.runUntilIdle();
+
+        assertEquals(wakeUps, sim.getRuns());   // the withdrawn tick was cancelled, not reposted
+        assertFalse(loop.isRunning());
+        assertArrayEquals(reference.getFinishOrder(), engine.getFinishOrder());
+        assertTrue(seen.get(seen.size() - 1).isDone());
+        assertEquals(12, seen.size());          // ticks 1..11, then the result
+    }
+
+    @Test
+    public void cancelledTask_doesNotRunAfterResume() {
+        VirtualScheduler sim = new VirtualScheduler();
+        GameClock clock = new GameClock(sim);
+        int[] ran = {0};
+        Cancellable task = clock.schedule(() -> ran[0]++, 1_000);
+        clock.schedule(() -> ran[0] += 10, 1_000);
+
+        clock.pause();
+        task.cancel();
+        sim.advanceTo(5_000);
+        clock.resume();
+        assertEquals(5_000, clock.getPausedMillis());
+        sim.advanceTo(5_999);
+        assertEquals(0, ran[0]);
+        sim.advanceTo(6_000);
+        assertEquals(10, ran[0]);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.horse_racing_betting.engine.loop;
+
+import com.example.horse_racing_betting.engine.RaceEngine;
+import com.example.horse_racing_betting.engine.RaceRules;
+import com.example.horse_racing_betting.engine.RaceSnapshot;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RaceLoopTest {
+
+    @Test
+    public void slowListener_onlySeesLatestSnapshotAndTheFinish() {
+        RaceEngine engine = new RaceEngine(4, RaceRules.DEFAULT);
+        engine.reset(5L);
+        VirtualScheduler sim = new VirtualScheduler();
+        ArrayDeque<Runnable> ui = new ArrayDeque<>();   // never drained while the race runs
+        List<RaceSnapshot> seen = new ArrayList<>();
+
+        RaceLoop loop = new RaceLoop(engine, sim, 100, null, ui::add, seen::add);
+        loop.start();
+        sim.runUntilIdle();
+
+        assertTrue(engine.isDone());
+        assertEquals(1, ui.size());
+        ui.poll().run();
+        assertEquals(1, seen.size());
+        assertTrue(seen.get(0).isDone());
+        assertEquals(engine.getTickCount(), seen.get(0).getTickCount());
+        assertArrayEquals(engine.getFinishOrder(), finishOrder(seen.get(0)));
+    }
+
+    @Test
+    public void fastListener_seesEveryTickAtFixedRate() {
+        RaceEngine engine = new RaceEngine(4, RaceRules.DEFAULT);
+        engine.reset(6L);
+        VirtualScheduler sim = new VirtualScheduler();
+        List<RaceSnapshot> seen = new ArrayList<>();
+        int[] observed = {0};
+
+        RaceLoop loop = new RaceLoop(engine, sim, 100, e -> observed[0]++, Runnable::run, seen::add);
+        loop.start();
+        sim.runUntilIdle();
+
+        assertEquals(engine.getTickCount(), seen.size());
+        assertEquals(engine.getTickCount(), observed[0]);
+        assertEquals((engine.getTickCount() - 1) * 100L, sim.nowMillis());
+        for (int i = 0; i < seen.size(); i++) assertEquals(i + 1, seen.get(i).getTickCount());
+    }
+
+    @Test
+    public void fasterSpeed_keepsStepRateAndSkipsIntermediateSnapshots() {
+        RaceEngine engine = new RaceEngine(4, RaceRules.DEFAULT);
+        engine.reset(6L);
+        VirtualScheduler sim = new VirtualScheduler();
+        List<RaceSnapshot> seen = new ArrayList<>();
+        int[] observed = {0};
+
+        RaceLoop loop = new RaceLoop(engine, sim, 100, e -> observed[0]++, Runnable::run, seen::add);
+        loop.setSpeed(4);
+        loop.start();
+        sim.runUntilIdle();
+
+        int ticks = engine.getTickCount();
+        int steps = (ticks + 3) / 4;
+        assertEquals(ticks, observed[0]);
+        assertEquals(steps, seen.size());
+        assertEquals((steps - 1) * 100L, sim.nowMillis());
+        for (int i = 0; i < steps - 1; i++) assertEquals((i + 1) * 4, seen.get(i).getTickCount());
+        assertTrue(seen.get(steps - 1).isDone());
+    }
+
+    @Test
+    public void stop_cancelsRemainingTicks() {
+        RaceEngine engine = new RaceEngine(4, RaceRules.DEFAULT);
+        engine.reset(7L);
+        VirtualScheduler sim = new VirtualScheduler();
+        List<RaceSnapshot> seen = new ArrayList<>();
+        RaceLoop[] loop = new RaceLoop[1];
+        loop[0] = new RaceLoop(engine, sim, 100, e -> {
+            if (e.getTickCount() == 10) loop[0].stop();
+        }, Runnable::run, seen::add);
+
+        loop[0].start();
+        sim.runUntilIdle();
+
+        assertFalse(engine.isDone());
+        assertEquals(10, engine.getTickCount());
+    }
+
+    private static int[] finishOrder(RaceSnapshot s) {
+        int[] order = new int[s.getFinishedCount()];
+        for (int rank = 0; rank < order.length; rank++) order[rank] = s.getLaneAtRank(rank);
+        return order;
+    }
+}
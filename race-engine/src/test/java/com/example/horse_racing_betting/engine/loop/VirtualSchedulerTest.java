@@ -0,0 +1,38 @@
+package com.example.horse_racing_betting.engine.loop;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class VirtualSchedulerTest {
+
+    @Test
+    public void cancelledTasks_areSkipped_andDoNotCountAsRunsOrWork() {
+        VirtualScheduler sim = new VirtualScheduler();
+        List<Integer> order = new ArrayList<>();
+        List<Cancellable> handles = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            final int n = i;
+            handles.add(sim.schedule(() -> order.add(n), 1_000 - i % 10));
+        }
+        for (int i = 0; i < 1_000; i++) {
+            if (i % 100 != 0) handles.get(i).cancel();
+        }
+        handles.get(100).cancel();               // twice is harmless
+        handles.get(100).cancel();
+        assertFalse(sim.isIdle());
+
+        sim.runUntilIdle();
+        assertTrue(sim.isIdle());
+        assertEquals(9, sim.getRuns());
+        assertEquals(1_000, sim.nowMillis());
+        // All survivors fall due at 1000 ms, so they run in scheduling order
+        assertEquals(List.of(0, 200, 300, 400, 500, 600, 700, 800, 900), order);
+
+        handles.get(0).cancel();                 // already ran: no effect
+        assertTrue(sim.isIdle());
+    }
+}
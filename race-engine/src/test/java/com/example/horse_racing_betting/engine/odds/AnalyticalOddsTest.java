@@ -0,0 +1,58 @@
+package com.example.horse_racing_betting.engine.odds;
+
+import com.example.horse_racing_betting.engine.RaceEngine;
+import com.example.horse_racing_betting.engine.RaceRules;
+import com.example.horse_racing_betting.engine.rng.RaceRandom;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AnalyticalOddsTest {
+
+    @Test
+    public void distribution_sumsToOnePerHorseAndPerRank() {
+        for (int n : new int[]{4, 8, 16}) {
+            OddsTable odds = new AnalyticalOdds(n, RaceRules.DEFAULT).solve(n - 1);
+            assertTrue(odds.isComputed());
+            for (int i = 0; i < n; i++) {
+                double byLane = 0, byRank = 0;
+                for (int j = 0; j < n; j++) {
+                    byLane += odds.getProbability(i, j);
+                    byRank += odds.getProbability(j, i);
+                }
+                assertEquals(1.0, byLane, 1e-9);
+                assertEquals(1.0, byRank, 1e-5);   // same-cell ties are split as coin flips
+            }
+            // before the boosted horse is drawn every lane is alike
+            OddsTable prior = new AnalyticalOdds(n, RaceRules.DEFAULT).solve();
+            assertEquals(1.0 / n, prior.getWinProbability(0), 1e-9);
+            assertEquals(1.0 / n, prior.getProbability(n - 1, n - 1), 1e-5);
+        }
+    }
+
+    @Test
+    public void matchesSimulation_forBoostedAndNormalHorses() {
+        for (int n : new int[]{4, 8}) {
+            final int races = 40_000;
+            long[] boosted = new long[n], normal = new long[n];
+            RaceEngine engine = new RaceEngine(n, RaceRules.DEFAULT);
+            RaceRandom seeds = new RaceRandom(n);
+            for (int r = 0; r < races; r++) {
+                engine.reset(seeds.nextLong());
+                engine.run();
+                for (int rank = 0; rank < n; rank++) {
+                    if (engine.getLaneAtRank(rank) == engine.getBoostedLane()) boosted[rank]++;
+                    else normal[rank]++;
+                }
+            }
+
+            OddsTable odds = new AnalyticalOdds(n, RaceRules.DEFAULT).solve(0);
+            for (int rank = 0; rank < n; rank++) {
+                assertEquals("boosted, rank " + rank, (double) boosted[rank] / races, odds.getProbability(0, rank), 0.01);
+                assertEquals("normal, rank " + rank, (double) normal[rank] / ((long) races * (n - 1)),
+                        odds.getProbability(1, rank), 0.005);
+            }
+        }
+    }
+}
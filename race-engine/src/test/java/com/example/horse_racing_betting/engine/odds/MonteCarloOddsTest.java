@@ -0,0 +1,93 @@
+package com.example.horse_racing_betting.engine.odds;
+
+import com.example.horse_racing_betting.engine.IncidentRules;
+import com.example.horse_racing_betting.engine.PackPhysics;
+import com.example.horse_racing_betting.engine.RaceEngine;
+import com.example.horse_racing_betting.engine.RaceRules;
+import com.example.horse_racing_betting.engine.rng.RaceRandom;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class MonteCarloOddsTest {
+
+    @Test
+    public void distribution_sumsToOnePerHorseAndPerRank() {
+        OddsTable odds = new MonteCarloOdds(4, RaceRules.DEFAULT, ForkJoinPool.commonPool())
+                .estimate(1L, 20_000, MonteCarloOdds.NO_BUDGET);
+
+        assertEquals(20_000, odds.getRaces());
+        for (int i = 0; i < 4; i++) {
+            double byLane = 0, byRank = 0;
+            for (int j = 0; j < 4; j++) {
+                byLane += odds.getProbability(i, j);
+                byRank += odds.getProbability(j, i);
+            }
+            assertEquals(1.0, byLane, 1e-9);
+            assertEquals(1.0, byRank, 1e-9);
+        }
+    }
+
+    @Test
+    public void sameSeed_givesSameCountsRegardlessOfPool() {
+        MonteCarloOdds serial = new MonteCarloOdds(4, RaceRules.DEFAULT, new ForkJoinPool(1));
+        MonteCarloOdds parallel = new MonteCarloOdds(4, RaceRules.DEFAULT, new ForkJoinPool(4));
+
+        OddsTable a = serial.estimate(99L, 10_000, MonteCarloOdds.NO_BUDGET);
+        OddsTable b = parallel.estimate(99L, 10_000, MonteCarloOdds.NO_BUDGET);
+        for (int lane = 0; lane < 4; lane++) {
+            for (int rank = 0; rank < 4; rank++) {
+                assertEquals(a.getCount(lane, rank), b.getCount(lane, rank));
+            }
+        }
+    }
+
+    @Test
+    public void boostedHorseIsRandom_soLanesAreSymmetric() {
+        OddsTable odds = new MonteCarloOdds(4, RaceRules.DEFAULT, ForkJoinPool.commonPool())
+                .estimate(5L, 100_000, MonteCarloOdds.NO_BUDGET);
+        for (int lane = 0; lane < 4; lane++) {
+            assertEquals(0.25, odds.getWinProbability(lane), 0.01);
+        }
+    }
+
+    @Test
+    public void packAndIncidents_countTheSameRacesAsTheEngine() {
+        int races = 500;
+        OddsTable odds = new MonteCarloOdds(4, RaceRules.DEFAULT, PackPhysics.DEFAULT, IncidentRules.DEFAULT,
+                null, ForkJoinPool.commonPool()).estimate(3L, races, MonteCarloOdds.NO_BUDGET);
+
+        // one chunk: the races the estimator ran, replayed on an engine built like the game's
+        RaceRandom stream = RaceRandom.forStream(3L, 0);
+        RaceEngine engine = new RaceEngine(4, RaceRules.DEFAULT, PackPhysics.DEFAULT, IncidentRules.DEFAULT);
+        long[][] counts = new long[4][4];
+        for (int r = 0; r < races; r++) {
+            engine.reset(stream.nextLong());
+            engine.run();
+            for (int rank = 0; rank < 4; rank++) counts[engine.getLaneAtRank(rank)][rank]++;
+        }
+        for (int lane = 0; lane < 4; lane++) {
+            for (int rank = 0; rank < 4; rank++) assertEquals(counts[lane][rank], odds.getCount(lane, rank));
+        }
+    }
+
+    @Test
+    public void spentBudget_stillRunsTheMinimumChunks_likeABudgetFreeEstimate() {
+        int minimum = MonteCarloOdds.MIN_CHUNKS * MonteCarloOdds.CHUNK_RACES;
+        MonteCarloOdds estimator = new MonteCarloOdds(4, RaceRules.DEFAULT, ForkJoinPool.commonPool());
+
+        OddsTable rushed = estimator.estimate(8L, 10 * minimum, 0);
+        OddsTable exact = estimator.estimate(8L, minimum, MonteCarloOdds.NO_BUDGET);
+        assertTrue(rushed.getRaces() >= minimum);
+        if (rushed.getRaces() == minimum) {
+            for (int lane = 0; lane < 4; lane++) {
+                for (int rank = 0; rank < 4; rank++) {
+                    assertEquals(exact.getCount(lane, rank), rushed.getCount(lane, rank));
+                }
+            }
+        }
+    }
+}
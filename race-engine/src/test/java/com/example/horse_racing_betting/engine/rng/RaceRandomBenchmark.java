@@ -0,0 +1,59 @@
+package com.example.horse_racing_betting.engine.rng;
+
+import java.util.Random;
+
+/**
+ * Float throughput of {@link RaceRandom} against the {@link java.util.Random} calls the
+ * game used before. Not a unit test; run {@code main} on a quiet machine.
+ */
+public final class RaceRandomBenchmark {
+
+    private static final int BUFFER = 4_096;
+    private static final int ROUNDS = 5_000;
+
+    public static void main(String[] args) {
+        float[] buffer = new float[BUFFER];
+        for (int pass = 0; pass < 2; pass++) { // first pass is JIT warm-up
+            double random = javaRandom(buffer);
+            double next = raceRandomNext(buffer);
+            double fill = raceRandomFill(buffer);
+            if (pass == 0) continue;
+            System.out.printf("java.util.Random.nextFloat  %,14.0f floats/s%n", random);
+            System.out.printf("RaceRandom.nextFloat        %,14.0f floats/s | x%.2f%n", next, next / random);
+            System.out.printf("RaceRandom.fillFloats       %,14.0f floats/s | x%.2f%n", fill, fill / random);
+        }
+    }
+
+    private static double javaRandom(float[] buffer) {
+        Random random = new Random(1L);
+        long start = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) {
+            for (int i = 0; i < BUFFER; i++) buffer[i] = random.nextFloat();
+        }
+        return report(start, buffer);
+    }
+
+    private static double raceRandomNext(float[] buffer) {
+        RaceRandom random = new RaceRandom(1L);
+        long start = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) {
+            for (int i = 0; i < BUFFER; i++) buffer[i] = random.nextFloat();
+        }
+        return report(start, buffer);
+    }
+
+    private static double raceRandomFill(float[] buffer) {
+        RaceRandom random = new RaceRandom(1L);
+        long start = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) {
+            random.fillFloats(buffer, 0, BUFFER);
+        }
+        return report(start, buffer);
+    }
+
+    private static double report(long startNanos, float[] buffer) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        if (buffer[0] == 2f) System.out.print(""); // keep results alive
+        return (double) ROUNDS * BUFFER / seconds;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.horse_racing_betting.engine.rng;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RaceRandomTest {
+
+    @Test
+    public void sameSeed_sameSequence_andStreamsDiffer() {
+        RaceRandom a = new RaceRandom(99L), b = new RaceRandom(99L);
+        RaceRandom s0 = RaceRandom.forStream(99L, 0), s1 = RaceRandom.forStream(99L, 1);
+        int streamCollisions = 0;
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(a.nextLong(), b.nextLong());
+            if (s0.nextLong() == s1.nextLong()) streamCollisions++;
+        }
+        assertEquals(0, streamCollisions);
+
+        a.setSeed(7L);
+        assertEquals(new RaceRandom(7L).nextLong(), a.nextLong());
+    }
+
+    @Test
+    public void outputs_stayInRange_andFillFloatsIsUniform() {
+        RaceRandom random = new RaceRandom(1L);
+        for (int i = 0; i < 10_000; i++) {
+            int n = random.nextInt(7);
+            assertTrue(n >= 0 && n < 7);
+            float f = random.nextFloat();
+            assertTrue(f >= 0f && f < 1f);
+        }
+
+        float[] buffer = new float[100_001];
+        random.fillFloats(buffer, 0, buffer.length);
+        double sum = 0;
+        for (float f : buffer) {
+            assertTrue(f >= 0f && f < 1f);
+            sum += f;
+        }
+        assertEquals(0.5, sum / buffer.length, 0.01);
+    }
+}
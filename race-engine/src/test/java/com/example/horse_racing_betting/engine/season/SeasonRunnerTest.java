@@ -0,0 +1,94 @@
+package com.example.horse_racing_betting.engine.season;
+
+import com.example.horse_racing_betting.engine.HorseProfile;
+import com.example.horse_racing_betting.engine.IncidentRules;
+import com.example.horse_racing_betting.engine.PackPhysics;
+import com.example.horse_racing_betting.engine.RaceRules;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SeasonRunnerTest {
+
+    @Test
+    public void season_scoresEveryRaceAndOneTitlePerMeeting() {
+        SeasonPlan plan = new SeasonPlan(512, 8, 20);
+        assertEquals(7, plan.getRounds());
+        assertEquals(127, plan.getRacesPerMeeting());
+
+        AtomicInteger progress = new AtomicInteger();
+        SeasonStandings standings = new SeasonRunner(plan, RaceRules.DEFAULT, ForkJoinPool.commonPool())
+                .run(3L, new SeasonStandings(512), (done, s) -> progress.incrementAndGet());
+
+        assertEquals(20, progress.get());
+        assertEquals(plan.getTotalRaces(), standings.getRacesRecorded());
+
+        long points = 0, expectedPoints = 0;
+        int titles = 0, starts = 0;
+        for (int horse = 0; horse < 512; horse++) {
+            points += standings.getPoints(horse);
+            titles += standings.getTitles(horse);
+            starts += standings.getStarts(horse);
+        }
+        for (int round = 0; round < plan.getRounds(); round++) {
+            expectedPoints += (long) plan.getRacesInRound(round) * (8 * 9 / 2) * (round + 1);
+        }
+        assertEquals(20 * expectedPoints, points);
+        assertEquals(20, titles);
+        assertEquals(plan.getTotalRaces() * 8, starts);
+
+        int[] leaders = standings.getLeaders(10);
+        for (int i = 1; i < leaders.length; i++) {
+            assertTrue(standings.getPoints(leaders[i - 1]) >= standings.getPoints(leaders[i]));
+        }
+    }
+
+    @Test
+    public void sameSeed_givesSameTableRegardlessOfPool() {
+        SeasonPlan plan = new SeasonPlan(64, 8, 12);
+        SeasonStandings serial = fullModel(plan, new ForkJoinPool(1)).run(11L, new SeasonStandings(64), null);
+        SeasonStandings parallel = fullModel(plan, new ForkJoinPool(4)).run(11L, new SeasonStandings(64), null);
+
+        for (int horse = 0; horse < 64; horse++) {
+            assertEquals(serial.getPoints(horse), parallel.getPoints(horse));
+            assertEquals(serial.getTitles(horse), parallel.getTitles(horse));
+        }
+        assertArrayEquals(serial.getLeaders(64), parallel.getLeaders(64));
+    }
+
+    @Test
+    public void featuredHeat_standsInForTheFirstHeatOfItsMeeting() {
+        SeasonPlan plan = new SeasonPlan(64, 8, 6);
+        SeasonRunner runner = fullModel(plan, ForkJoinPool.commonPool());
+        SeasonStandings standings = new SeasonStandings(64);
+        AtomicInteger progress = new AtomicInteger();
+
+        runner.run(4L, standings, SeasonRunner.FEATURED_MEETING + 1, 6, (done, s) -> progress.incrementAndGet());
+        assertEquals(5, progress.get());
+        assertEquals(5 * plan.getRacesPerMeeting(), standings.getRacesRecorded());
+
+        int[] featured = {7, 3, 0, 5, 1, 6, 2, 4};
+        long[] before = new long[8];
+        for (int horse = 0; horse < 8; horse++) before[horse] = standings.getPoints(horse);
+        runner.runFeaturedMeeting(4L, standings, featured, (done, s) -> progress.incrementAndGet());
+
+        assertEquals(6, progress.get());
+        assertEquals(plan.getTotalRaces(), standings.getRacesRecorded());
+        int titles = 0;
+        for (int horse = 0; horse < 64; horse++) titles += standings.getTitles(horse);
+        assertEquals(6, titles);
+        // the heat's winner scored a round-0 win; the last horse home went out with one point
+        assertTrue(standings.getPoints(7) - before[7] >= 8);
+        assertEquals(1, standings.getPoints(4) - before[4]);
+    }
+
+    private static SeasonRunner fullModel(SeasonPlan plan, ForkJoinPool pool) {
+        HorseProfile[] roster = new HorseProfile[plan.getRosterSize()];
+        for (int horse = 0; horse < roster.length; horse++) roster[horse] = HorseProfile.random(horse);
+        return new SeasonRunner(plan, RaceRules.DEFAULT, PackPhysics.DEFAULT, IncidentRules.DEFAULT, roster, pool);
+    }
+}
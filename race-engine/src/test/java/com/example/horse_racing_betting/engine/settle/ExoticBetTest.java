@@ -0,0 +1,85 @@
+package com.example.horse_racing_betting.engine.settle;
+
+import com.example.horse_racing_betting.engine.PayoutTable;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ExoticBetTest {
+
+    @Test
+    public void ranks_areDenseAndRoundTrip() {
+        int horses = 9;
+        for (int kind = 0; kind < BetKind.COUNT; kind++) {
+            int count = BetKind.combinations(kind, horses);
+            boolean[] seen = new boolean[count];
+            int[] lanes = new int[BetKind.horsesIn(kind)];
+            for (int rank = 0; rank < count; rank++) {
+                BetKind.unrank(kind, horses, rank, lanes);
+                assertEquals(rank, BetKind.rank(kind, horses, lanes));
+                seen[rank] = true;
+            }
+            for (boolean s : seen) assertTrue(s);
+        }
+        assertEquals(72, BetKind.combinations(BetKind.EXACTA, horses));
+        assertEquals(36, BetKind.combinations(BetKind.QUINELLA, horses));
+        assertEquals(504, BetKind.combinations(BetKind.TRIFECTA, horses));
+        assertEquals(BetKind.rank(BetKind.QUINELLA, horses, 2, 7), BetKind.rank(BetKind.QUINELLA, horses, 7, 2));
+        assertNotEquals(BetKind.rank(BetKind.EXACTA, horses, 2, 7), BetKind.rank(BetKind.EXACTA, horses, 7, 2));
+    }
+
+    @Test
+    public void exotics_payOnlyTheWinningCombination() {
+        int horses = 8;
+        SettlementEngine engine = new SettlementEngine(horses, PayoutTable.forFieldSize(horses));
+        int[] finishOrder = {5, 2, 7, 0, 1, 3, 4, 6};
+        BetBatch bets = new BetBatch();
+        bets.add(0, BetKind.EXACTA, BetKind.rank(BetKind.EXACTA, horses, 5, 2), 10);
+        bets.add(1, BetKind.EXACTA, BetKind.rank(BetKind.EXACTA, horses, 2, 5), 10);
+        bets.add(2, BetKind.QUINELLA, BetKind.rank(BetKind.QUINELLA, horses, 2, 5), 10);
+        bets.add(3, BetKind.TRIFECTA, BetKind.rank(BetKind.TRIFECTA, horses, 5, 2, 7), 10);
+        bets.add(4, BetKind.TRIFECTA, BetKind.rank(BetKind.TRIFECTA, horses, 5, 7, 2), 10);
+        bets.add(5, 5, 10);   // win
+
+        Settlement settlement = engine.settle(finishOrder, bets);
+
+        // equal-field fair odds less 5%: exacta 56 -> 53.2x, quinella 28 -> 26.6x, trifecta 336 -> 319.2x
+        assertEquals(532, settlement.getPaid(0));
+        assertEquals(0, settlement.getPaid(1));
+        assertEquals(266, settlement.getPaid(2));
+        assertEquals(3_192, settlement.getPaid(3));
+        assertEquals(0, settlement.getPaid(4));
+        assertEquals(PayoutTable.forFieldSize(horses).payout(10, 1), settlement.getPaid(5));
+    }
+
+    @Test
+    public void exoticPool_paysTheNetPoolToTheWinningCombination() {
+        int horses = 6;
+        ExoticPool pool = new ExoticPool(BetKind.TRIFECTA, horses, 200);
+        int winning = BetKind.rank(BetKind.TRIFECTA, horses, 3, 1, 4);
+        int losing = BetKind.rank(BetKind.TRIFECTA, horses, 1, 3, 4);
+        pool.stake(winning, 20);
+        pool.stake(losing, 80);
+        assertEquals(100, pool.getTotal());
+        assertEquals(4_000, pool.getDividendMillis(winning));   // 80 net / 20
+        assertEquals(1_900, pool.getLiability(winning, 95_000));   // 20 at 95x
+
+        SettlementEngine engine = new SettlementEngine(horses, PayoutTable.forFieldSize(horses));
+        BetBatch bets = new BetBatch();
+        bets.add(0, BetKind.TRIFECTA, winning, 20);
+        bets.add(1, BetKind.TRIFECTA, losing, 80);
+        engine.setResult(new int[]{3, 1, 4, 0, 2, 5});
+        pool.applyDividend(engine);
+        Settlement settlement = engine.settle(bets, new Settlement());
+        assertEquals(80, settlement.getPaid(0));
+        assertEquals(0, settlement.getPaid(1));
+        assertEquals(20, settlement.getHouseProfit());
+
+        // nobody backed 0-1-2: both stakes come back
+        engine.setResult(new int[]{0, 1, 2, 3, 4, 5});
+        pool.applyDividend(engine);
+        engine.settle(bets, settlement);
+        assertEquals(0, settlement.getHouseProfit());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.horse_racing_betting.engine.settle;
+
+import com.example.horse_racing_betting.engine.PayoutTable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class PariMutuelPoolTest {
+
+    @Test
+    public void concurrentStakes_allReachThePool() throws Exception {
+        int horses = 8;
+        int threads = 8;
+        int stakesEach = 50_000;
+        PariMutuelPool pool = new PariMutuelPool(horses, 150, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> done = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                done.add(executor.submit(() -> {
+                    for (int i = 0; i < stakesEach; i++) pool.stake(i % horses, 1 + i % 3);
+                }));
+            }
+            for (Future<?> f : done) f.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        PoolOdds odds = pool.refresh(0);
+        long perThread = 0;
+        for (int i = 0; i < stakesEach; i++) perThread += 1 + i % 3;
+        assertEquals(perThread * threads, odds.getPool());
+        long sum = 0;
+        for (int lane = 0; lane < horses; lane++) sum += odds.getStake(lane);
+        assertEquals(odds.getPool(), sum);
+    }
+
+    @Test
+    public void odds_refreshAtMostOncePerInterval() {
+        PariMutuelPool pool = new PariMutuelPool(4, 100, 500);
+        pool.stake(0, 30);
+        pool.stake(1, 10);
+        PoolOdds first = pool.getOdds(1_000);
+        assertEquals(40, first.getPool());
+        assertEquals(1_200, first.getDividendMillis(0));   // 36 net / 30
+        assertEquals(3_600, first.getDividendMillis(1));
+        assertEquals(0, first.getDividendMillis(2));
+
+        pool.stake(1, 50);
+        assertSame(first, pool.getOdds(1_499));
+        PoolOdds second = pool.getOdds(1_500);
+        assertEquals(90, second.getPool());
+        assertEquals(60, second.getStake(1));
+        assertSame(second, pool.getOdds(2_000));   // due, but nothing changed
+    }
+
+    @Test
+    public void settlement_paysTheNetPoolToWinners_orRefundsWithNoWinner() {
+        PariMutuelPool pool = new PariMutuelPool(3, 150, 0);
+        BetBatch bets = new BetBatch();
+        int[][] slips = {{0, 0, 7}, {1, 0, 13}, {2, 1, 40}, {3, 1, 20}};
+        for (int[] bet : slips) {
+            bets.add(bet[0], bet[1], bet[2]);
+            pool.stake(bet[1], bet[2]);
+        }
+        PoolOdds odds = pool.refresh(0);
+        SettlementEngine engine = new SettlementEngine(3, PayoutTable.forFieldSize(3));
+        int[] rates = new int[3];
+
+        engine.setResult(new int[]{0, 1, 2});
+        odds.payoutRates(0, rates);
+        engine.setWinRates(rates);
+        Settlement settlement = engine.settle(bets, new Settlement());
+        assertEquals(68, odds.getNetPool());            // 80 minus 15%
+        assertEquals(3_400, odds.getDividendMillis(0));
+        assertEquals(23, settlement.getPaid(0));        // 7 x 3.4 = 23.8, rounded down
+        assertEquals(44, settlement.getPaid(1));
+        assertEquals(0, settlement.getPaid(2));
+        assertTrue(settlement.getTotalPaid() <= odds.getNetPool());
+
+        engine.setResult(new int[]{2, 0, 1});
+        odds.payoutRates(2, rates);
+        engine.setWinRates(rates);
+        engine.settle(bets, settlement);
+        assertEquals(0, settlement.getHouseProfit());
+        assertEquals(40, settlement.getPaid(2));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.horse_racing_betting.engine.settle;
+
+import com.example.horse_racing_betting.engine.PayoutTable;
+import com.example.horse_racing_betting.engine.rng.RaceRandom;
+
+/**
+ * Settlement of a 100k-bet batch (10k slips of 10 bets) against the same bets settled one
+ * at a time with a finish-order search, as the app did. Not a unit test; run {@code main}
+ * on a quiet machine (JIT warm-up is included).
+ */
+public final class SettlementEngineBenchmark {
+
+    private static final int BETS = 100_000;
+    private static final int BETS_PER_SLIP = 10;
+    private static final int ROUNDS = 200;
+
+    public static void main(String[] args) {
+        for (int horses : new int[]{4, 16, 64}) {
+            PayoutTable payouts = PayoutTable.forFieldSize(horses);
+            BetBatch bets = randomBets(horses);
+            int[] finishOrder = shuffledLanes(horses);
+
+            // warm-up, then measure
+            perBet(finishOrder, bets, payouts, ROUNDS / 4);
+            batch(finishOrder, bets, payouts, ROUNDS / 4);
+            double single = perBet(finishOrder, bets, payouts, ROUNDS);
+            double batch = batch(finishOrder, bets, payouts, ROUNDS);
+            System.out.printf("%2d horses: per bet %,14.0f bets/s | batch %,14.0f bets/s | x%.2f%n",
+                    horses, single, batch, batch / single);
+        }
+    }
+
+    private static double perBet(int[] finishOrder, BetBatch bets, PayoutTable payouts, int rounds) {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            for (int i = 0; i < bets.size(); i++) {
+                int lane = bets.getSelection(i);
+                int position = 0;
+                for (int p = 0; p < finishOrder.length; p++) {
+                    if (finishOrder[p] == lane) {
+                        position = p + 1;
+                        break;
+                    }
+                }
+                sink += payouts.payout(bets.getStake(i), position);
+            }
+        }
+        return report(start, rounds * (long) bets.size(), sink);
+    }
+
+    private static double batch(int[] finishOrder, BetBatch bets, PayoutTable payouts, int rounds) {
+        SettlementEngine engine = new SettlementEngine(finishOrder.length, payouts);
+        Settlement settlement = new Settlement();
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            sink += engine.settle(finishOrder, bets, settlement).getHouseProfit();
+        }
+        return report(start, rounds * (long) bets.size(), sink);
+    }
+
+    private static BetBatch randomBets(int horses) {
+        RaceRandom random = new RaceRandom(horses);
+        BetBatch bets = new BetBatch(BETS);
+        for (int i = 0; i < BETS; i++) {
+            bets.add(i / BETS_PER_SLIP, random.nextInt(horses), 1 + random.nextInt(100));
+        }
+        return bets;
+    }
+
+    private static int[] shuffledLanes(int horses) {
+        RaceRandom random = new RaceRandom(-horses);
+        int[] lanes = new int[horses];
+        for (int i = 0; i < horses; i++) lanes[i] = i;
+        for (int i = horses - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = lanes[i];
+            lanes[i] = lanes[j];
+            lanes[j] = t;
+        }
+        return lanes;
+    }
+
+    private static double report(long startNanos, long bets, long sink) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        if (sink == 42) System.out.print(""); // keep results alive
+        return bets / seconds;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.horse_racing_betting.engine.settle;
+
+import com.example.horse_racing_betting.engine.PayoutTable;
+import com.example.horse_racing_betting.engine.RaceEngine;
+import com.example.horse_racing_betting.engine.RaceRules;
+import com.example.horse_racing_betting.engine.rng.RaceRandom;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SettlementEngineTest {
+
+    @Test
+    public void batch_matchesPayoutTablePerBet_andTotalsAddUp() {
+        int horses = 16;
+        PayoutTable payouts = PayoutTable.forFieldSize(horses);
+        RaceEngine race = new RaceEngine(horses, RaceRules.DEFAULT);
+        race.reset(77L);
+        race.run();
+        int[] finishOrder = race.getFinishOrder();
+        int[] positionOf = new int[horses];
+        for (int rank = 0; rank < horses; rank++) positionOf[finishOrder[rank]] = rank + 1;
+
+        RaceRandom random = new RaceRandom(5L);
+        BetBatch bets = new BetBatch();
+        int slips = 300;
+        long[] expectedPaid = new long[slips];
+        long[] expectedStaked = new long[slips];
+        for (int i = 0; i < 5_000; i++) {
+            int slip = random.nextInt(slips);
+            int lane = random.nextInt(horses);
+            int stake = 1 + random.nextInt(500);
+            bets.add(slip, lane, stake);
+            expectedStaked[slip] += stake;
+            expectedPaid[slip] += payouts.payout(stake, positionOf[lane]);
+        }
+
+        Settlement settlement = new SettlementEngine(horses, payouts).settle(finishOrder, bets);
+
+        assertEquals(slips, settlement.getSlipCount());
+        long staked = 0;
+        long paid = 0;
+        for (int slip = 0; slip < slips; slip++) {
+            assertEquals(expectedStaked[slip], settlement.getStaked(slip));
+            assertEquals(expectedPaid[slip], settlement.getPaid(slip));
+            staked += expectedStaked[slip];
+            paid += expectedPaid[slip];
+        }
+        assertEquals(staked, settlement.getTotalStaked());
+        assertEquals(paid, settlement.getTotalPaid());
+        assertEquals(staked - paid, settlement.getHouseProfit());
+    }
+
+    @Test
+    public void reusedResult_isOverwrittenBySmallerBatch() {
+        PayoutTable payouts = PayoutTable.forFieldSize(4);   // 2.0x / 1.3x / 0.5x / 0
+        SettlementEngine engine = new SettlementEngine(4, payouts);
+        int[] finishOrder = {2, 0, 3, 1};
+        BetBatch bets = new BetBatch(2);
+        bets.add(0, 2, 10);
+        bets.add(1, 0, 10);
+        bets.add(2, 1, 10);
+        Settlement settlement = engine.settle(finishOrder, bets);
+        assertEquals(20, settlement.getPaid(0));
+        assertEquals(13, settlement.getPaid(1));
+        assertEquals(-10, settlement.getNet(2));
+        assertEquals(-3, settlement.getHouseProfit());
+
+        bets.clear();
+        bets.add(0, 3, 7);
+        assertSame(settlement, engine.settle(finishOrder, bets, settlement));
+        assertEquals(1, settlement.getSlipCount());
+        assertEquals(3, settlement.getPaid(0));   // 3.5 rounds down
+        assertEquals(4, settlement.getHouseProfit());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void betOnMissingLane_isRejected() {
+        BetBatch bets = new BetBatch();
+        bets.add(0, 4, 10);
+        new SettlementEngine(4, PayoutTable.forFieldSize(4)).settle(new int[]{0, 1, 2, 3}, bets);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.horse_racing_betting.engine.trace;
+
+import com.example.horse_racing_betting.engine.RaceEngine;
+import com.example.horse_racing_betting.engine.RaceRules;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class RaceTraceTest {
+
+    private static final float QUANTUM = 1f / 256;
+
+    @Test
+    public void seekingAnyTick_returnsRecordedPositions() {
+        RaceEngine engine = new RaceEngine(8, RaceRules.DEFAULT);
+        engine.reset(21L);
+        RaceTraceWriter writer = new RaceTraceWriter(8, 16, 64);
+        List<float[]> expected = new ArrayList<>();
+
+        writer.begin(engine);
+        expected.add(snapshot(engine));
+        while (!engine.tick()) {
+            writer.record(engine);
+            expected.add(snapshot(engine));
+        }
+        writer.record(engine);
+        expected.add(snapshot(engine));
+        writer.finish(engine);
+
+        RaceTraceReader reader = new RaceTraceReader(writer.asReadOnlyBuffer());
+        assertEquals(expected.size(), reader.getTickCount());
+
+        float[] out = new float[8];
+        Random order = new Random(1);
+        for (int i = 0; i < 500; i++) {
+            int tick = order.nextInt(expected.size());
+            reader.readPositions(tick, out);
+            assertArrayEquals(expected.get(tick), out, QUANTUM);
+        }
+        assertArrayEquals(engine.getFinishOrder(), finishOrder(reader));
+    }
+
+    @Test
+    public void mappedFile_readsBackTheSameRace() throws Exception {
+        RaceEngine engine = new RaceEngine(4, RaceRules.DEFAULT);
+        engine.reset(8L);
+        RaceTraceWriter writer = new RaceTraceWriter(4, 32, 300);
+        writer.begin(engine);
+        while (!engine.tick()) writer.record(engine);
+        writer.record(engine);
+        writer.finish(engine);
+
+        File file = File.createTempFile("race", ".hrt");
+        file.deleteOnExit();
+        try (OutputStream out = new FileOutputStream(file)) {
+            writer.writeTo(out);
+        }
+
+        RaceTraceReader reader = RaceTraceReader.map(file);
+        int last = reader.getTickCount() - 1;
+        for (int lane = 0; lane < 4; lane++) {
+            assertEquals(engine.getPosition(lane), reader.getPosition(last, lane), QUANTUM);
+        }
+        assertArrayEquals(engine.getFinishOrder(), finishOrder(reader));
+    }
+
+    private static float[] snapshot(RaceEngine engine) {
+        float[] p = new float[engine.getHorseCount()];
+        for (int lane = 0; lane < p.length; lane++) p[lane] = engine.getPosition(lane);
+        return p;
+    }
+
+    private static int[] finishOrder(RaceTraceReader reader) {
+        int[] order = new int[reader.getFinishedCount()];
+        for (int rank = 0; rank < order.length; rank++) order[rank] = reader.getLaneAtRank(rank);
+        return order;
+    }
+}
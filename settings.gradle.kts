@@ -21,3 +21,4 @@ dependencyResolutionManagement {
 
 rootProject.name = "horse-racing-betting"
 include(":app")
+include(":race-engine")